@@ -3,24 +3,46 @@ package app;
 import java.util.Scanner;
 
 import game.core.game.Game;
+import game.core.io.FlushingInputStream;
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
 import game.emotionlanes.EmotionLanesGame;
+import game.emotionlanes.factory.EmotionLanesMonsterFactory;
 import game.emotionwar.EmotionWarGame;
+import game.emotionwar.factory.ContentRegistry;
+import game.emotionwar.factory.ContentWatcher;
 
 public class ArcadeApp {
 
-    private final Scanner scanner = new Scanner(System.in);
+    private final GameOutput out = GameOutputs.current();
+
+    private final Scanner scanner = new Scanner(FlushingInputStream.stdin());
     private final ConsoleUI ui = new ConsoleUI(scanner);
 
     public void run() {
+        // read data/ in the background while the menu is up; a game that
+        // starts early only waits for the files it still needs
+        ContentRegistry.preloadAsync();
+        EmotionLanesMonsterFactory.preloadAsync();
+
+        // -Dsoulrealms.watch=true: pick up edits to data/ between rounds
+        ContentWatcher.addReloader(new ContentWatcher.Reloader() {
+            @Override
+            public Runnable prepare(String path) {
+                return EmotionLanesMonsterFactory.prepareReload(path);
+            }
+        });
+        ContentWatcher watcher = ContentWatcher.startIfEnabled();
+
         boolean running = true;
 
         while (running) {
             ui.clear();
             ui.printHeader("SOUL REALMS ARCADE");
 
-            System.out.println("1) Emotion War (Open World)");
-            System.out.println("2) Emotion Lanes (Defense of the Core)");
-            System.out.println("3) Quit");
+            out.println("1) Emotion War (Open World)");
+            out.println("2) Emotion Lanes (Defense of the Core)");
+            out.println("3) Quit");
 
             int choice = ui.readInt("> ", 1, 3);
 
@@ -33,7 +55,8 @@ public class ArcadeApp {
             }
         }
 
-        System.out.println("Bye.");
+        if (watcher != null) watcher.close();
+        out.println("Bye.");
     }
 
     private void playGame(Game game) {
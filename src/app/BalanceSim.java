@@ -0,0 +1,31 @@
+package app;
+
+import java.util.concurrent.ForkJoinPool;
+
+import game.core.io.GameOutputs;
+import game.emotionwar.sim.BalanceReport;
+import game.emotionwar.sim.BalanceSimulator;
+
+/**
+ * Command-line entry point for the Emotion War balance sweep.
+ *
+ * Usage: java -cp out app.BalanceSim [battlesPerPairing] [seed] [threads]
+ */
+public class BalanceSim {
+    public static void main(String[] args) {
+        int battles = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long seed   = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                                      : Runtime.getRuntime().availableProcessors();
+
+        GameOutputs.setCurrent(GameOutputs.DISCARD); // no equip chatter while setting up
+        BalanceSimulator sim = BalanceSimulator.fromDefaultData(battles, seed);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            BalanceReport report = sim.run(pool);
+            report.print(System.out);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package app;
+
+import java.io.File;
+import java.io.IOException;
+
+import game.core.random.SeedSource;
+import game.core.world.MapFile;
+import game.emotionlanes.world.EmotionLanesWorldBuilder;
+import game.emotionlanes.world.EmotionLanesWorldData;
+import game.emotionwar.world.EmotionWorldBuilder;
+import game.emotionwar.world.EmotionWorldData;
+
+/**
+ * Tool: writes the maps the in-code builders generate for a seed as map
+ * files, the starting point for hand-authored maps. A session started with
+ * the same seed generates the same boards. Give a size to write a generated
+ * size x size Emotion War map instead of the 10x10 one.
+ *
+ * Play them with -Dsoulrealms.map=<dir>/emotionwar.map (Emotion War) or
+ * -Dsoulrealms.lanesmap=<dir>/lanes.map (Emotion Lanes).
+ *
+ * Usage: java -cp out app.ConvertMaps [seed] [outputDir] [warSize]
+ *        java -cp out app.ConvertMaps verify file...
+ *
+ * verify checks every tile category of hand-edited map files, which the games
+ * otherwise only check as tiles are read.
+ */
+public class ConvertMaps {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && "verify".equals(args[0])) {
+            verify(args);
+            return;
+        }
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42L;
+        String dir = args.length > 1 ? args[1] : "maps";
+        int warSize = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        new File(dir).mkdirs();
+        SeedSource seeds = new SeedSource(seed);
+
+        String war = dir + "/emotionwar.map";
+        EmotionWorldData warData = warSize > 0
+                ? EmotionWorldBuilder.buildLargeWorld(seeds.stream("world"), warSize, warSize)
+                : EmotionWorldBuilder.buildDefaultWorld(seeds.stream("world"));
+        EmotionWorldBuilder.writeMap(warData, war);
+        report(war);
+
+        String lanes = dir + "/lanes.map";
+        EmotionLanesWorldData lanesData = EmotionLanesWorldBuilder.buildDefaultWorld(seeds.stream("world"));
+        EmotionLanesWorldBuilder.writeMap(lanesData, lanes);
+        report(lanes);
+    }
+
+    private static void verify(String[] args) {
+        int bad = 0;
+        for (int i = 1; i < args.length; i++) {
+            try {
+                MapFile map = MapFile.open(args[i]);
+                map.verify();
+                System.out.printf("%s: OK, %dx%d%n", args[i], map.rows(), map.cols());
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+                bad++;
+            }
+        }
+        if (bad > 0) System.exit(1);
+    }
+
+    // read it back the way the games will, so a bad file fails here
+    private static void report(String file) throws IOException {
+        MapFile map = MapFile.open(file);
+        map.verify();
+        System.out.printf("Wrote %s: %dx%d, start %s, %d bytes%n",
+                file, map.rows(), map.cols(), map.start(), new File(file).length());
+    }
+}
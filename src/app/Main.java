@@ -1,7 +1,17 @@
 package app;
 
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
+
 public class Main {
     public static void main(String[] args) {
-        new ArcadeApp().run();
+        // pick a sink with -Dsoulrealms.output=direct|batched|async
+        GameOutput out = GameOutputs.fromSystemProperty("batched");
+        GameOutputs.setCurrent(out);
+        try {
+            new ArcadeApp().run();
+        } finally {
+            GameOutputs.close(out);
+        }
     }
 }
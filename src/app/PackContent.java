@@ -0,0 +1,32 @@
+package app;
+
+import java.io.IOException;
+
+import game.emotionwar.factory.ContentPack;
+import game.emotionwar.factory.ContentPackWriter;
+import game.emotionwar.factory.DataPaths;
+
+/**
+ * Build step: compiles data/*.txt into the binary content pack the games load
+ * at startup. Re-run after editing data; until then the edited files are read
+ * as text.
+ *
+ * Usage: java -cp out app.PackContent [outputFile]
+ */
+public class PackContent {
+    public static void main(String[] args) throws IOException {
+        String out = args.length > 0 ? args[0] : DataPaths.CONTENT_PACK;
+
+        long start = System.nanoTime();
+        int rows = ContentPackWriter.writeDefault(out);
+        long packNanos = System.nanoTime() - start;
+
+        // read it back the way the games will, so a bad pack fails here
+        start = System.nanoTime();
+        ContentPack.load(out);
+        long loadNanos = System.nanoTime() - start;
+
+        System.out.printf("Packed %d rows into %s (%.1f ms); verified in %.2f ms%n",
+                rows, out, packNanos / 1e6, loadNanos / 1e6);
+    }
+}
@@ -0,0 +1,95 @@
+package bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import game.core.battle.AutoBattlePolicy;
+import game.core.battle.BattleEngine;
+import game.core.battle.BattleListener;
+import game.core.battle.BattleOutcome;
+import game.core.battle.BattlePolicy;
+import game.core.io.GameOutputs;
+import game.core.model.Hero;
+import game.core.random.SeedSource;
+import game.emotionwar.factory.ContentRegistry;
+import game.emotionwar.factory.EmotionMonsterFactory;
+import game.emotionwar.model.EmotionHero;
+import game.emotionwar.model.EmotionMonster;
+import game.emotionwar.model.EmotionType;
+
+/**
+ * Measures heap garbage per battle round in a large headless encounter.
+ *
+ * Only BattleEngine.run() is measured (party/monster setup is excluded), using
+ * the JVM's per-thread allocation counter.
+ *
+ * Usage: java -cp out bench.BattleAllocationBench [combatantsPerSide] [battles]
+ */
+public class BattleAllocationBench {
+
+    public static void main(String[] args) {
+        int perSide = args.length > 0 ? Integer.parseInt(args[0]) : 24;
+        int battles = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+
+        com.sun.management.ThreadMXBean mx =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+
+        GameOutputs.setCurrent(GameOutputs.DISCARD);
+        List<EmotionHero> heroProtos = ContentRegistry.heroes();
+        for (int i = 0; i < heroProtos.size(); i++) {
+            heroProtos.get(i).equipWeapon(ContentRegistry.weapons().get(1));
+        }
+        List<EmotionMonster> monsterProtos = ContentRegistry.monsters(EmotionType.FEAR);
+
+        BattlePolicy policy = new AutoBattlePolicy();
+        SeedSource seeds = new SeedSource(42L);
+
+        // warm up the JIT so escape analysis has kicked in before measuring
+        runBatch(battles / 5, perSide, heroProtos, monsterProtos, policy, seeds, mx, tid);
+        long[] r = runBatch(battles, perSide, heroProtos, monsterProtos, policy, seeds, mx, tid);
+
+        long bytes = r[0];
+        long rounds = r[1];
+        double seconds = r[2] / 1_000_000_000.0;
+        System.out.println("========================================");
+        System.out.println(" BattleEngine allocation, " + perSide + " vs " + perSide);
+        System.out.println("========================================");
+        System.out.println("  battles        : " + battles);
+        System.out.println("  rounds         : " + rounds);
+        System.out.printf ("  bytes / round  : %.1f%n", (double) bytes / rounds);
+        System.out.printf ("  bytes / battle : %.1f%n", (double) bytes / battles);
+        System.out.printf ("  battles / s    : %.0f%n", battles / seconds);
+    }
+
+    /** @return {allocated bytes inside run(), total rounds, elapsed nanos} */
+    private static long[] runBatch(int battles, int perSide,
+                                   List<EmotionHero> heroProtos,
+                                   List<EmotionMonster> monsterProtos,
+                                   BattlePolicy policy, SeedSource seeds,
+                                   com.sun.management.ThreadMXBean mx, long tid) {
+        long bytes = 0;
+        long rounds = 0;
+        long start = System.nanoTime();
+
+        for (int b = 0; b < battles; b++) {
+            List<Hero> party = new ArrayList<Hero>();
+            List<EmotionMonster> foes = new ArrayList<EmotionMonster>();
+            for (int i = 0; i < perSide; i++) {
+                party.add(heroProtos.get(i % heroProtos.size()).copy());
+                foes.add(EmotionMonsterFactory.cloneMonster(monsterProtos.get(i % monsterProtos.size())));
+            }
+            SplittableRandom rng = seeds.nextBattle();
+            BattleEngine engine = new BattleEngine(party, foes, policy, BattleListener.NONE, rng);
+            engine.setPayRewards(false);
+
+            long before = mx.getThreadAllocatedBytes(tid);
+            BattleOutcome o = engine.run();
+            bytes += mx.getThreadAllocatedBytes(tid) - before;
+            rounds += o.getRounds();
+        }
+        return new long[] { bytes, rounds, System.nanoTime() - start };
+    }
+}
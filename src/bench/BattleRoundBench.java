@@ -0,0 +1,60 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import game.core.battle.AutoBattlePolicy;
+import game.core.battle.BattleEngine;
+import game.core.battle.BattleListener;
+import game.core.battle.BattlePolicy;
+import game.core.model.Hero;
+import game.core.random.SeedSource;
+import game.emotionwar.factory.ContentRegistry;
+import game.emotionwar.factory.EmotionMonsterFactory;
+import game.emotionwar.model.EmotionHero;
+import game.emotionwar.model.EmotionMonster;
+import game.emotionwar.model.EmotionType;
+
+/**
+ * Headless BattleEngine rounds: a full party against four FEAR monsters
+ * under AutoBattlePolicy. Each op is one whole battle (including copying the
+ * party and monsters); the score is per round.
+ */
+class BattleRoundBench extends Bench {
+
+    private final BattlePolicy policy = new AutoBattlePolicy();
+    private final SeedSource seeds = new SeedSource(42L);
+
+    private List<EmotionHero> heroProtos;
+    private List<EmotionMonster> monsterProtos;
+
+    BattleRoundBench() {
+        super("battle.round", "round");
+    }
+
+    @Override
+    public void setup() {
+        heroProtos = ContentRegistry.heroes();
+        for (int i = 0; i < heroProtos.size(); i++) {
+            heroProtos.get(i).equipWeapon(ContentRegistry.weapons().get(0));
+        }
+        monsterProtos = ContentRegistry.monsters(EmotionType.FEAR);
+    }
+
+    @Override
+    public int op() {
+        List<Hero> party = new ArrayList<Hero>(heroProtos.size());
+        for (int i = 0; i < heroProtos.size(); i++) {
+            party.add(heroProtos.get(i).copy());
+        }
+        List<EmotionMonster> foes = new ArrayList<EmotionMonster>(4);
+        for (int i = 0; i < 4; i++) {
+            foes.add(EmotionMonsterFactory.cloneMonster(monsterProtos.get(i % monsterProtos.size())));
+        }
+
+        BattleEngine engine = new BattleEngine(party, foes, policy, BattleListener.NONE,
+                seeds.nextBattle());
+        engine.setPayRewards(false);
+        return engine.run().getRounds();
+    }
+}
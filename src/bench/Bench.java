@@ -0,0 +1,36 @@
+package bench;
+
+/**
+ * One benchmarked operation: setup() runs once, then op() is called in a
+ * timed loop by BenchRunner.
+ */
+public abstract class Bench {
+
+    private final String name;
+    private final String unit;
+
+    protected Bench(String name, String unit) {
+        this.name = name;
+        this.unit = unit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** What one unit of work is ("op", "round", ...); rates are reported per unit. */
+    public String getUnit() {
+        return unit;
+    }
+
+    public void setup() {
+    }
+
+    /**
+     * Runs one operation.
+     *
+     * @return units of work done (usually 1); the runner consumes the value so
+     *         the JIT cannot drop the work as dead code.
+     */
+    public abstract int op();
+}
@@ -0,0 +1,129 @@
+package bench;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
+
+/**
+ * Minimal JMH-style runner: fixed-time warmup and measurement iterations,
+ * reporting throughput (units/s with error across iterations) and allocation
+ * (bytes per unit and MB/s) from the JVM's per-thread allocation counter.
+ *
+ * Game text goes to GameOutputs.DISCARD while a benchmark runs, so printing
+ * code paths are measured against a null sink.
+ */
+public class BenchRunner {
+
+    private final com.sun.management.ThreadMXBean mx =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final PrintStream report;
+    private final int warmupIterations;
+    private final int measureIterations;
+    private final long iterationNanos;
+
+    private long sink;
+
+    public BenchRunner(PrintStream report, int warmupIterations, int measureIterations,
+                       long iterationMillis) {
+        this.report = report;
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    public void printHeader() {
+        report.printf("%-22s %-5s %18s %9s %12s %10s%n",
+                "Benchmark", "Mode", "Score", "Error", "B/unit", "MB/s");
+    }
+
+    /** Steady-state throughput after warmup. */
+    public void throughput(Bench b) {
+        long tid = Thread.currentThread().getId();
+
+        double[] rates = new double[measureIterations];
+        long totalUnits = 0;
+        long totalBytes = 0;
+        long totalNanos = 0;
+
+        GameOutput out = GameOutputs.current();
+        GameOutputs.setCurrent(GameOutputs.DISCARD);
+        try {
+            b.setup();
+            for (int i = 0; i < warmupIterations; i++) {
+                iteration(b, tid);
+            }
+            for (int i = 0; i < measureIterations; i++) {
+                long[] r = iteration(b, tid);
+                rates[i] = r[0] * 1e9 / r[2];
+                totalUnits += r[0];
+                totalBytes += r[1];
+                totalNanos += r[2];
+            }
+        } finally {
+            GameOutputs.setCurrent(out);
+        }
+
+        double mean = 0;
+        for (int i = 0; i < rates.length; i++) mean += rates[i];
+        mean /= rates.length;
+        double var = 0;
+        for (int i = 0; i < rates.length; i++) var += (rates[i] - mean) * (rates[i] - mean);
+        double err = rates.length > 1 ? Math.sqrt(var / (rates.length - 1)) : 0;
+
+        report.printf("%-22s %-5s %18s %9s %12.1f %10.1f%n",
+                b.getName(), "thrpt",
+                String.format("%.1f %s/s", mean, b.getUnit()),
+                String.format("+-%.1f%%", mean == 0 ? 0 : 100 * err / mean),
+                (double) totalBytes / totalUnits,
+                totalBytes / 1e6 / (totalNanos / 1e9));
+    }
+
+    /** One cold call: no warmup, whatever class loading and interpretation costs. */
+    public void singleShot(Bench b) {
+        long tid = Thread.currentThread().getId();
+
+        GameOutput out = GameOutputs.current();
+        GameOutputs.setCurrent(GameOutputs.DISCARD);
+        long bytes;
+        long nanos;
+        int units;
+        try {
+            b.setup();
+            long a0 = mx.getThreadAllocatedBytes(tid);
+            long t0 = System.nanoTime();
+            units = b.op();
+            nanos = System.nanoTime() - t0;
+            bytes = mx.getThreadAllocatedBytes(tid) - a0;
+        } finally {
+            GameOutputs.setCurrent(out);
+        }
+        sink += units;
+
+        report.printf("%-22s %-5s %18s %9s %12.1f %10s%n",
+                b.getName(), "ss",
+                String.format("%.3f ms", nanos / 1e6), "",
+                (double) bytes / Math.max(1, units), "");
+    }
+
+    /** @return {units, allocated bytes, elapsed nanos} */
+    private long[] iteration(Bench b, long tid) {
+        long units = 0;
+        long a0 = mx.getThreadAllocatedBytes(tid);
+        long t0 = System.nanoTime();
+        long elapsed;
+        do {
+            units += b.op();
+            elapsed = System.nanoTime() - t0;
+        } while (elapsed < iterationNanos);
+        long bytes = mx.getThreadAllocatedBytes(tid) - a0;
+        sink += units;
+        return new long[] { units, bytes, elapsed };
+    }
+
+    /** Keeps op() results reachable; printing it is pointless but harmless. */
+    public long getSink() {
+        return sink;
+    }
+}
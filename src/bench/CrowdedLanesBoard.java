@@ -0,0 +1,93 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import game.core.world.Position;
+import game.emotionlanes.factory.EmotionLanesMonsterFactory;
+import game.emotionlanes.logic.LanesState;
+import game.emotionlanes.logic.StarterKitService;
+import game.emotionlanes.model.LaneUnit;
+import game.emotionlanes.model.UnitType;
+import game.emotionlanes.terrain.TerrainEffectManager;
+import game.emotionlanes.world.EmotionLanesWorldBuilder;
+import game.emotionlanes.world.EmotionLanesWorldData;
+import game.emotionwar.factory.ContentRegistry;
+import game.emotionwar.model.EmotionHero;
+
+/**
+ * A fixed Emotion Lanes board with a monster on every free lane tile in the
+ * top half and the three heroes on their nexus spawns, plus a cheap reset()
+ * back to that layout so the monster phase can be measured repeatedly.
+ */
+class CrowdedLanesBoard {
+
+    final EmotionLanesWorldData data;
+    final LanesState state;
+    final TerrainEffectManager terrain;
+
+    private final List<LaneUnit> units = new ArrayList<LaneUnit>();
+    private final List<Position> starts = new ArrayList<Position>();
+
+    CrowdedLanesBoard(long seed) {
+        this(seed, -1);
+    }
+
+    /** @param monsterRows rows to fill from the top (-1 = top half, 0 = heroes only) */
+    CrowdedLanesBoard(long seed, int monsterRows) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        data = EmotionLanesWorldBuilder.buildDefaultWorld(rng);
+        state = new LanesState(data);
+        terrain = new TerrainEffectManager(data, true);
+
+        EmotionLanesMonsterFactory.loadDefaultMonsters();
+
+        List<EmotionHero> heroes = ContentRegistry.heroes();
+        StarterKitService kit = new StarterKitService();
+        Position[] hs = data.getHeroSpawns();
+        for (int i = 0; i < hs.length; i++) {
+            LaneUnit u = new LaneUnit("H" + (i + 1), UnitType.HERO, hs[i]);
+            u.attachHero(heroes.get(i));
+            kit.giveStarterKit(heroes.get(i));
+            u.setHomeNexus(hs[i]);
+            state.addHero(u);
+            add(u);
+        }
+
+        int rows = monsterRows < 0 ? data.getRows() / 2 : monsterRows;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < data.getCols(); c++) {
+                char g = data.glyphAt(r, c);
+                if (g == 'I' || g == 'O') continue;
+                Position p = data.getWorld().positions().get(r, c);
+                LaneUnit m = new LaneUnit("M" + state.nextMonsterId(), UnitType.MONSTER, p);
+                m.attachMonster(EmotionLanesMonsterFactory.randomForLevel(1, p, c / 3, rng));
+                state.addMonster(m);
+                add(m);
+            }
+        }
+    }
+
+    private void add(LaneUnit u) {
+        units.add(u);
+        starts.add(u.getPos());
+        terrain.onSpawn(u);
+    }
+
+    /** Puts every unit back on its starting tile at full health. */
+    void reset() {
+        // take everyone off the board first so nobody is briefly stacked
+        for (int i = 0; i < units.size(); i++) {
+            units.get(i).setAlive(false);
+        }
+        for (int i = 0; i < units.size(); i++) {
+            LaneUnit u = units.get(i);
+            Position old = u.getPos();
+            u.revive(starts.get(i));
+            terrain.onMove(u, old, u.getPos());
+            if (u.getHero() != null) u.getHero().restoreFull();
+            if (u.getMonster() != null) u.getMonster().restoreFull();
+        }
+    }
+}
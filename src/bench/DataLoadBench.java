@@ -0,0 +1,40 @@
+package bench;
+
+import game.emotionlanes.factory.EmotionLanesMonsterFactory;
+import game.emotionwar.factory.ContentRegistry;
+import game.emotionwar.factory.DataPaths;
+import game.emotionwar.factory.EmotionHeroFactory;
+import game.emotionwar.factory.EmotionItemFactory;
+import game.emotionwar.factory.EmotionMonsterFactory;
+import game.emotionwar.model.EmotionType;
+
+/**
+ * Loads every file under data/: heroes, items, emotion monsters and lanes
+ * monsters. Run once as a single shot for the cold number, and in a loop for
+ * the warm one. Goes through the factories rather than ContentRegistry, which
+ * would only load once (the lanes roster is cleared first so it does not grow).
+ */
+class DataLoadBench extends Bench {
+
+    DataLoadBench(String name) {
+        super(name, "load");
+    }
+
+    @Override
+    public int op() {
+        int n = 0;
+        n += EmotionHeroFactory.loadAllDefaultHeroes().size();
+        n += EmotionItemFactory.loadWeapons(DataPaths.WEAPONS).size();
+        n += EmotionItemFactory.loadArmors(DataPaths.ARMORS).size();
+        n += EmotionItemFactory.loadPotions(DataPaths.POTIONS).size();
+        n += EmotionItemFactory.loadSpells(DataPaths.SPELLS).size();
+
+        for (EmotionType e : EmotionType.values()) {
+            n += EmotionMonsterFactory.loadMonstersFromFile(ContentRegistry.monsterPath(e), e).size();
+        }
+        EmotionLanesMonsterFactory.clearLoaded();
+        EmotionLanesMonsterFactory.loadMonsters(DataPaths.MONSTERS_LANES);
+
+        return n > 0 ? 1 : 0;
+    }
+}
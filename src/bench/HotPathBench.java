@@ -0,0 +1,34 @@
+package bench;
+
+/**
+ * Benchmark suite for the game's hot paths.
+ *
+ * Usage: java -cp out bench.HotPathBench [filter] [iterationMillis]
+ *
+ * filter is a substring of the benchmark names below (default: run all).
+ * The cold data-load number is taken first, before anything else has loaded
+ * the files or warmed up the parsers.
+ */
+public class HotPathBench {
+
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : "";
+        long iterationMillis = args.length > 1 ? Long.parseLong(args[1]) : 1000L;
+
+        BenchRunner runner = new BenchRunner(System.out, 3, 5, iterationMillis);
+        runner.printHeader();
+
+        Bench cold = new DataLoadBench("data.loadAll.cold");
+        if (cold.getName().contains(filter)) runner.singleShot(cold);
+
+        Bench[] benches = {
+            new BattleRoundBench(),
+            new LanesMonsterPhaseBench(),
+            new LanesRenderBench(),
+            new DataLoadBench("data.loadAll.warm")
+        };
+        for (int i = 0; i < benches.length; i++) {
+            if (benches[i].getName().contains(filter)) runner.throughput(benches[i]);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package bench;
+
+import java.util.SplittableRandom;
+
+import game.emotionlanes.logic.TurnManager;
+
+/** One TurnManager.monstersAct pass over a CrowdedLanesBoard (reset included). */
+class LanesMonsterPhaseBench extends Bench {
+
+    private CrowdedLanesBoard board;
+    private TurnManager turns;
+
+    LanesMonsterPhaseBench() {
+        super("lanes.monsterPhase", "phase");
+    }
+
+    @Override
+    public void setup() {
+        board = new CrowdedLanesBoard(7L);
+        turns = new TurnManager(board.terrain, new SplittableRandom(7L));
+    }
+
+    @Override
+    public int op() {
+        board.reset();
+        turns.monstersAct(board.data.getWorld(), board.state);
+        return 1;
+    }
+}
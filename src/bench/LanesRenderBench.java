@@ -0,0 +1,29 @@
+package bench;
+
+import game.emotionlanes.logic.TokenMapper;
+import game.emotionlanes.ui.EmotionLanesRenderer;
+
+/** Full EmotionLanesRenderer.render of a CrowdedLanesBoard into a null sink. */
+class LanesRenderBench extends Bench {
+
+    private CrowdedLanesBoard board;
+    private EmotionLanesRenderer renderer;
+    private final TokenMapper tokens = new TokenMapper();
+
+    LanesRenderBench() {
+        super("lanes.render", "frame");
+    }
+
+    @Override
+    public void setup() {
+        board = new CrowdedLanesBoard(7L);
+        renderer = new EmotionLanesRenderer(board.data);
+    }
+
+    @Override
+    public int op() {
+        renderer.render(tokens.heroTokens(board.state), tokens.monsterTokens(board.state),
+                "ROUND 1  |  HERO PHASE");
+        return 1;
+    }
+}
@@ -0,0 +1,128 @@
+package bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import game.core.io.GameOutputs;
+import game.emotionlanes.logic.LanesState;
+import game.emotionlanes.logic.MonsterWaveSpawner;
+import game.emotionlanes.logic.RoundSystem;
+import game.emotionlanes.logic.TurnManager;
+import game.emotionlanes.model.LaneUnit;
+
+/**
+ * Long-run soak of the Emotion Lanes round loop, headless.
+ *
+ * Starts from an empty CrowdedLanesBoard (heroes only) and plays the same
+ * round sequence as EmotionLanesGame (respawn, hero phase, monster phase,
+ * regen, recycle, wave) for many rounds. Heroes hold their nexus and attack
+ * whatever engages them. A monster that reaches the hero nexus row would end
+ * a real game; here it is killed instead, so waves keep flowing down the
+ * lanes and dying for as long as the soak runs. Every window prints
+ * throughput, heap garbage per round and the size of the monster list, which
+ * should stay flat.
+ *
+ * Usage: java -cp out bench.LanesSoakBench [rounds] [spawnEvery] [nocompact]
+ *
+ * nocompact skips recycleDead to show the old behaviour (dead monsters pile
+ * up in the list and every wave allocates fresh units).
+ */
+public class LanesSoakBench {
+
+    private static final int WINDOW = 1000;
+
+    public static void main(String[] args) {
+        int rounds     = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int spawnEvery = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        boolean compact = !(args.length > 2 && args[2].equalsIgnoreCase("nocompact"));
+
+        com.sun.management.ThreadMXBean mx =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+
+        GameOutputs.setCurrent(GameOutputs.DISCARD);
+        CrowdedLanesBoard board = new CrowdedLanesBoard(11L, 0);
+        LanesState state = board.state;
+        TurnManager turns = new TurnManager(board.terrain, new SplittableRandom(11L));
+        RoundSystem roundSystem = new RoundSystem(board.terrain, board.data);
+        MonsterWaveSpawner spawner =
+                new MonsterWaveSpawner(board.terrain, board.data, new SplittableRandom(12L));
+
+        System.out.println("========================================");
+        System.out.println(" Lanes soak, " + rounds + " rounds, wave every " + spawnEvery
+                + (compact ? "" : " (no compaction)"));
+        System.out.println("========================================");
+        System.out.printf("%8s %12s %12s %10s %8s %6s%n",
+                "round", "rounds/s", "B/round", "listed", "alive", "pool");
+
+        long breached = 0;
+        long totalBytes = 0;
+        long totalNanos = 0;
+        long bytes0 = mx.getThreadAllocatedBytes(tid);
+        long start = System.nanoTime();
+
+        for (int round = 1; round <= rounds; round++) {
+            roundSystem.startOfRoundRespawns(state);
+            heroPhase(turns, state);
+            turns.monstersAct(board.data.getWorld(), state);
+            breached += killBreaching(state, board.data.getWorld().getRows() - 1);
+            roundSystem.endOfRoundRegen(state);
+            if (compact) spawner.recycleDead(state);
+            // same level curve as the game; past the data it falls back to the top level
+            spawner.spawnWaveIfDue(round, spawnEvery, state, 1 + (round / 6));
+
+            if (round % WINDOW == 0 || round == rounds) {
+                long now = System.nanoTime();
+                long bytes = mx.getThreadAllocatedBytes(tid) - bytes0;
+                int n = round % WINDOW == 0 ? WINDOW : round % WINDOW;
+                totalBytes += bytes;
+                totalNanos += now - start;
+
+                System.out.printf("%8d %12.0f %12.1f %10d %8d %6d%n",
+                        round, n / ((now - start) / 1_000_000_000.0), (double) bytes / n,
+                        state.getMonsters().size(), aliveMonsters(state), spawner.pooledCount());
+
+                bytes0 = mx.getThreadAllocatedBytes(tid);
+                start = System.nanoTime();
+            }
+        }
+
+        System.out.println("----------------------------------------");
+        System.out.printf("  overall rounds / s : %.0f%n", rounds / (totalNanos / 1_000_000_000.0));
+        System.out.printf("  overall B / round  : %.1f%n", (double) totalBytes / rounds);
+        System.out.println("  monsters breached  : " + breached);
+    }
+
+    // every living hero hits the monster engaging it, if any, and never moves
+    private static void heroPhase(TurnManager turns, LanesState state) {
+        List<LaneUnit> heroes = state.getHeroes();
+        for (int i = 0; i < heroes.size(); i++) {
+            LaneUnit h = heroes.get(i);
+            LaneUnit m = turns.engagedMonsterForHero(state, h);
+            if (m != null) turns.heroAttack(h, m);
+        }
+    }
+
+    private static int killBreaching(LanesState state, int nexusRow) {
+        int n = 0;
+        List<LaneUnit> monsters = state.getMonsters();
+        for (int i = 0; i < monsters.size(); i++) {
+            LaneUnit m = monsters.get(i);
+            if (m.isAlive() && m.getPos().row == nexusRow) {
+                m.takeHit(Integer.MAX_VALUE);
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static int aliveMonsters(LanesState state) {
+        int n = 0;
+        List<LaneUnit> monsters = state.getMonsters();
+        for (int i = 0; i < monsters.size(); i++) {
+            if (monsters.get(i).isAlive()) n++;
+        }
+        return n;
+    }
+}
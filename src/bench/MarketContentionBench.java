@@ -0,0 +1,210 @@
+package bench;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import game.core.items.Item;
+import game.core.market.MarketStock;
+import game.emotionlanes.market.NexusMarketService;
+
+/**
+ * Many buyers hammering one shared Nexus stock while a restocker tops it up,
+ * comparing MarketStock (per-item CAS, striped counters) against the same
+ * ledger behind one lock.
+ *
+ * Each run checks the books afterwards: copies sold plus copies left must equal
+ * the starting stock plus what was restocked, and no quantity may go negative.
+ *
+ * Buyers are plain platform threads (one per buyer); on this JDK there are no
+ * virtual threads, and a thread per buyer is the worst case for contention
+ * anyway.
+ *
+ * Usage: java -cp out bench.MarketContentionBench [buyers] [millis] [perItem]
+ */
+public class MarketContentionBench {
+
+    /** The operations both variants provide. */
+    private interface Ledger {
+        boolean take(int item);
+        int refill();
+        long remaining();
+        long sold();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int buyers = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+        int perItem = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        List<Item> items = NexusMarketService.newStock(MarketStock.UNLIMITED).getItems();
+
+        System.out.println("========================================");
+        System.out.println(" Shared market contention");
+        System.out.println("========================================");
+        System.out.println("  buyers         : " + buyers);
+        System.out.println("  items          : " + items.size() + " x " + perItem);
+        System.out.println("  cpus           : " + Runtime.getRuntime().availableProcessors());
+
+        // warm up both, then measure
+        run(new CasLedger(items, perItem), items.size(), perItem, buyers, millis / 4, false);
+        run(new LockedLedger(items.size(), perItem), items.size(), perItem, buyers, millis / 4, false);
+        run(new CasLedger(items, perItem), items.size(), perItem, buyers, millis, true);
+        run(new LockedLedger(items.size(), perItem), items.size(), perItem, buyers, millis, true);
+    }
+
+    private static void run(final Ledger ledger, final int itemCount, int perItem, int buyers,
+                            long millis, boolean report) throws InterruptedException {
+        final CountDownLatch go = new CountDownLatch(1);
+        final AtomicBoolean stop = new AtomicBoolean();
+        final AtomicLong attempts = new AtomicLong();
+        final AtomicLong restocked = new AtomicLong();
+
+        SplittableRandom seeds = new SplittableRandom(42L);
+        Thread[] threads = new Thread[buyers + 1];
+        for (int t = 0; t < buyers; t++) {
+            final SplittableRandom rng = seeds.split();
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    await(go);
+                    long n = 0;
+                    while (!stop.get()) {
+                        ledger.take(rng.nextInt(itemCount));
+                        n++;
+                    }
+                    attempts.addAndGet(n);
+                }
+            }, "buyer-" + t);
+        }
+        threads[buyers] = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                await(go);
+                while (!stop.get()) {
+                    restocked.addAndGet(ledger.refill());
+                    Thread.yield();
+                }
+            }
+        }, "restocker");
+
+        for (int t = 0; t < threads.length; t++) threads[t].start();
+        long t0 = System.nanoTime();
+        go.countDown();
+        Thread.sleep(millis);
+        stop.set(true);
+        for (int t = 0; t < threads.length; t++) threads[t].join();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+
+        long expected = (long) itemCount * perItem + restocked.get();
+        long actual = ledger.sold() + ledger.remaining();
+        if (actual != expected) {
+            throw new IllegalStateException(ledger.getClass().getSimpleName()
+                    + " books do not balance: sold + left = " + actual + ", expected " + expected);
+        }
+        if (!report) return;
+
+        System.out.println("----------------------------------------");
+        System.out.println("  " + ledger.getClass().getSimpleName());
+        System.out.printf ("  attempts / s   : %.0f%n", attempts.get() / seconds);
+        System.out.printf ("  sales / s      : %.0f%n", ledger.sold() / seconds);
+        System.out.println("  restocked      : " + restocked.get());
+        System.out.println("  books balance  : yes");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---------- Variants ----------
+
+    private static final class CasLedger implements Ledger {
+        private final List<Item> items;
+        private final MarketStock stock;
+
+        CasLedger(List<Item> items, int perItem) {
+            this.items = items;
+            this.stock = new MarketStock(items, perItem);
+        }
+
+        @Override
+        public boolean take(int item) {
+            Item it = items.get(item);
+            return stock.tryTake(it, it.getPrice());
+        }
+
+        @Override
+        public int refill() {
+            return stock.refill();
+        }
+
+        @Override
+        public long remaining() {
+            long n = 0;
+            for (int i = 0; i < items.size(); i++) {
+                int q = stock.quantity(items.get(i));
+                if (q < 0) throw new IllegalStateException("negative stock");
+                n += q;
+            }
+            return n;
+        }
+
+        @Override
+        public long sold() {
+            return stock.getSold();
+        }
+    }
+
+    /** The obvious version: one lock around everything. */
+    private static final class LockedLedger implements Ledger {
+        private final int[] quantities;
+        private final int capacity;
+        private long sold;
+
+        LockedLedger(int items, int perItem) {
+            quantities = new int[items];
+            capacity = perItem;
+            Arrays.fill(quantities, perItem);
+        }
+
+        @Override
+        public synchronized boolean take(int item) {
+            if (quantities[item] == 0) return false;
+            quantities[item]--;
+            sold++;
+            return true;
+        }
+
+        @Override
+        public synchronized int refill() {
+            int added = 0;
+            for (int i = 0; i < quantities.length; i++) {
+                added += capacity - quantities[i];
+                quantities[i] = capacity;
+            }
+            return added;
+        }
+
+        @Override
+        public synchronized long remaining() {
+            long n = 0;
+            for (int i = 0; i < quantities.length; i++) {
+                if (quantities[i] < 0) throw new IllegalStateException("negative stock");
+                n += quantities[i];
+            }
+            return n;
+        }
+
+        @Override
+        public synchronized long sold() {
+            return sold;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import game.core.battle.BattleOutcome;
+import game.core.battle.MassBattle;
+import game.core.io.GameOutputs;
+import game.core.random.SeedSource;
+import game.emotionwar.factory.ContentRegistry;
+import game.emotionwar.factory.EmotionMonsterFactory;
+import game.emotionwar.model.EmotionHero;
+import game.emotionwar.model.EmotionMonster;
+import game.emotionwar.model.EmotionType;
+
+/**
+ * Throughput of MassBattle: a hero army against a whole EmotionType zone.
+ *
+ * Usage: java -cp out bench.MassBattleBench [heroes] [monsters] [battles] [EMOTION]
+ */
+public class MassBattleBench {
+
+    public static void main(String[] args) {
+        int heroCount    = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int monsterCount = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        int battles      = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        EmotionType zone = args.length > 3 ? EmotionType.valueOf(args[3].toUpperCase())
+                                           : EmotionType.FEAR;
+
+        GameOutputs.setCurrent(GameOutputs.DISCARD);
+        List<EmotionHero> heroProtos = ContentRegistry.heroes();
+        for (int i = 0; i < heroProtos.size(); i++) {
+            heroProtos.get(i).equipWeapon(ContentRegistry.weapons().get(1));
+        }
+        List<EmotionMonster> monsterProtos = ContentRegistry.monsters(zone);
+
+        SeedSource seeds = new SeedSource(42L);
+
+        runBatch(battles / 5, heroCount, monsterCount, heroProtos, monsterProtos, seeds);
+        long[] r = runBatch(battles, heroCount, monsterCount, heroProtos, monsterProtos, seeds);
+
+        double seconds = r[2] / 1_000_000_000.0;
+        System.out.println("========================================");
+        System.out.println(" MassBattle, " + heroCount + " heroes vs " + monsterCount + " " + zone);
+        System.out.println("========================================");
+        System.out.println("  battles     : " + battles);
+        System.out.println("  hero wins   : " + r[0]);
+        System.out.printf ("  mean rounds : %.1f%n", (double) r[1] / battles);
+        System.out.printf ("  battles / s : %.0f%n", battles / seconds);
+    }
+
+    /** @return {hero wins, total rounds, elapsed nanos} */
+    private static long[] runBatch(int battles, int heroCount, int monsterCount,
+                                   List<EmotionHero> heroProtos,
+                                   List<EmotionMonster> monsterProtos,
+                                   SeedSource seeds) {
+        long wins = 0;
+        long rounds = 0;
+        long start = System.nanoTime();
+
+        for (int b = 0; b < battles; b++) {
+            List<EmotionHero> army = new ArrayList<EmotionHero>(heroCount);
+            for (int i = 0; i < heroCount; i++) {
+                army.add(heroProtos.get(i % heroProtos.size()).copy());
+            }
+            List<EmotionMonster> horde = new ArrayList<EmotionMonster>(monsterCount);
+            for (int i = 0; i < monsterCount; i++) {
+                horde.add(EmotionMonsterFactory.cloneMonster(monsterProtos.get(i % monsterProtos.size())));
+            }
+
+            MassBattle battle = new MassBattle(army, horde, seeds.nextBattle());
+            battle.setPayRewards(false);
+            BattleOutcome o = battle.run();
+            if (o.heroesWon()) wins++;
+            rounds += o.getRounds();
+        }
+        return new long[] { wins, rounds, System.nanoTime() - start };
+    }
+}
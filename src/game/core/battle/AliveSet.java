@@ -0,0 +1,86 @@
+package game.core.battle;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fixed-size bitset of which combatants (by list index) are still standing.
+ *
+ * BattleEngine clears a bit right after the takeDamage() call that kills a
+ * unit, so alive counts are O(1) and picking a random living target needs no
+ * temporary list. Bits are kept in list order, so nth(k) returns the same
+ * unit a filtered "alive" list would at position k.
+ */
+final class AliveSet {
+
+    private final long[] words;
+    private int count;
+
+    AliveSet(int size) {
+        this.words = new long[(size + 63) >>> 6];
+    }
+
+    void add(int i) {
+        long bit = 1L << i;
+        int w = i >>> 6;
+        if ((words[w] & bit) == 0) {
+            words[w] |= bit;
+            count++;
+        }
+    }
+
+    void remove(int i) {
+        long bit = 1L << i;
+        int w = i >>> 6;
+        if ((words[w] & bit) != 0) {
+            words[w] &= ~bit;
+            count--;
+        }
+    }
+
+    boolean contains(int i) {
+        return (words[i >>> 6] & (1L << i)) != 0;
+    }
+
+    int size() {
+        return count;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /** Index of the k-th set bit (0-based, in list order); -1 if out of range. */
+    int nth(int k) {
+        if (k < 0 || k >= count) return -1;
+        for (int w = 0; w < words.length; w++) {
+            long bits = words[w];
+            int n = Long.bitCount(bits);
+            if (k >= n) {
+                k -= n;
+                continue;
+            }
+            for (; k > 0; k--) {
+                bits &= bits - 1; // drop lowest set bit
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(bits);
+        }
+        return -1;
+    }
+
+    /** Uniformly random member, drawing exactly one nextInt(size()). */
+    int random(SplittableRandom rng) {
+        return nth(rng.nextInt(count));
+    }
+
+    /** Next set index at or after from, or -1. */
+    int nextSet(int from) {
+        int w = from >>> 6;
+        if (w >= words.length) return -1;
+        long bits = words[w] & (-1L << from);
+        while (true) {
+            if (bits != 0) return (w << 6) + Long.numberOfTrailingZeros(bits);
+            if (++w == words.length) return -1;
+            bits = words[w];
+        }
+    }
+}
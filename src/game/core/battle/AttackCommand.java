@@ -0,0 +1,23 @@
+package game.core.battle;
+
+import game.core.model.Hero;
+import game.core.model.Monster;
+
+/** Weapon attack from one hero on one monster. */
+public class AttackCommand implements BattleCommand {
+
+    private final BattleEngine engine;
+    private final Hero hero;
+    private final Monster target;
+
+    public AttackCommand(BattleEngine engine, Hero hero, Monster target) {
+        this.engine = engine;
+        this.hero = hero;
+        this.target = target;
+    }
+
+    @Override
+    public void execute() {
+        engine.heroAttack(hero, target);
+    }
+}
@@ -0,0 +1,76 @@
+package game.core.battle;
+
+import game.core.items.Potion;
+import game.core.items.Spell;
+import game.core.model.Hero;
+import game.core.model.Monster;
+
+import java.util.List;
+
+/**
+ * Simple deterministic hero AI for headless battles (auto-resolve, balance runs).
+ *
+ * Heroes act in party order. Each hero:
+ *  - drinks an HP potion when below 30% HP,
+ *  - otherwise casts the strongest affordable spell if it beats a weapon hit,
+ *  - otherwise attacks the living monster with the lowest HP.
+ */
+public class AutoBattlePolicy implements BattlePolicy {
+
+    private static final double LOW_HP = 0.30;
+
+    @Override
+    public int chooseActingHero(BattleEngine engine, List<Hero> pending) {
+        return 0;
+    }
+
+    @Override
+    public BattleCommand chooseCommand(BattleEngine engine, Hero hero) {
+        Monster target = weakestMonster(engine.getMonsters());
+        if (target == null) return new SkipCommand(engine, hero);
+
+        if (hero.getHp() < hero.getStats().getMaxHp() * LOW_HP) {
+            Potion heal = findHealingPotion(hero);
+            if (heal != null) return new UsePotionCommand(engine, hero, heal);
+        }
+
+        int weaponDmg = hero.getAttackDamage() - target.getDefense();
+        Spell spell = bestAffordableSpell(hero);
+        if (spell != null) {
+            int spellDmg = spell.getDamage() + hero.getStats().getDexterity()
+                    - target.getDefense() / 2;
+            if (spellDmg > weaponDmg) return new CastSpellCommand(engine, hero, spell, target);
+        }
+
+        return new AttackCommand(engine, hero, target);
+    }
+
+    private Monster weakestMonster(List<Monster> monsters) {
+        Monster best = null;
+        for (int i = 0; i < monsters.size(); i++) {
+            Monster m = monsters.get(i);
+            if (!m.isAlive()) continue;
+            if (best == null || m.getHp() < best.getHp()) best = m;
+        }
+        return best;
+    }
+
+    private Potion findHealingPotion(Hero hero) {
+        List<Potion> potions = hero.getInventory().getPotions();
+        for (int i = 0; i < potions.size(); i++) {
+            if (potions.get(i).getStat() == Potion.Stat.HP) return potions.get(i);
+        }
+        return null;
+    }
+
+    private Spell bestAffordableSpell(Hero hero) {
+        Spell best = null;
+        List<Spell> spells = hero.getInventory().getSpells();
+        for (int i = 0; i < spells.size(); i++) {
+            Spell s = spells.get(i);
+            if (s.getManaCost() > hero.getMp()) continue;
+            if (best == null || s.getDamage() > best.getDamage()) best = s;
+        }
+        return best;
+    }
+}
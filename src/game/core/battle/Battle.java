@@ -1,30 +1,49 @@
 package game.core.battle;
 
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
 import game.core.model.Hero;
 import game.core.model.Monster;
-import game.core.items.Item;
 import game.core.items.Potion;
 import game.core.items.Spell;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
-public class Battle {
+/**
+ * Interactive terminal front-end for a BattleEngine.
+ *
+ * Acts as the engine's BattlePolicy (prompting the player for every hero
+ * decision) and as its BattleListener (printing what happened). All combat
+ * rules live in BattleEngine.
+ */
+public class Battle implements BattlePolicy, BattleListener {
+
+    private final GameOutput out = GameOutputs.current();
 
     private final List<Hero> party;
     private final List<Monster> monsters;
     private final Scanner scanner;
-    private final Random rng = new Random();
+    private final SplittableRandom rng;
 
     public Battle(List<Hero> heroes,
                   List<? extends Monster> monsters,
                   Scanner scanner) {
+        this(heroes, monsters, scanner, new SplittableRandom());
+    }
+
+    /** @param rng this battle's own stream (see SeedSource.nextBattle) */
+    public Battle(List<Hero> heroes,
+                  List<? extends Monster> monsters,
+                  Scanner scanner,
+                  SplittableRandom rng) {
 
         this.party = new ArrayList<Hero>(heroes);
         this.monsters = new ArrayList<Monster>(monsters);
         this.scanner = scanner;
+        this.rng = rng;
     }
 
     /**
@@ -33,402 +52,307 @@ public class Battle {
      * @return true if the party survives, false if they are all defeated.
      */
     public boolean start() {
-        System.out.println("----------------------------------------");
-        System.out.println("A battle begins!");
-        System.out.println("----------------------------------------");
-
-        while (partyAlive() && monstersAlive()) {
-            printStatus();
-            heroesTurn();        // heroes act in chosen order
-            if (!monstersAlive()) {
-                break;
-            }
-            monstersTurn();      // then monsters act
-        }
+        out.println("----------------------------------------");
+        out.println("A battle begins!");
+        out.println("----------------------------------------");
 
-        if (!partyAlive()) {
-            System.out.println("Your party has fallen...");
-            return false;
-        } else {
-            System.out.println("The monsters are defeated!");
-            awardRewards();
-            return true;
-        }
+        BattleEngine engine = new BattleEngine(party, monsters, this, this, rng);
+        return engine.run().heroesWon();
     }
 
-    // ---------- Turn phases ----------
+    // ---------- BattlePolicy: player decisions ----------
 
     /**
-     * One round of hero actions.
      * Player chooses which living hero acts, until each has acted once
      * or the monsters are all dead.
      */
-    private void heroesTurn() {
-        List<Hero> pending = getAliveHeroes();
-        if (pending.isEmpty()) return;
-
-        while (!pending.isEmpty() && monstersAlive()) {
-            System.out.println();
-            System.out.println("Choose which hero acts this round:");
-            for (int i = 0; i < pending.size(); i++) {
-                Hero h = pending.get(i);
-                System.out.println("  [" + i + "] " + h.getName() +
-                        " (HP " + h.getHp() + "/" + h.getStats().getMaxHp() +
-                        ", MP " + h.getMp() + "/" + h.getStats().getMaxMp() + ")");
-            }
-            int heroIdx = promptIntBetween("> ", 0, pending.size() - 1);
-            Hero acting = pending.get(heroIdx);
-
-            // Hero action menu
-            heroTurn(acting);
-
-            // after one action, that hero is done for this round
-            pending.remove(heroIdx);
-
-            if (!monstersAlive()) {
-                return;
-            }
-        }
+    @Override
+    public int chooseActingHero(BattleEngine engine, List<Hero> pending) {
+        out.println();
+        out.println("Choose which hero acts this round:");
+        for (int i = 0; i < pending.size(); i++) {
+            Hero h = pending.get(i);
+            out.println("  [" + i + "] " + h.getName() +
+                    " (HP " + h.getHp() + "/" + h.getStats().getMaxHp() +
+                    ", MP " + h.getMp() + "/" + h.getStats().getMaxMp() + ")");
+        }
+        return promptIntBetween("> ", 0, pending.size() - 1);
     }
 
     /**
      * Single hero's menu for their action.
      * 1 move = exactly 1 thing, so we return after one command.
      */
-    private void heroTurn(Hero h) {
-        System.out.println();
-        System.out.println("It's " + h.getName() + "'s turn.");
-        System.out.println("1) Attack");
-        System.out.println("2) Cast Spell");
-        System.out.println("3) Use Potion");
-        System.out.println("4) Skip");
+    @Override
+    public BattleCommand chooseCommand(BattleEngine engine, Hero h) {
+        out.println();
+        out.println("It's " + h.getName() + "'s turn.");
+        out.println("1) Attack");
+        out.println("2) Cast Spell");
+        out.println("3) Use Potion");
+        out.println("4) Skip");
         int choice = promptIntBetween("Choose action: ", 1, 4);
 
         switch (choice) {
             case 1:
-                heroAttack(h);
-                break;
+                return chooseAttack(engine, h);
             case 2:
-                castSpell(h);
-                break;
+                return chooseSpell(engine, h);
             case 3:
-                usePotion(h);
-                break;
+                return choosePotion(engine, h);
             case 4:
             default:
-                System.out.println(h.getName() + " hesitates and does nothing.");
-                break;
-        }
-    }
-
-    private void heroAttack(Hero h) {
-        List<Monster> alive = getAliveMonsters();
-        if (alive.isEmpty()) return;
-
-        System.out.println("Choose target:");
-        for (int i = 0; i < alive.size(); i++) {
-            Monster m = alive.get(i);
-            System.out.println("[" + i + "] " + m.getName() +
-                    " (HP " + m.getHp() + "/" + m.getStats().getMaxHp() + ")");
-        }
-        int idx = promptIntBetween("> ", 0, alive.size() - 1);
-        Monster target = alive.get(idx);
-
-        // Dodge check
-        if (rng.nextDouble() < target.getDodgeChance()) {
-            System.out.println(target.getName() + " dodged the attack!");
-            return;
-        }
-
-        int raw = h.getAttackDamage(); // uses dual-wield logic from Hero
-        int dmg = Math.max(0, raw - target.getDefense());
-        if (dmg <= 0) {
-            System.out.println(h.getName() + "'s attack couldn't pierce " +
-                    target.getName() + "'s defenses.");
-            return;
-        }
-
-        target.takeDamage(dmg);
-        System.out.println(h.getName() + " hits " + target.getName() +
-                " for " + dmg + " damage.");
-
-        if (!target.isAlive()) {
-            System.out.println(target.getName() + " is defeated!");
+                return new SkipCommand(engine, h);
         }
     }
 
-    private void monstersTurn() {
-        System.out.println();
-        System.out.println("Monsters strike back!");
-
-        List<Hero> aliveHeroes = getAliveHeroes();
-
-        for (int i = 0; i < monsters.size(); i++) {
-            Monster m = monsters.get(i);
-            if (!m.isAlive()) continue;
-            aliveHeroes = getAliveHeroes();
-            if (aliveHeroes.isEmpty()) return;
-
-            Hero target = aliveHeroes.get(rng.nextInt(aliveHeroes.size()));
-            System.out.println(m.getName() + " attacks " + target.getName() + ".");
-
-            // Hero dodge check
-            if (rng.nextDouble() < target.getDodgeChance()) {
-                System.out.println(target.getName() + " dodges the blow!");
-                continue;
-            }
-
-            int raw = m.getAttackDamage();
-            int dmg = Math.max(0, raw - target.getDefense());
-            if (dmg <= 0) {
-                System.out.println(target.getName() + "'s armor absorbs the hit.");
-                continue;
-            }
-
-            target.takeDamage(dmg);
-            System.out.println(target.getName() + " takes " + dmg + " damage.");
-
-            if (!target.isAlive()) {
-                System.out.println(target.getName() + " has fallen!");
-            }
-        }
+    private BattleCommand chooseAttack(BattleEngine engine, Hero h) {
+        Monster target = chooseTarget(engine, "Choose target:");
+        if (target == null) return null;
+        return new AttackCommand(engine, h, target);
     }
 
-    private void usePotion(Hero h) {
-        List<Item> items = h.getInventory().getItems();
-        List<Potion> potions = new ArrayList<Potion>();
-        for (int i = 0; i < items.size(); i++) {
-            Item it = items.get(i);
-            if (it instanceof Potion) {
-                potions.add((Potion) it);
-            }
-        }
+    private BattleCommand choosePotion(BattleEngine engine, Hero h) {
+        List<Potion> potions = h.getInventory().getPotions();
 
         if (potions.isEmpty()) {
-            System.out.println("No potions in " + h.getName() + "'s inventory.");
-            return;
+            out.println("No potions in " + h.getName() + "'s inventory.");
+            return null;
         }
 
-        System.out.println("Choose a potion to use on " + h.getName() + ":");
+        out.println("Choose a potion to use on " + h.getName() + ":");
         for (int i = 0; i < potions.size(); i++) {
             Potion p = potions.get(i);
-            System.out.println("[" + i + "] " + p.getName() + " (+" + p.getAmount() + " " + p.getStat() + ")");
+            out.println("[" + i + "] " + p.getName() + " (+" + p.getAmount() + " " + p.getStat() + ")"
+                    + h.getInventory().countSuffix(p));
         }
-        System.out.println("[X] Cancel");
-        System.out.print("> ");
+        out.println("[X] Cancel");
+        out.print("> ");
 
-        String input = scanner.nextLine().trim().toUpperCase();
-        if ("X".equals(input)) return;
+        int idx = readIndexOrCancel(potions.size());
+        if (idx < 0) return null;
 
-        int idx;
-        try {
-            idx = Integer.parseInt(input);
-        } catch (NumberFormatException e) {
-            System.out.println("Invalid choice.");
-            return;
-        }
-        if (idx < 0 || idx >= potions.size()) {
-            System.out.println("Invalid index.");
-            return;
-        }
-
-        Potion chosen = potions.get(idx);
-        chosen.applyTo(h);               // apply to this hero
-        h.getInventory().remove(chosen); // consume potion
+        return new UsePotionCommand(engine, h, potions.get(idx));
     }
 
-    private void castSpell(Hero h) {
-        List<Item> items = h.getInventory().getItems();
-        List<Spell> spells = new ArrayList<Spell>();
-        for (int i = 0; i < items.size(); i++) {
-            Item it = items.get(i);
-            if (it instanceof Spell) {
-                spells.add((Spell) it);
-            }
-        }
+    private BattleCommand chooseSpell(BattleEngine engine, Hero h) {
+        List<Spell> spells = h.getInventory().getSpells();
 
         if (spells.isEmpty()) {
-            System.out.println("No spells available for " + h.getName() + ".");
-            return;
+            out.println("No spells available for " + h.getName() + ".");
+            return null;
         }
 
-        if (!monstersAlive()) return;
+        if (!engine.monstersAlive()) return null;
 
-        System.out.println("Choose a spell to cast:");
+        out.println("Choose a spell to cast:");
         for (int i = 0; i < spells.size(); i++) {
             Spell s = spells.get(i);
-            System.out.println("[" + i + "] " + s.getName() +
+            out.println("[" + i + "] " + s.getName() +
                     " (Damage " + s.getDamage() +
                     ", MP cost " + s.getManaCost() + ")");
         }
-        System.out.println("[X] Cancel");
-        System.out.print("> ");
-
-        String input = scanner.nextLine().trim().toUpperCase();
-        if ("X".equals(input)) return;
+        out.println("[X] Cancel");
+        out.print("> ");
 
-        int spellIdx;
-        try {
-            spellIdx = Integer.parseInt(input);
-        } catch (NumberFormatException e) {
-            System.out.println("Invalid choice.");
-            return;
-        }
-        if (spellIdx < 0 || spellIdx >= spells.size()) {
-            System.out.println("Invalid index.");
-            return;
-        }
+        int spellIdx = readIndexOrCancel(spells.size());
+        if (spellIdx < 0) return null;
 
         Spell spell = spells.get(spellIdx);
-        if (!h.spendMp(spell.getManaCost())) {
-            System.out.println("Not enough MP to cast " + spell.getName() + ".");
-            return;
+        if (h.getMp() < spell.getManaCost()) {
+            // let the engine report the failed cast
+            return new CastSpellCommand(engine, h, spell, null);
         }
 
-        List<Monster> alive = getAliveMonsters();
-        if (alive.isEmpty()) return;
+        Monster target = chooseTarget(engine, "Choose a target:");
+        if (target == null) return null;
+        return new CastSpellCommand(engine, h, spell, target);
+    }
+
+    private Monster chooseTarget(BattleEngine engine, String header) {
+        List<Monster> alive = engine.getAliveMonsters();
+        if (alive.isEmpty()) return null;
 
-        System.out.println("Choose a target:");
+        out.println(header);
         for (int i = 0; i < alive.size(); i++) {
             Monster m = alive.get(i);
-            System.out.println("[" + i + "] " + m.getName() +
+            out.println("[" + i + "] " + m.getName() +
                     " (HP " + m.getHp() + "/" + m.getStats().getMaxHp() + ")");
         }
-        int targetIdx = promptIntBetween("> ", 0, alive.size() - 1);
-        Monster target = alive.get(targetIdx);
+        int idx = promptIntBetween("> ", 0, alive.size() - 1);
+        return alive.get(idx);
+    }
 
-        // Dodge check
-        if (rng.nextDouble() < target.getDodgeChance()) {
-            System.out.println(target.getName() + " resists the spell!");
-            return;
-        }
+    // ---------- BattleListener: console output ----------
 
-        int raw = spell.getDamage() + h.getStats().getDexterity();
-        int dmg = Math.max(0, raw - target.getDefense() / 2); // magic ignores half defense
-        if (dmg <= 0) {
-            System.out.println("The spell fizzles against " + target.getName() + ".");
-            return;
-        }
+    @Override
+    public void roundStarted(BattleEngine engine) {
+        printStatus();
+    }
+
+    @Override
+    public void heroAttackDodged(Hero hero, Monster target) {
+        out.println(target.getName() + " dodged the attack!");
+    }
+
+    @Override
+    public void heroAttackBlocked(Hero hero, Monster target) {
+        out.println(hero.getName() + "'s attack couldn't pierce " +
+                target.getName() + "'s defenses.");
+    }
 
-        target.takeDamage(dmg);
-        System.out.println(h.getName() + " casts " + spell.getName() +
-                " on " + target.getName() + " for " + dmg + " damage.");
+    @Override
+    public void heroAttackHit(Hero hero, Monster target, int damage) {
+        out.println(hero.getName() + " hits " + target.getName() +
+                " for " + damage + " damage.");
 
         if (!target.isAlive()) {
-            System.out.println(target.getName() + " is annihilated!");
+            out.println(target.getName() + " is defeated!");
         }
     }
 
-    // ---------- Rewards ----------
+    @Override
+    public void spellNotEnoughMp(Hero hero, Spell spell) {
+        out.println("Not enough MP to cast " + spell.getName() + ".");
+    }
 
-    private void awardRewards() {
-        int totalGold = 0;
-        int totalXp = 0;
+    @Override
+    public void spellResisted(Hero hero, Spell spell, Monster target) {
+        out.println(target.getName() + " resists the spell!");
+    }
 
-        for (int i = 0; i < monsters.size(); i++) {
-            Monster m = monsters.get(i);
-            // Simple reward formulas; tweak as desired
-            totalGold += m.getLevel() * 20;
-            totalXp   += m.getLevel() * 10;
-        }
+    @Override
+    public void spellFizzled(Hero hero, Spell spell, Monster target) {
+        out.println("The spell fizzles against " + target.getName() + ".");
+    }
+
+    @Override
+    public void spellHit(Hero hero, Spell spell, Monster target, int damage) {
+        out.println(hero.getName() + " casts " + spell.getName() +
+                " on " + target.getName() + " for " + damage + " damage.");
 
-        List<Hero> alive = getAliveHeroes();
-        if (alive.isEmpty()) {
-            // nobody to receive it, but this shouldn't happen if we call only on victory
-            return;
+        if (!target.isAlive()) {
+            out.println(target.getName() + " is annihilated!");
         }
+    }
 
-        int goldEach = totalGold / alive.size();
-        int xpEach   = totalXp   / alive.size();
+    @Override
+    public void potionUsed(Hero hero, Potion potion) {
+        out.println(hero.getName() + " uses " + potion.getName() +
+                "! (+" + potion.getAmount() + " " + potion.getStat() + ")");
+    }
 
-        System.out.println();
-        System.out.println("Battle rewards:");
-        System.out.println("  Total Gold: " + totalGold);
-        System.out.println("  Total XP  : " + totalXp);
-        System.out.println("  (" + goldEach + " gold and " + xpEach +
-                " XP to each surviving hero)");
+    @Override
+    public void heroSkipped(Hero hero) {
+        out.println(hero.getName() + " hesitates and does nothing.");
+    }
 
-        for (int i = 0; i < alive.size(); i++) {
-            Hero h = alive.get(i);
-            h.addGold(goldEach);
-            h.addExperience(xpEach);
+    @Override
+    public void monstersTurnStarted() {
+        out.println();
+        out.println("Monsters strike back!");
+    }
+
+    @Override
+    public void monsterAttacks(Monster monster, Hero target) {
+        out.println(monster.getName() + " attacks " + target.getName() + ".");
+    }
+
+    @Override
+    public void monsterAttackDodged(Monster monster, Hero target) {
+        out.println(target.getName() + " dodges the blow!");
+    }
+
+    @Override
+    public void monsterAttackBlocked(Monster monster, Hero target) {
+        out.println(target.getName() + "'s armor absorbs the hit.");
+    }
+
+    @Override
+    public void monsterAttackHit(Monster monster, Hero target, int damage) {
+        out.println(target.getName() + " takes " + damage + " damage.");
+
+        if (!target.isAlive()) {
+            out.println(target.getName() + " has fallen!");
+        }
+    }
+
+    @Override
+    public void battleEnded(boolean heroesWon) {
+        if (heroesWon) {
+            out.println("The monsters are defeated!");
+        } else {
+            out.println("Your party has fallen...");
         }
     }
 
+    @Override
+    public void rewardsAwarded(int totalGold, int totalXp, int goldEach, int xpEach) {
+        out.println();
+        out.println("Battle rewards:");
+        out.println("  Total Gold: " + totalGold);
+        out.println("  Total XP  : " + totalXp);
+        out.println("  (" + goldEach + " gold and " + xpEach +
+                " XP to each surviving hero)");
+    }
+
     // ---------- Helpers ----------
 
     private void printStatus() {
-        System.out.println();
-        System.out.println("============== BATTLE STATUS ==============");
-        System.out.println("-- Party -----------------------------------");
+        out.println();
+        out.println("============== BATTLE STATUS ==============");
+        out.println("-- Party -----------------------------------");
         for (int i = 0; i < party.size(); i++) {
             Hero h = party.get(i);
-            System.out.printf("  %-14s HP %3d/%-3d  MP %3d/%-3d%n",
+            out.printf("  %-14s HP %3d/%-3d  MP %3d/%-3d%n",
                     h.getName(),
                     h.getHp(),  h.getStats().getMaxHp(),
                     h.getMp(),  h.getStats().getMaxMp());
         }
 
-        System.out.println("-- Monsters --------------------------------");
+        out.println("-- Monsters --------------------------------");
         for (int i = 0; i < monsters.size(); i++) {
             Monster m = monsters.get(i);
-            System.out.printf("  %-20s HP %3d/%-3d%n",
+            out.printf("  %-20s HP %3d/%-3d%n",
                     m.getName(),
                     m.getHp(), m.getStats().getMaxHp());
         }
-        System.out.println("============================================");
+        out.println("============================================");
     }
 
-    private boolean partyAlive() {
-        for (int i = 0; i < party.size(); i++) {
-            if (party.get(i).isAlive()) return true;
-        }
-        return false;
-    }
-
-    private boolean monstersAlive() {
-        for (int i = 0; i < monsters.size(); i++) {
-            if (monsters.get(i).isAlive()) return true;
-        }
-        return false;
-    }
+    /** Reads an index in [0, size) or X; returns -1 on cancel or bad input. */
+    private int readIndexOrCancel(int size) {
+        String input = scanner.nextLine().trim().toUpperCase();
+        if ("X".equals(input)) return -1;
 
-    private List<Hero> getAliveHeroes() {
-        List<Hero> alive = new ArrayList<Hero>();
-        for (int i = 0; i < party.size(); i++) {
-            Hero h = party.get(i);
-            if (h.isAlive()) {
-                alive.add(h);
-            }
+        int idx;
+        try {
+            idx = Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            out.println("Invalid choice.");
+            return -1;
         }
-        return alive;
-    }
-
-    private List<Monster> getAliveMonsters() {
-        List<Monster> alive = new ArrayList<Monster>();
-        for (int i = 0; i < monsters.size(); i++) {
-            Monster m = monsters.get(i);
-            if (m.isAlive()) {
-                alive.add(m);
-            }
+        if (idx < 0 || idx >= size) {
+            out.println("Invalid index.");
+            return -1;
         }
-        return alive;
+        return idx;
     }
 
     private int promptIntBetween(String prompt, int min, int max) {
         while (true) {
-            System.out.print(prompt);
+            out.print(prompt);
             String line = scanner.nextLine().trim();
             try {
                 int value = Integer.parseInt(line);
                 if (value < min || value > max) {
-                    System.out.println("Please enter a number between " + min + " and " + max + ".");
+                    out.println("Please enter a number between " + min + " and " + max + ".");
                 } else {
                     return value;
                 }
             } catch (NumberFormatException e) {
-                System.out.println("Please enter a valid integer.");
+                out.println("Please enter a valid integer.");
             }
         }
     }
-}
\ No newline at end of file
+}
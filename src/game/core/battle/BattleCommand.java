@@ -1,8 +1,11 @@
 package game.core.battle;
 
 /**
- * Hook for Command pattern – you can later create concrete commands for
- * Attack, CastSpell, Guard, etc. For now it's just a marker.
+ * Command pattern hook for a single hero action in battle.
+ *
+ * A BattlePolicy hands the BattleEngine one of these per hero turn
+ * (AttackCommand, CastSpellCommand, UsePotionCommand, SkipCommand);
+ * executing it resolves the action against the engine's rules.
  */
 public interface BattleCommand {
     void execute();
@@ -0,0 +1,330 @@
+package game.core.battle;
+
+import game.core.model.Hero;
+import game.core.model.Monster;
+import game.core.items.Potion;
+import game.core.items.Spell;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Headless combat rules for the core engine.
+ *
+ * Resolves damage, dodge, spells, potions and rewards without touching the
+ * console. Hero decisions come from a BattlePolicy (as BattleCommands) and
+ * every event is reported to a BattleListener, so the same rules drive the
+ * interactive Battle and bulk simulations.
+ */
+public class BattleEngine {
+
+    /** Rounds before a stalemate (nobody can hurt anybody) is called a loss. */
+    public static final int DEFAULT_MAX_ROUNDS = MassBattle.DEFAULT_MAX_ROUNDS;
+
+    private final List<Hero> party;
+    private final List<Monster> monsters;
+    private final BattlePolicy policy;
+    private final BattleListener listener;
+    private final SplittableRandom rng;
+
+    // who is still standing, by index into party / monsters
+    private final AliveSet aliveHeroes;
+    private final AliveSet aliveMonsters;
+
+    // reused every round so the hero phase does not allocate
+    private final List<Hero> pending;
+
+    private boolean payRewards = true;
+    private int maxRounds = DEFAULT_MAX_ROUNDS;
+
+    private int round = 0;
+    private int goldAwarded = 0;
+    private int xpAwarded = 0;
+
+    public BattleEngine(List<Hero> heroes,
+                        List<? extends Monster> monsters,
+                        BattlePolicy policy,
+                        BattleListener listener,
+                        SplittableRandom rng) {
+
+        this.party = new ArrayList<Hero>(heroes);
+        this.monsters = new ArrayList<Monster>(monsters);
+        this.policy = policy;
+        this.listener = listener != null ? listener : BattleListener.NONE;
+        this.rng = rng;
+
+        this.aliveHeroes = new AliveSet(party.size());
+        for (int i = 0; i < party.size(); i++) {
+            if (party.get(i).isAlive()) aliveHeroes.add(i);
+        }
+        this.aliveMonsters = new AliveSet(this.monsters.size());
+        for (int i = 0; i < this.monsters.size(); i++) {
+            if (this.monsters.get(i).isAlive()) aliveMonsters.add(i);
+        }
+        this.pending = new ArrayList<Hero>(party.size());
+    }
+
+    /**
+     * When false, rewards are still computed and reported in the outcome but
+     * not handed to the heroes (simulations that discard the party afterwards).
+     */
+    public void setPayRewards(boolean payRewards) {
+        this.payRewards = payRewards;
+    }
+
+    public void setMaxRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Runs the battle until one side is down or maxRounds have been fought
+     * (a stalemate, which the heroes lose).
+     *
+     * @return the outcome; rewards are already paid out if the heroes won
+     *         (unless disabled with setPayRewards).
+     */
+    public BattleOutcome run() {
+        while (partyAlive() && monstersAlive() && round < maxRounds) {
+            round++;
+            listener.roundStarted(this);
+            heroesTurn();        // heroes act in policy-chosen order
+            if (!monstersAlive()) {
+                break;
+            }
+            monstersTurn();      // then monsters act
+        }
+
+        boolean won = partyAlive() && !monstersAlive();
+        listener.battleEnded(won);
+        if (won) {
+            awardRewards();
+        }
+        return buildOutcome(won, partyAlive() && monstersAlive());
+    }
+
+    // ---------- Turn phases ----------
+
+    private void heroesTurn() {
+        pending.clear();
+        for (int i = aliveHeroes.nextSet(0); i >= 0; i = aliveHeroes.nextSet(i + 1)) {
+            pending.add(party.get(i));
+        }
+
+        while (!pending.isEmpty() && monstersAlive()) {
+            int idx = policy.chooseActingHero(this, pending);
+            if (idx < 0 || idx >= pending.size()) idx = 0;
+            Hero acting = pending.get(idx);
+
+            BattleCommand cmd = policy.chooseCommand(this, acting);
+            if (cmd != null) {
+                cmd.execute();
+            }
+
+            // after one action, that hero is done for this round
+            pending.remove(idx);
+        }
+    }
+
+    private void monstersTurn() {
+        listener.monstersTurnStarted();
+
+        for (int i = aliveMonsters.nextSet(0); i >= 0; i = aliveMonsters.nextSet(i + 1)) {
+            Monster m = monsters.get(i);
+            if (aliveHeroes.isEmpty()) return;
+            if (!m.isAlive()) continue;
+
+            int t = aliveHeroes.random(rng);
+            Hero target = party.get(t);
+            listener.monsterAttacks(m, target);
+
+            // Hero dodge check
+            if (rng.nextDouble() < target.getDodgeChance()) {
+                listener.monsterAttackDodged(m, target);
+                continue;
+            }
+
+            int raw = m.getAttackDamage();
+            int dmg = Math.max(0, raw - target.getDefense());
+            if (dmg <= 0) {
+                listener.monsterAttackBlocked(m, target);
+                continue;
+            }
+
+            target.takeDamage(dmg);
+            if (!target.isAlive()) aliveHeroes.remove(t);
+            listener.monsterAttackHit(m, target, dmg);
+        }
+    }
+
+    // ---------- Hero actions (called by BattleCommands) ----------
+
+    public void heroAttack(Hero h, Monster target) {
+        if (target == null || !target.isAlive()) return;
+
+        // Dodge check
+        if (rng.nextDouble() < target.getDodgeChance()) {
+            listener.heroAttackDodged(h, target);
+            return;
+        }
+
+        int raw = h.getAttackDamage(); // uses dual-wield logic from Hero
+        int dmg = Math.max(0, raw - target.getDefense());
+        if (dmg <= 0) {
+            listener.heroAttackBlocked(h, target);
+            return;
+        }
+
+        target.takeDamage(dmg);
+        if (!target.isAlive()) monsterDied(target);
+        listener.heroAttackHit(h, target, dmg);
+    }
+
+    public void castSpell(Hero h, Spell spell, Monster target) {
+        if (spell == null) return;
+
+        if (!h.spendMp(spell.getManaCost())) {
+            listener.spellNotEnoughMp(h, spell);
+            return;
+        }
+
+        if (target == null || !target.isAlive()) return;
+
+        // Dodge check
+        if (rng.nextDouble() < target.getDodgeChance()) {
+            listener.spellResisted(h, spell, target);
+            return;
+        }
+
+        int raw = spell.getDamage() + h.getStats().getDexterity();
+        int dmg = Math.max(0, raw - target.getDefense() / 2); // magic ignores half defense
+        if (dmg <= 0) {
+            listener.spellFizzled(h, spell, target);
+            return;
+        }
+
+        target.takeDamage(dmg);
+        if (!target.isAlive()) monsterDied(target);
+        listener.spellHit(h, spell, target, dmg);
+    }
+
+    public void usePotion(Hero h, Potion potion) {
+        if (potion == null) return;
+
+        potion.apply(h);                // apply to this hero
+        h.getInventory().remove(potion); // consume potion
+        listener.potionUsed(h, potion);
+    }
+
+    public void skip(Hero h) {
+        listener.heroSkipped(h);
+    }
+
+    // the same instance may fill several slots (small encounter pools); clear them all
+    private void monsterDied(Monster m) {
+        for (int i = 0; i < monsters.size(); i++) {
+            if (monsters.get(i) == m) aliveMonsters.remove(i);
+        }
+    }
+
+    // ---------- Rewards ----------
+
+    private void awardRewards() {
+        int totalGold = 0;
+        int totalXp = 0;
+
+        for (int i = 0; i < monsters.size(); i++) {
+            Monster m = monsters.get(i);
+            // Simple reward formulas; tweak as desired
+            totalGold += m.getLevel() * 20;
+            totalXp   += m.getLevel() * 10;
+        }
+
+        if (aliveHeroes.isEmpty()) {
+            // nobody to receive it, but this shouldn't happen if we call only on victory
+            return;
+        }
+
+        int goldEach = totalGold / aliveHeroes.size();
+        int xpEach   = totalXp   / aliveHeroes.size();
+
+        listener.rewardsAwarded(totalGold, totalXp, goldEach, xpEach);
+        goldAwarded = totalGold;
+        xpAwarded = totalXp;
+        if (!payRewards) return;
+
+        for (int i = aliveHeroes.nextSet(0); i >= 0; i = aliveHeroes.nextSet(i + 1)) {
+            Hero h = party.get(i);
+            h.addGold(goldEach);
+            h.addExperience(xpEach);
+        }
+    }
+
+    private BattleOutcome buildOutcome(boolean won, boolean stalemate) {
+        int hp = 0;
+        int maxHp = 0;
+        for (int i = 0; i < party.size(); i++) {
+            Hero h = party.get(i);
+            hp += h.getHp();
+            maxHp += h.getStats().getMaxHp();
+        }
+
+        int defeated = monsters.size() - aliveMonsters.size();
+
+        return new BattleOutcome(won, round, defeated, hp, maxHp, goldAwarded, xpAwarded, stalemate);
+    }
+
+    // ---------- Queries (for policies and listeners) ----------
+
+    public List<Hero> getParty() {
+        return party;
+    }
+
+    public List<Monster> getMonsters() {
+        return monsters;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public boolean partyAlive() {
+        return !aliveHeroes.isEmpty();
+    }
+
+    public boolean monstersAlive() {
+        return !aliveMonsters.isEmpty();
+    }
+
+    public int getAliveHeroCount() {
+        return aliveHeroes.size();
+    }
+
+    public int getAliveMonsterCount() {
+        return aliveMonsters.size();
+    }
+
+    /** k-th living monster in list order (0 <= k < getAliveMonsterCount()), or null. */
+    public Monster getAliveMonster(int k) {
+        int i = aliveMonsters.nth(k);
+        return i < 0 ? null : monsters.get(i);
+    }
+
+    /** Snapshot of the living heroes in party order. Allocates; meant for menus. */
+    public List<Hero> getAliveHeroes() {
+        List<Hero> alive = new ArrayList<Hero>(aliveHeroes.size());
+        for (int i = aliveHeroes.nextSet(0); i >= 0; i = aliveHeroes.nextSet(i + 1)) {
+            alive.add(party.get(i));
+        }
+        return alive;
+    }
+
+    /** Snapshot of the living monsters in list order. Allocates; meant for menus. */
+    public List<Monster> getAliveMonsters() {
+        List<Monster> alive = new ArrayList<Monster>(aliveMonsters.size());
+        for (int i = aliveMonsters.nextSet(0); i >= 0; i = aliveMonsters.nextSet(i + 1)) {
+            alive.add(monsters.get(i));
+        }
+        return alive;
+    }
+}
@@ -0,0 +1,47 @@
+package game.core.battle;
+
+import game.core.items.Potion;
+import game.core.items.Spell;
+import game.core.model.Hero;
+import game.core.model.Monster;
+
+/**
+ * Observer for everything that happens inside a BattleEngine.
+ *
+ * The engine never prints; the interactive Battle turns these callbacks
+ * into console text, while headless runs simply leave them as no-ops.
+ */
+public interface BattleListener {
+
+    /** Shared listener that ignores every event. */
+    BattleListener NONE = new BattleListener() { };
+
+    default void roundStarted(BattleEngine engine) { }
+
+    // ---------- Hero actions ----------
+
+    default void heroAttackDodged(Hero hero, Monster target) { }
+    default void heroAttackBlocked(Hero hero, Monster target) { }
+    default void heroAttackHit(Hero hero, Monster target, int damage) { }
+
+    default void spellNotEnoughMp(Hero hero, Spell spell) { }
+    default void spellResisted(Hero hero, Spell spell, Monster target) { }
+    default void spellFizzled(Hero hero, Spell spell, Monster target) { }
+    default void spellHit(Hero hero, Spell spell, Monster target, int damage) { }
+
+    default void potionUsed(Hero hero, Potion potion) { }
+    default void heroSkipped(Hero hero) { }
+
+    // ---------- Monster actions ----------
+
+    default void monstersTurnStarted() { }
+    default void monsterAttacks(Monster monster, Hero target) { }
+    default void monsterAttackDodged(Monster monster, Hero target) { }
+    default void monsterAttackBlocked(Monster monster, Hero target) { }
+    default void monsterAttackHit(Monster monster, Hero target, int damage) { }
+
+    // ---------- End of battle ----------
+
+    default void battleEnded(boolean heroesWon) { }
+    default void rewardsAwarded(int totalGold, int totalXp, int goldEach, int xpEach) { }
+}
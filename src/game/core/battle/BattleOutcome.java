@@ -0,0 +1,73 @@
+package game.core.battle;
+
+/**
+ * Compact, immutable summary of one finished battle.
+ *
+ * A battle cut off at its round limit with both sides still standing is a
+ * stalemate: it counts as a loss for the heroes (heroesWon is false) and is
+ * flagged by isStalemate.
+ */
+public final class BattleOutcome {
+
+    private final boolean heroesWon;
+    private final int rounds;
+    private final int monstersDefeated;
+    private final int partyHpRemaining;
+    private final int partyMaxHp;
+    private final int goldAwarded;
+    private final int xpAwarded;
+    private final boolean stalemate;
+
+    public BattleOutcome(boolean heroesWon,
+                         int rounds,
+                         int monstersDefeated,
+                         int partyHpRemaining,
+                         int partyMaxHp,
+                         int goldAwarded,
+                         int xpAwarded) {
+        this(heroesWon, rounds, monstersDefeated, partyHpRemaining, partyMaxHp, goldAwarded, xpAwarded, false);
+    }
+
+    public BattleOutcome(boolean heroesWon,
+                         int rounds,
+                         int monstersDefeated,
+                         int partyHpRemaining,
+                         int partyMaxHp,
+                         int goldAwarded,
+                         int xpAwarded,
+                         boolean stalemate) {
+        this.heroesWon = heroesWon;
+        this.rounds = rounds;
+        this.monstersDefeated = monstersDefeated;
+        this.partyHpRemaining = partyHpRemaining;
+        this.partyMaxHp = partyMaxHp;
+        this.goldAwarded = goldAwarded;
+        this.xpAwarded = xpAwarded;
+        this.stalemate = stalemate;
+    }
+
+    public boolean heroesWon() { return heroesWon; }
+    public int getRounds() { return rounds; }
+    public int getMonstersDefeated() { return monstersDefeated; }
+    public int getPartyHpRemaining() { return partyHpRemaining; }
+    public int getPartyMaxHp() { return partyMaxHp; }
+    public int getGoldAwarded() { return goldAwarded; }
+    public int getXpAwarded() { return xpAwarded; }
+    public boolean isStalemate() { return stalemate; }
+
+    /** Party HP left at the end, as a fraction (0.0–1.0) of the party's max HP. */
+    public double getHpRemainingFraction() {
+        if (partyMaxHp <= 0) return 0.0;
+        return (double) partyHpRemaining / partyMaxHp;
+    }
+
+    @Override
+    public String toString() {
+        return (heroesWon ? "WIN" : stalemate ? "STALEMATE" : "LOSS") +
+               " rounds=" + rounds +
+               " defeated=" + monstersDefeated +
+               " hp=" + partyHpRemaining + "/" + partyMaxHp +
+               " gold=" + goldAwarded +
+               " xp=" + xpAwarded;
+    }
+}
@@ -0,0 +1,28 @@
+package game.core.battle;
+
+import game.core.model.Hero;
+
+import java.util.List;
+
+/**
+ * Decision source for the hero side of a BattleEngine.
+ *
+ * The interactive Battle implements this by prompting the player;
+ * headless runs plug in an automatic policy such as AutoBattlePolicy.
+ */
+public interface BattlePolicy {
+
+    /**
+     * Picks which of the heroes that have not acted yet this round goes next.
+     *
+     * @return an index into {@code pending}
+     */
+    int chooseActingHero(BattleEngine engine, List<Hero> pending);
+
+    /**
+     * Decides the action for one hero turn.
+     *
+     * @return the command to execute, or null to pass the turn silently
+     */
+    BattleCommand chooseCommand(BattleEngine engine, Hero hero);
+}
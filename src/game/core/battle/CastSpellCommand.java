@@ -0,0 +1,26 @@
+package game.core.battle;
+
+import game.core.items.Spell;
+import game.core.model.Hero;
+import game.core.model.Monster;
+
+/** Hero spends MP to cast a spell on one monster. */
+public class CastSpellCommand implements BattleCommand {
+
+    private final BattleEngine engine;
+    private final Hero hero;
+    private final Spell spell;
+    private final Monster target;
+
+    public CastSpellCommand(BattleEngine engine, Hero hero, Spell spell, Monster target) {
+        this.engine = engine;
+        this.hero = hero;
+        this.spell = spell;
+        this.target = target;
+    }
+
+    @Override
+    public void execute() {
+        engine.castSpell(hero, spell, target);
+    }
+}
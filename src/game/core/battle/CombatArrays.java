@@ -0,0 +1,53 @@
+package game.core.battle;
+
+import game.core.model.Character;
+
+import java.util.List;
+
+/**
+ * One side of a mass battle stored as parallel primitive arrays.
+ *
+ * Attack, defense and dodge are snapshotted from the Character façade when the
+ * battle starts (gear cannot change mid-fight), and HP lives here until
+ * writeBack() copies it onto the original objects.
+ */
+final class CombatArrays {
+
+    final Character[] units;
+    final int[] hp;
+    final int[] attack;
+    final int[] defense;
+    final double[] dodge;
+    final AliveSet alive;
+
+    CombatArrays(List<? extends Character> side) {
+        int n = side.size();
+        this.units = new Character[n];
+        this.hp = new int[n];
+        this.attack = new int[n];
+        this.defense = new int[n];
+        this.dodge = new double[n];
+        this.alive = new AliveSet(n);
+
+        for (int i = 0; i < n; i++) {
+            Character c = side.get(i);
+            units[i] = c;
+            hp[i] = c.getHp();
+            attack[i] = c.getAttackDamage();
+            defense[i] = c.getDefense();
+            dodge[i] = c.getDodgeChance();
+            if (hp[i] > 0) alive.add(i);
+        }
+    }
+
+    int size() {
+        return units.length;
+    }
+
+    /** Pushes the array HP back onto the Character objects. */
+    void writeBack() {
+        for (int i = 0; i < units.length; i++) {
+            units[i].setHp(hp[i]);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package game.core.battle;
+
+import game.core.model.Hero;
+import game.core.model.Monster;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Volley-based auto-resolve for battles with hundreds of combatants per side
+ * (e.g. a whole EmotionType zone rising at once).
+ *
+ * Unlike BattleEngine, there are no per-hero decisions: each round every
+ * living hero fires at a random living monster, then every surviving monster
+ * fires back. All attacks in a volley pick targets from the units alive when
+ * the volley starts and land together, so overkill on a shared target is
+ * possible. Only weapon/base attacks are used; spells and potions need
+ * the interactive Battle.
+ *
+ * Combat state is kept in CombatArrays; the Hero/Monster objects are only
+ * read at the start and get their final HP written back at the end.
+ */
+public class MassBattle {
+
+    /** Rounds before a stalemate (nobody can hurt anybody) is called a loss. */
+    public static final int DEFAULT_MAX_ROUNDS = 1000;
+
+    private final CombatArrays heroes;
+    private final CombatArrays monsters;
+    private final SplittableRandom rng;
+
+    private int maxRounds = DEFAULT_MAX_ROUNDS;
+    private boolean payRewards = true;
+
+    // per-volley scratch, sized for the larger side and reused every volley
+    private final int[] volleyTarget;
+    private final int[] volleyAttack;
+    private final int[] volleyDefense;
+    private final int[] volleyHitMask;
+    private final int[] volleyDamage;
+
+    public MassBattle(List<? extends Hero> heroes,
+                      List<? extends Monster> monsters,
+                      SplittableRandom rng) {
+        this.heroes = new CombatArrays(heroes);
+        this.monsters = new CombatArrays(monsters);
+        this.rng = rng;
+
+        int n = Math.max(heroes.size(), monsters.size());
+        this.volleyTarget = new int[n];
+        this.volleyAttack = new int[n];
+        this.volleyDefense = new int[n];
+        this.volleyHitMask = new int[n];
+        this.volleyDamage = new int[n];
+    }
+
+    public void setMaxRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+    }
+
+    /** Same meaning as BattleEngine.setPayRewards. */
+    public void setPayRewards(boolean payRewards) {
+        this.payRewards = payRewards;
+    }
+
+    /**
+     * Resolves the battle and writes final HP back onto every Hero and Monster.
+     */
+    public BattleOutcome run() {
+        int round = 0;
+        while (!heroes.alive.isEmpty() && !monsters.alive.isEmpty() && round < maxRounds) {
+            round++;
+            volley(heroes, monsters);
+            if (monsters.alive.isEmpty()) break;
+            volley(monsters, heroes);
+        }
+
+        heroes.writeBack();
+        monsters.writeBack();
+
+        boolean won = !heroes.alive.isEmpty() && monsters.alive.isEmpty();
+        boolean stalemate = !heroes.alive.isEmpty() && !monsters.alive.isEmpty();
+        return buildOutcome(won, stalemate, round);
+    }
+
+    // ---------- Volley resolution ----------
+
+    private void volley(CombatArrays from, CombatArrays to) {
+        // 1) targets and dodge rolls (scalar: needs the RNG)
+        int n = 0;
+        for (int i = from.alive.nextSet(0); i >= 0; i = from.alive.nextSet(i + 1)) {
+            int t = to.alive.random(rng);
+            volleyTarget[n] = t;
+            volleyAttack[n] = from.attack[i];
+            volleyDefense[n] = to.defense[t];
+            volleyHitMask[n] = rng.nextDouble() < to.dodge[t] ? 0 : -1;
+            n++;
+        }
+
+        // 2) damage for the whole volley in one pass
+        resolveDamage(volleyAttack, volleyDefense, volleyHitMask, volleyDamage, n);
+
+        // 3) apply; several attackers may share a target
+        for (int j = 0; j < n; j++) {
+            to.hp[volleyTarget[j]] -= volleyDamage[j];
+        }
+        for (int j = 0; j < n; j++) {
+            int t = volleyTarget[j];
+            if (to.hp[t] <= 0) {
+                to.hp[t] = 0;
+                to.alive.remove(t);
+            }
+        }
+    }
+
+    /**
+     * out[j] = hitMask[j] & max(0, attack[j] - defense[j]) for j in [0, n).
+     *
+     * Straight-line int arithmetic over parallel arrays, so HotSpot's
+     * superword pass compiles it to SIMD on x86/AArch64 without needing the
+     * incubator Vector API (and its --add-modules flag) at build time.
+     */
+    static void resolveDamage(int[] attack, int[] defense, int[] hitMask, int[] out, int n) {
+        for (int j = 0; j < n; j++) {
+            out[j] = Math.max(0, attack[j] - defense[j]) & hitMask[j];
+        }
+    }
+
+    // ---------- Outcome ----------
+
+    private BattleOutcome buildOutcome(boolean won, boolean stalemate, int rounds) {
+        int hp = 0;
+        int maxHp = 0;
+        for (int i = 0; i < heroes.size(); i++) {
+            hp += heroes.hp[i];
+            maxHp += heroes.units[i].getStats().getMaxHp();
+        }
+
+        int gold = 0;
+        int xp = 0;
+        if (won) {
+            for (int i = 0; i < monsters.size(); i++) {
+                gold += monsters.units[i].getLevel() * 20;
+                xp   += monsters.units[i].getLevel() * 10;
+            }
+            if (payRewards) payRewards(gold, xp);
+        }
+
+        int defeated = monsters.size() - monsters.alive.size();
+        return new BattleOutcome(won, rounds, defeated, hp, maxHp, gold, xp, stalemate);
+    }
+
+    private void payRewards(int totalGold, int totalXp) {
+        int survivors = heroes.alive.size();
+        int goldEach = totalGold / survivors;
+        int xpEach   = totalXp   / survivors;
+        for (int i = heroes.alive.nextSet(0); i >= 0; i = heroes.alive.nextSet(i + 1)) {
+            Hero h = (Hero) heroes.units[i];
+            h.addGold(goldEach);
+            h.addExperience(xpEach);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package game.core.battle;
+
+import game.core.model.Hero;
+
+/** Hero passes the turn without acting. */
+public class SkipCommand implements BattleCommand {
+
+    private final BattleEngine engine;
+    private final Hero hero;
+
+    public SkipCommand(BattleEngine engine, Hero hero) {
+        this.engine = engine;
+        this.hero = hero;
+    }
+
+    @Override
+    public void execute() {
+        engine.skip(hero);
+    }
+}
@@ -0,0 +1,23 @@
+package game.core.battle;
+
+import game.core.items.Potion;
+import game.core.model.Hero;
+
+/** Hero drinks one potion from their own inventory. */
+public class UsePotionCommand implements BattleCommand {
+
+    private final BattleEngine engine;
+    private final Hero hero;
+    private final Potion potion;
+
+    public UsePotionCommand(BattleEngine engine, Hero hero, Potion potion) {
+        this.engine = engine;
+        this.hero = hero;
+        this.potion = potion;
+    }
+
+    @Override
+    public void execute() {
+        engine.usePotion(hero, potion);
+    }
+}
@@ -0,0 +1,62 @@
+package game.core.io;
+
+import java.io.PrintStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * BatchedOutput whose batches are written by a background daemon thread, so
+ * flush() only hands a string over and the game thread never blocks on the
+ * terminal. Batches are written in order; close() waits for the backlog.
+ */
+public class AsyncOutput extends BatchedOutput {
+
+    private static final String STOP = new String("<stop>");
+
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<String>();
+    private final Thread writer;
+
+    public AsyncOutput(PrintStream stream) {
+        super(stream);
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drainLoop();
+            }
+        }, "game-output");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    protected void emit(String batch) {
+        queue.add(batch);
+    }
+
+    /** Flushes, then waits until the writer thread has written everything. */
+    public void close() {
+        flush();
+        queue.add(STOP);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        PrintStream stream = getStream();
+        try {
+            while (true) {
+                String batch = queue.take();
+                if (batch == STOP) return;
+                stream.print(batch);
+                if (queue.isEmpty()) stream.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stream.flush();
+        }
+    }
+}
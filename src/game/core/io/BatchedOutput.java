@@ -0,0 +1,71 @@
+package game.core.io;
+
+import java.io.PrintStream;
+import java.util.Formatter;
+
+/**
+ * Collects text in memory and writes it to the stream in one call on flush().
+ *
+ * Games flush at phase boundaries and FlushingInputStream flushes before every
+ * read, so a whole phase (board, log, menu) reaches the terminal as a single
+ * write. The buffer is also flushed if it grows past a limit.
+ */
+public class BatchedOutput implements GameOutput {
+
+    private static final int FLUSH_LIMIT = 64 * 1024;
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final PrintStream stream;
+    private final StringBuilder buffer = new StringBuilder(8 * 1024);
+    private final Formatter formatter = new Formatter(buffer);
+
+    public BatchedOutput(PrintStream stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public void print(Object o) {
+        buffer.append(o);
+        flushIfFull();
+    }
+
+    @Override
+    public void println(Object o) {
+        buffer.append(o).append(NEWLINE);
+        flushIfFull();
+    }
+
+    @Override
+    public void println() {
+        buffer.append(NEWLINE);
+        flushIfFull();
+    }
+
+    @Override
+    public void printf(String format, Object... args) {
+        formatter.format(format, args);
+        flushIfFull();
+    }
+
+    @Override
+    public void flush() {
+        if (buffer.length() > 0) {
+            emit(buffer.toString());
+            buffer.setLength(0);
+        }
+    }
+
+    /** Delivers one batch; runs on the calling thread. */
+    protected void emit(String batch) {
+        stream.print(batch);
+        stream.flush();
+    }
+
+    protected PrintStream getStream() {
+        return stream;
+    }
+
+    private void flushIfFull() {
+        if (buffer.length() >= FLUSH_LIMIT) flush();
+    }
+}
@@ -0,0 +1,30 @@
+package game.core.io;
+
+/** Drops all text; isEnabled() is false so callers can skip formatting too. */
+public final class DiscardOutput implements GameOutput {
+
+    @Override
+    public void print(Object o) {
+    }
+
+    @Override
+    public void println(Object o) {
+    }
+
+    @Override
+    public void println() {
+    }
+
+    @Override
+    public void printf(String format, Object... args) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+}
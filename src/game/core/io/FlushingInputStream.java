@@ -0,0 +1,36 @@
+package game.core.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that flushes the current GameOutput before every read, so a
+ * buffered sink has always shown its prompt by the time the game waits for
+ * the player.
+ */
+public class FlushingInputStream extends FilterInputStream {
+
+    private static final FlushingInputStream STDIN = new FlushingInputStream(System.in);
+
+    public FlushingInputStream(InputStream in) {
+        super(in);
+    }
+
+    /** Shared wrapper around System.in for console Scanners. */
+    public static FlushingInputStream stdin() {
+        return STDIN;
+    }
+
+    @Override
+    public int read() throws IOException {
+        GameOutputs.current().flush();
+        return super.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        GameOutputs.current().flush();
+        return super.read(b, off, len);
+    }
+}
@@ -0,0 +1,30 @@
+package game.core.io;
+
+/**
+ * Destination for all player-facing game text.
+ *
+ * Systems write here instead of System.out so the text can be batched per
+ * phase, written from a background thread, or dropped entirely in headless
+ * runs. Implementations are used from the game thread only.
+ */
+public interface GameOutput {
+
+    void print(Object o);
+
+    void println(Object o);
+
+    void println();
+
+    void printf(String format, Object... args);
+
+    /** Hands everything written so far to the underlying stream. */
+    void flush();
+
+    /**
+     * False for sinks that drop everything; callers on hot paths check this
+     * before building a message.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+}
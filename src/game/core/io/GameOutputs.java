@@ -0,0 +1,49 @@
+package game.core.io;
+
+/**
+ * Holds the GameOutput that game code writes to.
+ *
+ * Defaults to writing straight to System.out. Entry points choose a sink once
+ * at startup (see forName); systems pick up current() when they are built,
+ * model classes look it up when they print.
+ */
+public final class GameOutputs {
+
+    /** -Dsoulrealms.output=direct|batched|async|discard */
+    public static final String OUTPUT_PROPERTY = "soulrealms.output";
+
+    public static final GameOutput DISCARD = new DiscardOutput();
+
+    private static volatile GameOutput current = new PrintStreamOutput(System.out);
+
+    private GameOutputs() {
+    }
+
+    public static GameOutput current() {
+        return current;
+    }
+
+    public static void setCurrent(GameOutput out) {
+        current = out != null ? out : DISCARD;
+    }
+
+    /** Builds a stdout sink by name; "direct" and unknown names write through. */
+    public static GameOutput forName(String name) {
+        String n = name != null ? name.trim().toLowerCase() : "";
+        if ("batched".equals(n)) return new BatchedOutput(System.out);
+        if ("async".equals(n))   return new AsyncOutput(System.out);
+        if ("discard".equals(n)) return DISCARD;
+        return new PrintStreamOutput(System.out);
+    }
+
+    /** Sink named by -Dsoulrealms.output, or defaultName when unset. */
+    public static GameOutput fromSystemProperty(String defaultName) {
+        return forName(System.getProperty(OUTPUT_PROPERTY, defaultName));
+    }
+
+    /** Flushes and, for AsyncOutput, waits for the writer thread to finish. */
+    public static void close(GameOutput out) {
+        if (out instanceof AsyncOutput) ((AsyncOutput) out).close();
+        else out.flush();
+    }
+}
@@ -0,0 +1,38 @@
+package game.core.io;
+
+import java.io.PrintStream;
+
+/** Writes straight through to a PrintStream, one call per line (the old behaviour). */
+public class PrintStreamOutput implements GameOutput {
+
+    private final PrintStream stream;
+
+    public PrintStreamOutput(PrintStream stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public void print(Object o) {
+        stream.print(o);
+    }
+
+    @Override
+    public void println(Object o) {
+        stream.println(o);
+    }
+
+    @Override
+    public void println() {
+        stream.println();
+    }
+
+    @Override
+    public void printf(String format, Object... args) {
+        stream.printf(format, args);
+    }
+
+    @Override
+    public void flush() {
+        stream.flush();
+    }
+}
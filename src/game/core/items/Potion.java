@@ -1,5 +1,6 @@
 package game.core.items;
 
+import game.core.io.GameOutputs;
 import game.core.model.Character;
 import game.core.model.Stats;
 
@@ -37,6 +38,13 @@ public class Potion extends Item {
 
     // Apply potion effect to a character (hero)
     public void applyTo(Character target) {
+        apply(target);
+        GameOutputs.current().printf("%s uses %s! (+%d %s)%n",
+                target.getName(), name, amount, stat);
+    }
+
+    // Same effect as applyTo, without any console output (headless battles)
+    public void apply(Character target) {
         Stats s = target.getStats();
 
         switch (stat) {
@@ -60,9 +68,6 @@ public class Potion extends Item {
                 s.increase(0, 0, 0, 0, amount);
                 break;
         }
-
-        System.out.println(target.getName() + " uses " + name +
-                "! (+" + amount + " " + stat + ")");
     }
 
     @Override
@@ -0,0 +1,115 @@
+package game.core.market;
+
+import game.core.items.Armor;
+import game.core.items.Item;
+import game.core.items.Potion;
+import game.core.items.Spell;
+import game.core.items.Weapon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A market's stock, indexed once: one shelf per item kind, sorted by required
+ * level (items of the same level keep their stock order).
+ *
+ * "Everything of this kind a hero of level L may buy" is then a prefix of
+ * one shelf, found by binary search and returned as a read-only subList view,
+ * so opening a category costs O(log n) however large the catalog is.
+ */
+public final class Catalog {
+
+    private static final Comparator<Item> BY_LEVEL = new Comparator<Item>() {
+        @Override
+        public int compare(Item a, Item b) {
+            return Integer.compare(a.getRequiredLevel(), b.getRequiredLevel());
+        }
+    };
+
+    private final Shelf<Weapon> weapons;
+    private final Shelf<Armor>  armors;
+    private final Shelf<Potion> potions;
+    private final Shelf<Spell>  spells;
+
+    /** @throws IllegalArgumentException for an item that is not a weapon, armor, potion or spell */
+    public Catalog(List<? extends Item> stock) {
+        List<Weapon> w = new ArrayList<Weapon>();
+        List<Armor>  a = new ArrayList<Armor>();
+        List<Potion> p = new ArrayList<Potion>();
+        List<Spell>  s = new ArrayList<Spell>();
+        for (int i = 0; i < stock.size(); i++) {
+            Item it = stock.get(i);
+            if (it instanceof Weapon) {
+                w.add((Weapon) it);
+            } else if (it instanceof Armor) {
+                a.add((Armor) it);
+            } else if (it instanceof Potion) {
+                p.add((Potion) it);
+            } else if (it instanceof Spell) {
+                s.add((Spell) it);
+            } else {
+                throw new IllegalArgumentException("Unsupported item: " + it);
+            }
+        }
+        weapons = new Shelf<Weapon>(w);
+        armors  = new Shelf<Armor>(a);
+        potions = new Shelf<Potion>(p);
+        spells  = new Shelf<Spell>(s);
+    }
+
+    /**
+     * Items of kind with a required level of at most level, lowest level
+     * first. kind is Weapon, Armor, Potion or Spell.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Item> List<T> availableAt(Class<T> kind, int level) {
+        return (List<T>) shelf(kind).upTo(level);
+    }
+
+    /** Every item of kind, lowest level first. */
+    @SuppressWarnings("unchecked")
+    public <T extends Item> List<T> all(Class<T> kind) {
+        return (List<T>) shelf(kind).items;
+    }
+
+    public int size() {
+        return weapons.items.size() + armors.items.size() + potions.items.size() + spells.items.size();
+    }
+
+    private Shelf<?> shelf(Class<?> kind) {
+        if (kind == Weapon.class) return weapons;
+        if (kind == Armor.class)  return armors;
+        if (kind == Potion.class) return potions;
+        if (kind == Spell.class)  return spells;
+        throw new IllegalArgumentException("No shelf for " + kind.getSimpleName());
+    }
+
+    // ---------- One kind ----------
+
+    private static final class Shelf<T extends Item> {
+        final List<T> items;
+        final int[] levels;     // levels[i] = items.get(i).getRequiredLevel(), ascending
+
+        Shelf(List<T> unsorted) {
+            List<T> sorted = new ArrayList<T>(unsorted);
+            Collections.sort(sorted, BY_LEVEL);     // stable
+            items = Collections.unmodifiableList(sorted);
+            levels = new int[sorted.size()];
+            for (int i = 0; i < levels.length; i++) levels[i] = sorted.get(i).getRequiredLevel();
+        }
+
+        List<T> upTo(int level) {
+            // first index whose level is above the hero's
+            int lo = 0;
+            int hi = levels.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (levels[mid] <= level) lo = mid + 1;
+                else hi = mid;
+            }
+            return items.subList(0, lo);
+        }
+    }
+}
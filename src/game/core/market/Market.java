@@ -1,5 +1,7 @@
 package game.core.market;
 
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
 import game.core.items.Armor;
 import game.core.items.Item;
 import game.core.items.Potion;
@@ -8,34 +10,46 @@ import game.core.items.Weapon;
 import game.core.model.Hero;
 import game.core.model.Inventory;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
 public class Market {
 
-    private final List<Item> stock;
+    private final GameOutput out = GameOutputs.current();
 
+    // lines of a category shown at once; [N]/[P] page through the rest
+    private static final int PAGE_SIZE = 10;
+
+    private final Catalog catalog;
+    private final MarketStock stock;
+
+    /** A market that never runs out of anything in stock. */
     public Market(List<Item> stock) {
+        this(new MarketStock(stock, MarketStock.UNLIMITED));
+    }
+
+    /** A market selling from stock, which other markets may share. */
+    public Market(MarketStock stock) {
         this.stock = stock;
+        this.catalog = new Catalog(stock.getItems());
     }
 
     public void open(Hero hero, Scanner scanner) {
     boolean shopping = true;
     while (shopping) {
-        System.out.println("========================================");
-        System.out.println(" Sanctuary Market: Shopping for " + hero.getName());
-        System.out.println(" Level: " + hero.getLevel() + "   Gold: " + hero.getGold());
-        System.out.println(" Inventory: " + hero.getInventory());
-        System.out.println("========================================");
-        System.out.println("1) Buy weapons");
-        System.out.println("2) Buy armor");
-        System.out.println("3) Buy potions");
-        System.out.println("4) Buy spells");
-        System.out.println("5) Equip weapon");
-        System.out.println("6) Equip armor");
-        System.out.println("7) Leave market");
-        System.out.print("> ");
+        out.println("========================================");
+        out.println(" Sanctuary Market: Shopping for " + hero.getName());
+        out.println(" Level: " + hero.getLevel() + "   Gold: " + hero.getGold());
+        out.println(" Inventory: " + hero.getInventory());
+        out.println("========================================");
+        out.println("1) Buy weapons");
+        out.println("2) Buy armor");
+        out.println("3) Buy potions");
+        out.println("4) Buy spells");
+        out.println("5) Equip weapon");
+        out.println("6) Equip armor");
+        out.println("7) Leave market");
+        out.print("> ");
 
         String input = scanner.nextLine().trim();
         if ("1".equals(input)) {
@@ -53,7 +67,7 @@ public class Market {
         } else if ("7".equals(input)) {
             shopping = false;
         } else {
-            System.out.println("Please choose 1–7.");
+            out.println("Please choose 1–7.");
         }
     }
 }
@@ -61,78 +75,98 @@ public class Market {
 
     // -------- BUYING --------
 
-    private void buyItemOfType(Hero hero, Scanner scanner, Class<?> clazz) {
-    List<Item> available = new ArrayList<Item>();
-    for (Item item : stock) {
-        if (clazz.isInstance(item) && item.getRequiredLevel() <= hero.getLevel()) {
-            available.add(item);
-        }
-    }
+    private void buyItemOfType(Hero hero, Scanner scanner, Class<? extends Item> clazz) {
+    List<? extends Item> available = catalog.availableAt(clazz, hero.getLevel());
 
     if (available.isEmpty()) {
-        System.out.println("Nothing of that type is suitable for your level yet.");
+        out.println("Nothing of that type is suitable for your level yet.");
         return;
     }
 
-    System.out.println("Items you can buy:");
-    for (int i = 0; i < available.size(); i++) {
-        Item it = available.get(i);
-        System.out.println("[" + i + "] " + it.toString());
+    int pages = (available.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+    int page = 0;
+    String input;
+    while (true) {
+        int from = page * PAGE_SIZE;
+        int to = Math.min(from + PAGE_SIZE, available.size());
+
+        out.println(pages > 1 ? "Items you can buy (page " + (page + 1) + "/" + pages + "):"
+                              : "Items you can buy:");
+        for (int i = from; i < to; i++) {
+            Item it = available.get(i);
+            out.println("[" + i + "] " + it.toString() + stockSuffix(it));
+        }
+        if (page + 1 < pages) out.println("[N] Next page");
+        if (page > 0) out.println("[P] Previous page");
+        out.println("[X] Cancel");
+        out.print("> ");
+
+        input = scanner.nextLine().trim().toUpperCase();
+        if ("N".equals(input) && page + 1 < pages) {
+            page++;
+        } else if ("P".equals(input) && page > 0) {
+            page--;
+        } else {
+            break;
+        }
     }
-    System.out.println("[X] Cancel");
-    System.out.print("> ");
-
-    String input = scanner.nextLine().trim().toUpperCase();
     if ("X".equals(input)) return;
 
     int idx;
     try {
         idx = Integer.parseInt(input);
     } catch (NumberFormatException e) {
-        System.out.println("Invalid choice.");
+        out.println("Invalid choice.");
         return;
     }
     if (idx < 0 || idx >= available.size()) {
-        System.out.println("Invalid index.");
+        out.println("Invalid index.");
         return;
     }
 
     Item chosen = available.get(idx);
     if (hero.getGold() < chosen.getPrice()) {
-        System.out.println("You don't have enough gold.");
+        out.println("You don't have enough gold.");
+        return;
+    }
+
+    // the gold check is per hero; the stock may be shared, so take the copy before paying
+    if (!stock.tryTake(chosen, chosen.getPrice())) {
+        out.println("Sorry, " + chosen.getName() + " just sold out.");
         return;
     }
 
     hero.spendGold(chosen.getPrice());
     hero.getInventory().add(chosen);
-    System.out.println("Purchased " + chosen.getName() + "!");
+    out.println("Purchased " + chosen.getName() + "!");
 }
 
+    private String stockSuffix(Item it) {
+        if (stock.isUnlimited()) return "";
+        int q = stock.quantity(it);
+        return q == 0 ? " [sold out]" : " [" + q + " left]";
+    }
+
 
     // -------- EQUIP WEAPON --------
 
     private void equipWeaponMenu(Hero hero, Scanner scanner) {
-        List<Weapon> weapons = new ArrayList<Weapon>();
-        for (Item it : hero.getInventory().getItems()) {
-            if (it instanceof Weapon) {
-                weapons.add((Weapon) it);
-            }
-        }
+        List<Weapon> weapons = hero.getInventory().getWeapons();
 
         if (weapons.isEmpty()) {
-            System.out.println("You have no weapons in your inventory.");
+            out.println("You have no weapons in your inventory.");
             return;
         }
 
-        System.out.println("Choose a weapon to equip:");
+        out.println("Choose a weapon to equip:");
         for (int i = 0; i < weapons.size(); i++) {
             Weapon w = weapons.get(i);
-            System.out.println("[" + i + "] " + w.getName() +
+            out.println("[" + i + "] " + w.getName() +
                     " (Damage " + w.getDamage() +
                     ", Lvl " + w.getRequiredLevel() + ")");
         }
-        System.out.println("[X] Cancel");
-        System.out.print("> ");
+        out.println("[X] Cancel");
+        out.print("> ");
 
         String input = scanner.nextLine().trim().toUpperCase();
         if ("X".equals(input)) return;
@@ -141,48 +175,43 @@ public class Market {
         try {
             idx = Integer.parseInt(input);
         } catch (NumberFormatException e) {
-            System.out.println("Invalid choice.");
+            out.println("Invalid choice.");
             return;
         }
         if (idx < 0 || idx >= weapons.size()) {
-            System.out.println("Invalid index.");
+            out.println("Invalid index.");
             return;
         }
 
         Weapon chosen = weapons.get(idx);
         if (hero.getLevel() < chosen.getRequiredLevel()) {
-            System.out.println("You are not high enough level to equip that.");
+            out.println("You are not high enough level to equip that.");
             return;
         }
 
         hero.equipWeapon(chosen);
-        System.out.println(hero.getName() + " equips " + chosen.getName() + ".");
+        out.println(hero.getName() + " equips " + chosen.getName() + ".");
     }
 
     // -------- EQUIP ARMOR --------
 
     private void equipArmorMenu(Hero hero, Scanner scanner) {
-        List<Armor> armors = new ArrayList<Armor>();
-        for (Item it : hero.getInventory().getItems()) {
-            if (it instanceof Armor) {
-                armors.add((Armor) it);
-            }
-        }
+        List<Armor> armors = hero.getInventory().getArmors();
 
         if (armors.isEmpty()) {
-            System.out.println("You have no armor in your inventory.");
+            out.println("You have no armor in your inventory.");
             return;
         }
 
-        System.out.println("Choose armor to equip:");
+        out.println("Choose armor to equip:");
         for (int i = 0; i < armors.size(); i++) {
             Armor a = armors.get(i);
-            System.out.println("[" + i + "] " + a.getName() +
+            out.println("[" + i + "] " + a.getName() +
                     " (Reduction " + a.getDamageReduction() +
                     ", Lvl " + a.getRequiredLevel() + ")");
         }
-        System.out.println("[X] Cancel");
-        System.out.print("> ");
+        out.println("[X] Cancel");
+        out.print("> ");
 
         String input = scanner.nextLine().trim().toUpperCase();
         if ("X".equals(input)) return;
@@ -191,21 +220,21 @@ public class Market {
         try {
             idx = Integer.parseInt(input);
         } catch (NumberFormatException e) {
-            System.out.println("Invalid choice.");
+            out.println("Invalid choice.");
             return;
         }
         if (idx < 0 || idx >= armors.size()) {
-            System.out.println("Invalid index.");
+            out.println("Invalid index.");
             return;
         }
 
         Armor chosen = armors.get(idx);
         if (hero.getLevel() < chosen.getRequiredLevel()) {
-            System.out.println("You are not high enough level to equip that.");
+            out.println("You are not high enough level to equip that.");
             return;
         }
 
         hero.equipArmor(chosen);
-        System.out.println(hero.getName() + " equips " + chosen.getName() + ".");
+        out.println(hero.getName() + " equips " + chosen.getName() + ".");
     }
 }
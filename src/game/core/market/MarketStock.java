@@ -0,0 +1,144 @@
+package game.core.market;
+
+import game.core.items.Item;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How many of each item a market has left, safe to share between any number
+ * of concurrent sessions.
+ *
+ * Each item has its own quantity slot, updated by compare-and-set, so a
+ * purchase never takes a lock and buyers only contend when they want the very
+ * same item; the last copy goes to exactly one of them. Sales and revenue are
+ * kept in LongAdders (striped counters) for the same reason.
+ *
+ * The item list is fixed at construction. Items are matched by identity, like
+ * Inventory stacks. A stock built with UNLIMITED never runs out, which is how
+ * a market behaves when it is given no stock at all.
+ */
+public final class MarketStock {
+
+    public static final int UNLIMITED = -1;
+
+    private final List<Item> items;
+    private final Map<Item, Integer> slots;     // never modified after construction
+    private final AtomicIntegerArray quantities;
+    private final int capacity;
+
+    private final LongAdder sold = new LongAdder();
+    private final LongAdder revenue = new LongAdder();
+    private final LongAdder soldOut = new LongAdder();
+
+    /**
+     * @param perItem starting (and restock) quantity of every item, or UNLIMITED
+     * @throws IllegalArgumentException if perItem is negative and not UNLIMITED
+     */
+    public MarketStock(List<? extends Item> items, int perItem) {
+        if (perItem < 0 && perItem != UNLIMITED) {
+            throw new IllegalArgumentException("Quantity must be >= 0: " + perItem);
+        }
+        List<Item> distinct = new ArrayList<Item>();
+        Map<Item, Integer> index = new IdentityHashMap<Item, Integer>();
+        for (int i = 0; i < items.size(); i++) {
+            Item it = items.get(i);
+            if (!index.containsKey(it)) {
+                index.put(it, distinct.size());
+                distinct.add(it);
+            }
+        }
+        this.items = Collections.unmodifiableList(distinct);
+        this.slots = index;
+        this.capacity = perItem;
+        this.quantities = new AtomicIntegerArray(distinct.size());
+        for (int i = 0; i < distinct.size(); i++) quantities.set(i, perItem);
+    }
+
+    /** Everything this stock carries, in the order given (duplicates dropped). */
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public boolean isUnlimited() {
+        return capacity == UNLIMITED;
+    }
+
+    /** Copies of item left, or UNLIMITED. */
+    public int quantity(Item item) {
+        return quantities.get(slot(item));
+    }
+
+    /**
+     * Takes one copy of item for a buyer who paid price.
+     *
+     * @return false if it is sold out (nothing changes)
+     */
+    public boolean tryTake(Item item, int price) {
+        int s = slot(item);
+        while (true) {
+            int q = quantities.get(s);
+            if (q == UNLIMITED) break;
+            if (q == 0) {
+                soldOut.increment();
+                return false;
+            }
+            if (quantities.compareAndSet(s, q, q - 1)) break;
+        }
+        sold.increment();
+        revenue.add(price);
+        return true;
+    }
+
+    /**
+     * Adds up to amount copies of item, never past the starting quantity.
+     *
+     * @return copies actually added
+     */
+    public int restock(Item item, int amount) {
+        if (amount < 0) throw new IllegalArgumentException("Restock amount must be >= 0: " + amount);
+        int s = slot(item);
+        while (true) {
+            int q = quantities.get(s);
+            if (q == UNLIMITED) return 0;
+            int next = (int) Math.min((long) q + amount, capacity);
+            if (next == q) return 0;
+            if (quantities.compareAndSet(s, q, next)) return next - q;
+        }
+    }
+
+    /** Tops every item up to its starting quantity; returns copies added. */
+    public int refill() {
+        int added = 0;
+        for (int i = 0; i < items.size(); i++) {
+            added += restock(items.get(i), capacity == UNLIMITED ? 0 : capacity);
+        }
+        return added;
+    }
+
+    /** Copies sold so far. */
+    public long getSold() {
+        return sold.sum();
+    }
+
+    /** Gold taken in so far. */
+    public long getRevenue() {
+        return revenue.sum();
+    }
+
+    /** Purchases turned away because the item had run out. */
+    public long getSoldOutMisses() {
+        return soldOut.sum();
+    }
+
+    private int slot(Item item) {
+        Integer s = slots.get(item);
+        if (s == null) throw new IllegalArgumentException("Not stocked here: " + item);
+        return s;
+    }
+}
@@ -1,5 +1,7 @@
 package game.core.model;
 
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
 import game.core.items.Armor;
 import game.core.items.Weapon;
 
@@ -65,9 +67,10 @@ public abstract class Hero extends Character {
 
     public void equipWeapon(Weapon w) {
         if (w == null) return;
+        GameOutput out = GameOutputs.current();
 
         if (w.getRequiredLevel() > level) {
-            System.out.println(getName() + " is not high enough level to use " + w.getName());
+            out.printf("%s is not high enough level to use %s%n", getName(), w.getName());
             return;
         }
 
@@ -75,19 +78,19 @@ public abstract class Hero extends Character {
             // two-handed weapon occupies both hands
             this.mainHand = w;
             this.offHand = null;
-            System.out.println(getName() + " equips two-handed " + w.getName() + " (both hands).");
+            out.printf("%s equips two-handed %s (both hands).%n", getName(), w.getName());
         } else {
             // 1-handed weapon
             if (mainHand == null) {
                 mainHand = w;
-                System.out.println(getName() + " equips " + w.getName() + " in main hand.");
+                out.printf("%s equips %s in main hand.%n", getName(), w.getName());
             } else if (offHand == null) {
                 // can dual-wield
                 offHand = w;
-                System.out.println(getName() + " equips " + w.getName() + " in off hand.");
+                out.printf("%s equips %s in off hand.%n", getName(), w.getName());
             } else {
                 // both hands already full → replace main hand (simple rule)
-                System.out.println(getName() + " already has two 1-handed weapons; replacing main hand.");
+                out.printf("%s already has two 1-handed weapons; replacing main hand.%n", getName());
                 mainHand = w;
             }
         }
@@ -140,12 +143,13 @@ public abstract class Hero extends Character {
 
     protected void levelUp() {
         level++;
-        System.out.println(name + " reached level " + level + "!");
+        GameOutput out = GameOutputs.current();
+        out.printf("%s reached level %d!%n", name, level);
 
         // tweak growth numbers as you like
         stats.increase(10, 5, 3, 2, 2);
         restoreFull();
-        System.out.println("  New stats: " + stats);
+        out.printf("  New stats: %s%n", stats);
     }
 
     @Override
@@ -1,6 +1,7 @@
 package game.core.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import game.core.items.Armor;
@@ -9,82 +10,181 @@ import game.core.items.Potion;
 import game.core.items.Spell;
 import game.core.items.Weapon;
 
+/**
+ * A hero's items, kept in one bucket per kind (weapons, armor, potions,
+ * spells).
+ *
+ * Copies of the same item (the same Item instance: items are shared,
+ * immutable data) form one stack with a count, so ten potions cost one
+ * entry. Each bucket lists its stacks in the order they were first added, and
+ * a stack keeps its place until its last copy is removed.
+ *
+ * The typed getters return read-only live views, so asking for a hero's
+ * potions is O(1) and allocates nothing. add and remove only look through
+ * the stacks of one kind.
+ */
 public class Inventory {
 
-    private final List<Item> items;
+    private final Bucket<Weapon> weapons = new Bucket<Weapon>();
+    private final Bucket<Armor>  armors  = new Bucket<Armor>();
+    private final Bucket<Potion> potions = new Bucket<Potion>();
+    private final Bucket<Spell>  spells  = new Bucket<Spell>();
+
+    private int size;
 
     public Inventory() {
-        this.items = new ArrayList<Item>();
     }
 
-    public List<Item> getItems() {
-        return items;
+    /** Distinct weapons held, first acquired first. */
+    public List<Weapon> getWeapons() {
+        return weapons.view;
     }
 
-    public void add(Item item) {
-        items.add(item);
+    public List<Armor> getArmors() {
+        return armors.view;
     }
 
-    public boolean remove(Item item) {
-        return items.remove(item);
+    public List<Potion> getPotions() {
+        return potions.view;
     }
 
-    public boolean isEmpty() {
-        return items.isEmpty();
+    public List<Spell> getSpells() {
+        return spells.view;
     }
 
-    public int size() {
-        return items.size();
+    /** How many copies of item are held. */
+    public int count(Item item) {
+        Bucket<?> b = bucketFor(item);
+        return b == null ? 0 : b.count(item);
     }
 
-    @Override
-public String toString() {
-    if (items.isEmpty()) return "(empty)";
-
-    StringBuilder weapons = new StringBuilder();
-    StringBuilder armors  = new StringBuilder();
-    StringBuilder potions = new StringBuilder();
-    StringBuilder spells  = new StringBuilder();
-
-    for (Item it : items) {
-        if (it instanceof Weapon) {
-            weapons.append("  - ").append(it).append("\n");
-        } else if (it instanceof Armor) {
-            armors.append("  - ").append(it).append("\n");
-        } else if (it instanceof Potion) {
-            potions.append("  - ").append(it).append("\n");
-        } else if (it instanceof Spell) {
-            spells.append("  - ").append(it).append("\n");
+    /** " xN" when more than one copy of item is held, else "" (for menus). */
+    public String countSuffix(Item item) {
+        int n = count(item);
+        return n > 1 ? " x" + n : "";
+    }
+
+    /** @throws IllegalArgumentException for an item that is not a weapon, armor, potion or spell */
+    public void add(Item item) {
+        if (item instanceof Weapon) {
+            weapons.add((Weapon) item, 1);
+        } else if (item instanceof Armor) {
+            armors.add((Armor) item, 1);
+        } else if (item instanceof Potion) {
+            potions.add((Potion) item, 1);
+        } else if (item instanceof Spell) {
+            spells.add((Spell) item, 1);
+        } else {
+            throw new IllegalArgumentException("Unsupported item: " + item);
         }
+        size++;
     }
 
-    StringBuilder out = new StringBuilder();
+    /** Adds every item of other (with its count) to this inventory. */
+    public void addAll(Inventory other) {
+        weapons.addAll(other.weapons);
+        armors.addAll(other.armors);
+        potions.addAll(other.potions);
+        spells.addAll(other.spells);
+        size += other.size;
+    }
 
-    if (weapons.length() > 0) {
-        out.append("Weapons:\n").append(weapons);
+    /** Removes one copy of item; false if there was none. */
+    public boolean remove(Item item) {
+        Bucket<?> b = bucketFor(item);
+        if (b == null || !b.removeOne(item)) return false;
+        size--;
+        return true;
     }
-    if (armors.length() > 0) {
-        out.append("Armor:\n").append(armors);
+
+    public boolean isEmpty() {
+        return size == 0;
     }
-    if (potions.length() > 0) {
-        out.append("Potions:\n").append(potions);
+
+    /** Total number of items, counting every copy. */
+    public int size() {
+        return size;
     }
-    if (spells.length() > 0) {
-        out.append("Spells:\n").append(spells);
+
+    private Bucket<?> bucketFor(Item item) {
+        if (item instanceof Weapon) return weapons;
+        if (item instanceof Armor)  return armors;
+        if (item instanceof Potion) return potions;
+        if (item instanceof Spell)  return spells;
+        return null;
     }
 
-    return out.toString();
-}
+    @Override
+    public String toString() {
+        if (isEmpty()) return "(empty)";
+
+        StringBuilder out = new StringBuilder();
+        weapons.appendTo(out, "Weapons:");
+        armors.appendTo(out, "Armor:");
+        potions.appendTo(out, "Potions:");
+        spells.appendTo(out, "Spells:");
+        return out.toString();
+    }
 
+    // ---------- One kind of item ----------
 
-    public List<Potion> getPotions() {
-        List<Potion> potions = new ArrayList<Potion>();
-        for (int i = 0; i < items.size(); i++) {
-            Item it = items.get(i);
-            if (it instanceof Potion) {
-                potions.add((Potion) it);
+    private static final class Bucket<T extends Item> {
+        private final List<T> items = new ArrayList<T>();
+        private int[] counts = new int[4];       // counts[i] belongs to items.get(i)
+        final List<T> view = Collections.unmodifiableList(items);
+
+        int count(Object item) {
+            int i = indexOf(item);
+            return i < 0 ? 0 : counts[i];
+        }
+
+        void add(T item, int n) {
+            int i = indexOf(item);
+            if (i >= 0) {
+                counts[i] += n;
+                return;
+            }
+            if (items.size() == counts.length) {
+                int[] grown = new int[counts.length * 2];
+                System.arraycopy(counts, 0, grown, 0, counts.length);
+                counts = grown;
+            }
+            counts[items.size()] = n;
+            items.add(item);
+        }
+
+        void addAll(Bucket<T> other) {
+            for (int i = 0; i < other.items.size(); i++) {
+                add(other.items.get(i), other.counts[i]);
+            }
+        }
+
+        boolean removeOne(Object item) {
+            int i = indexOf(item);
+            if (i < 0) return false;
+            if (--counts[i] == 0) {
+                items.remove(i);
+                System.arraycopy(counts, i + 1, counts, i, items.size() - i);
+            }
+            return true;
+        }
+
+        // stacks are the same instance, never equals(): two shops' potions may share a name
+        private int indexOf(Object item) {
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i) == item) return i;
+            }
+            return -1;
+        }
+
+        void appendTo(StringBuilder out, String heading) {
+            if (items.isEmpty()) return;
+            out.append(heading).append("\n");
+            for (int i = 0; i < items.size(); i++) {
+                out.append("  - ").append(items.get(i));
+                if (counts[i] > 1) out.append(" x").append(counts[i]);
+                out.append("\n");
             }
         }
-        return potions;
     }
 }
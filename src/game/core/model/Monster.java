@@ -2,44 +2,58 @@ package game.core.model;
 
 public abstract class Monster extends Character {
 
-    protected int baseDamage;
-    protected int defense;
-    protected double dodgeChance; // 0.0–1.0
+    // shared with every other monster of this type; only hp/mp are per instance
+    protected MonsterDefinition definition;
+
+    protected Monster(MonsterDefinition definition) {
+        super(definition.getName(), definition.getLevel(), definition.getStats());
+        this.definition = definition;
+    }
 
     public Monster(String name, int level, Stats stats,
                    int baseDamage, int defense, double dodgeChance) {
-        super(name, level, stats);
-        this.baseDamage = baseDamage;
-        this.defense = defense;
-        this.dodgeChance = dodgeChance;
+        this(new MonsterDefinition(name, level, stats, baseDamage, defense, dodgeChance));
+    }
+
+    public MonsterDefinition getDefinition() {
+        return definition;
+    }
+
+    /** Becomes a fresh, full-health monster of another (or the same) definition. */
+    protected void redefine(MonsterDefinition definition) {
+        this.definition = definition;
+        this.name = definition.getName();
+        this.level = definition.getLevel();
+        this.stats = definition.getStats();
+        restoreFull();
     }
 
     public int getBaseDamage() {
-        return baseDamage;
+        return definition.getBaseDamage();
     }
 
     public int getRawDefense() {
-        return defense;
+        return definition.getDefense();
     }
 
     public double getRawDodgeChance() {
-        return dodgeChance;
+        return definition.getDodgeChance();
     }
 
     @Override
     public int getAttackDamage() {
         // could also scale with STR or level if you want
-        return baseDamage + stats.getStrength();
+        return definition.getBaseDamage() + stats.getStrength();
     }
 
     @Override
     public int getDefense() {
-        return defense;
+        return definition.getDefense();
     }
 
     @Override
     public double getDodgeChance() {
-        return dodgeChance;
+        return definition.getDodgeChance();
     }
 
     @Override
@@ -0,0 +1,54 @@
+package game.core.model;
+
+/**
+ * The immutable part of a monster type as loaded from data: name, level,
+ * base stats, damage, defense and dodge.
+ *
+ * One definition is shared by every monster spawned from it (flyweight); a
+ * Monster only adds its own current HP/MP. The Stats object is shared too,
+ * so it must be treated as read-only.
+ */
+public final class MonsterDefinition {
+
+    private final String name;
+    private final int level;
+    private final Stats stats;
+    private final int baseDamage;
+    private final int defense;
+    private final double dodgeChance;
+
+    public MonsterDefinition(String name, int level, Stats stats,
+                             int baseDamage, int defense, double dodgeChance) {
+        this.name = name;
+        this.level = level;
+        this.stats = stats;
+        this.baseDamage = baseDamage;
+        this.defense = defense;
+        this.dodgeChance = dodgeChance;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /** Shared between all instances: do not modify. */
+    public Stats getStats() {
+        return stats;
+    }
+
+    public int getBaseDamage() {
+        return baseDamage;
+    }
+
+    public int getDefense() {
+        return defense;
+    }
+
+    public double getDodgeChance() {
+        return dodgeChance;
+    }
+}
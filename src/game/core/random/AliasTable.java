@@ -0,0 +1,96 @@
+package game.core.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * Walker/Vose alias table: O(1) sampling of an index with probability
+ * proportional to its weight, after O(n) setup.
+ *
+ * Each column i keeps the chance of answering i itself; otherwise it answers
+ * alias[i]. A sample picks a column with one nextInt(n) and only draws a
+ * nextDouble when that column is split, so with equal weights it consumes
+ * exactly the same randomness as rng.nextInt(n) and returns the same index.
+ *
+ * Immutable once built, so one table can be shared between threads (each
+ * with its own SplittableRandom).
+ */
+public final class AliasTable {
+
+    private final double[] keep;
+    private final int[] alias;
+
+    /**
+     * @param weights non-negative weights, at least one of them positive
+     * @throws IllegalArgumentException if no weight is positive, or one is negative / NaN
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            if (!(weights[i] >= 0) || Double.isInfinite(weights[i])) {
+                throw new IllegalArgumentException("Bad weight at " + i + ": " + weights[i]);
+            }
+            total += weights[i];
+        }
+        if (!(total > 0)) {
+            throw new IllegalArgumentException("Alias table needs a positive weight");
+        }
+
+        this.keep = new double[n];
+        this.alias = new int[n];
+
+        // scaled so the average column holds exactly 1.0
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int ns = 0;
+        int nl = 0;
+        boolean uniform = true;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (weights[i] != weights[0]) uniform = false;
+            if (scaled[i] < 1.0) small[ns++] = i;
+            else large[nl++] = i;
+        }
+        if (uniform) {
+            // skip the rounding noise: every column keeps itself
+            for (int i = 0; i < n; i++) {
+                keep[i] = 1.0;
+                alias[i] = i;
+            }
+            return;
+        }
+
+        while (ns > 0 && nl > 0) {
+            int s = small[--ns];
+            int l = large[--nl];
+            keep[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) small[ns++] = l;
+            else large[nl++] = l;
+        }
+        // whatever is left is 1.0 up to rounding
+        while (nl > 0) {
+            int l = large[--nl];
+            keep[l] = 1.0;
+            alias[l] = l;
+        }
+        while (ns > 0) {
+            int s = small[--ns];
+            keep[s] = 1.0;
+            alias[s] = s;
+        }
+    }
+
+    public int size() {
+        return keep.length;
+    }
+
+    /** Index in [0, size()) drawn with probability weight / total. */
+    public int sample(SplittableRandom rng) {
+        int i = rng.nextInt(keep.length);
+        if (keep[i] >= 1.0) return i;
+        return rng.nextDouble() < keep[i] ? i : alias[i];
+    }
+}
@@ -0,0 +1,64 @@
+package game.core.random;
+
+import java.util.SplittableRandom;
+
+import game.core.io.GameOutputs;
+
+/**
+ * Session-level source of reproducible random streams.
+ *
+ * One 64-bit seed determines everything: each subsystem asks for its own
+ * named stream (same seed + same name = same numbers, whatever order the
+ * subsystems are created in), and battles take a fresh stream split off a
+ * dedicated battle stream. Streams are independent SplittableRandoms, so
+ * nothing shares an atomic seed and a session can be replayed from its seed.
+ *
+ * SplittableRandom is not thread-safe: give each thread / subsystem its own stream.
+ */
+public final class SeedSource {
+
+    /** System property that pins the session seed, e.g. -Dsoulrealms.seed=42 */
+    public static final String SEED_PROPERTY = "soulrealms.seed";
+
+    private final long seed;
+    private final SplittableRandom battles;
+
+    public SeedSource(long seed) {
+        this.seed = seed;
+        this.battles = stream("battles");
+    }
+
+    /** Seed from {@value #SEED_PROPERTY} if set, otherwise a fresh random one. */
+    public static SeedSource fromSystemProperty() {
+        String s = System.getProperty(SEED_PROPERTY);
+        if (s != null && !s.trim().isEmpty()) {
+            try {
+                return new SeedSource(Long.parseLong(s.trim()));
+            } catch (NumberFormatException e) {
+                GameOutputs.current().println("Ignoring invalid " + SEED_PROPERTY + ": " + s);
+            }
+        }
+        return new SeedSource(mix(System.nanoTime() ^ System.currentTimeMillis()));
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Independent stream for a named subsystem (e.g. "world", "turns", "spawns"). */
+    public SplittableRandom stream(String subsystem) {
+        return new SplittableRandom(mix(seed ^ mix(subsystem.hashCode())));
+    }
+
+    /** Independent stream for the next battle of this session. */
+    public synchronized SplittableRandom nextBattle() {
+        return battles.split();
+    }
+
+    /** SplitMix64 finalizer: turns nearby inputs into well-spread 64-bit seeds. */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,45 @@
+package game.core.world;
+
+/** A bounded grid in one flat byte array, indexed row * cols + col. */
+final class ArrayTileGrid implements TileGrid {
+
+    private final int rows;
+    private final int cols;
+    private final byte[] cells;
+
+    ArrayTileGrid(int rows, int cols, byte[] cells) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = cells;
+    }
+
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    @Override
+    public byte get(int row, int col) {
+        return cells[row * cols + col];
+    }
+
+    @Override
+    public void set(int row, int col, byte category) {
+        cells[row * cols + col] = category;
+    }
+}
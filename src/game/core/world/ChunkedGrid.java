@@ -0,0 +1,161 @@
+package game.core.world;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An unbounded grid, generated in square chunks the first time a cell in
+ * them is read and kept in a bounded LRU cache.
+ *
+ * The Generator must fill a chunk from its coordinates alone (for instance
+ * by seeding from the world seed and the chunk position), so a chunk that
+ * was evicted comes back exactly the same when the party returns. Memory
+ * therefore depends on how many chunks are near the party (maxChunks), not on
+ * how far it has walked. Chunks with edited cells (set) are the exception:
+ * they are kept for good, since regenerating them would undo the edit.
+ *
+ * Besides the tile category, each cell has one overlay byte that the game
+ * defines (Emotion War stores its emotion zones there); 0 means none.
+ *
+ * Not thread-safe: use a world from one thread, as the games do.
+ */
+public final class ChunkedGrid implements TileGrid {
+
+    /** Fills one chunk. */
+    public interface Generator {
+        /**
+         * @param cells   size x size category ordinals, row-major, all 0 on entry
+         * @param overlay size x size game-defined bytes, row-major, all 0 on entry
+         */
+        void generate(int chunkRow, int chunkCol, byte[] cells, byte[] overlay);
+    }
+
+    private final int shift;
+    private final int size;
+    private final int mask;
+    private final Generator generator;
+    private final int maxChunks;
+
+    private final LinkedHashMap<Long, Chunk> cache;
+    private final Map<Long, Chunk> edited = new HashMap<Long, Chunk>();
+    private long generated;
+
+    // the chunk of the last lookup; most reads land in the same chunk as the one before
+    private Chunk last;
+
+    /**
+     * @param chunkShift chunks are (1 << chunkShift) cells on a side
+     * @param maxChunks  unedited chunks kept in memory; the least recently used goes first
+     */
+    public ChunkedGrid(int chunkShift, int maxChunks, Generator generator) {
+        if (chunkShift < 1 || chunkShift > 12) throw new IllegalArgumentException("Bad chunk shift " + chunkShift);
+        if (maxChunks < 1) throw new IllegalArgumentException("Must keep at least one chunk: " + maxChunks);
+        this.shift = chunkShift;
+        this.size = 1 << chunkShift;
+        this.mask = size - 1;
+        this.generator = generator;
+        this.maxChunks = maxChunks;
+        this.cache = new LinkedHashMap<Long, Chunk>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Chunk> eldest) {
+                return size() > ChunkedGrid.this.maxChunks;
+            }
+        };
+    }
+
+    /** Cells on a side of one chunk. */
+    public int chunkSize() {
+        return size;
+    }
+
+    /** Chunks in memory right now (cached plus edited). */
+    public int loadedChunks() {
+        int n = cache.size();
+        for (Long key : edited.keySet()) {
+            if (!cache.containsKey(key)) n++;
+        }
+        return n;
+    }
+
+    /** Chunks generated so far, counting every regeneration after eviction. */
+    public long generatedChunks() {
+        return generated;
+    }
+
+    @Override
+    public boolean isBounded() {
+        return false;
+    }
+
+    @Override
+    public int rows() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int cols() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public boolean contains(int row, int col) {
+        return true;
+    }
+
+    @Override
+    public byte get(int row, int col) {
+        return chunk(row >> shift, col >> shift).cells[index(row, col)];
+    }
+
+    @Override
+    public void set(int row, int col, byte category) {
+        Chunk c = chunk(row >> shift, col >> shift);
+        c.cells[index(row, col)] = category;
+        edited.put(c.key, c);
+    }
+
+    /** The game-defined overlay byte of a cell (0 if none). */
+    public byte overlay(int row, int col) {
+        return chunk(row >> shift, col >> shift).overlay[index(row, col)];
+    }
+
+    private int index(int row, int col) {
+        return ((row & mask) << shift) | (col & mask);
+    }
+
+    private Chunk chunk(int chunkRow, int chunkCol) {
+        Chunk c = last;
+        if (c != null && c.row == chunkRow && c.col == chunkCol) return c;
+
+        Long key = Position.pack(chunkRow, chunkCol);
+        c = edited.get(key);
+        if (c == null) c = cache.get(key);
+        if (c == null) {
+            c = new Chunk(chunkRow, chunkCol, size);
+            generator.generate(chunkRow, chunkCol, c.cells, c.overlay);
+            generated++;
+            cache.put(key, c);
+        }
+        last = c;
+        return c;
+    }
+
+    // ---------- One chunk ----------
+
+    private static final class Chunk {
+        final int row;
+        final int col;
+        final Long key;
+        final byte[] cells;
+        final byte[] overlay;
+
+        Chunk(int row, int col, int size) {
+            this.row = row;
+            this.col = col;
+            this.key = Position.pack(row, col);
+            this.cells = new byte[size * size];
+            this.overlay = new byte[size * size];
+        }
+    }
+}
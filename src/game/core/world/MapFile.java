@@ -0,0 +1,215 @@
+package game.core.world;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An authored map on disk (written by MapFileWriter, see app.ConvertMaps),
+ * read through a memory mapping rather than loaded onto the heap.
+ *
+ * Every cell has three bytes, one in each plane: its TileCategory ordinal,
+ * a game-defined zone byte (Emotion War's emotion, 0 for none) and a glyph
+ * byte (an ASCII Emotion Lanes glyph, 0 for none). Lookups read the mapped
+ * pages directly, so only the parts of a map that are looked at are ever
+ * paged in, however many millions of tiles it has.
+ *
+ * The mapping is read-only. A game may still change cells, such as clearing
+ * an obstacle: changes are kept in a small in-memory table that lookups check
+ * first (only once something has been changed), and the file is never
+ * written.
+ *
+ * Layout (big-endian): a 32-byte header of magic, version, rows, cols, start
+ * row, start col and two reserved ints, then the category plane, the zone
+ * plane and the glyph plane, each rows * cols bytes, row-major.
+ *
+ * Opening a map does not check its categories, since that would page in the
+ * whole file. Each category is checked as it is read instead, and a
+ * hand-edited byte that is not a TileCategory fails with an
+ * IllegalStateException naming the file and cell. verify() checks every cell
+ * up front (app.ConvertMaps verify does it from the command line).
+ */
+public final class MapFile {
+
+    public static final int VERSION = 1;
+
+    static final int MAGIC = 0x53524D50; // "SRMP"
+    static final int HEADER_BYTES = 32;
+
+    private static final TileCategory[] CATEGORIES = TileCategory.values();
+
+    private final String file;
+    private final int rows;
+    private final int cols;
+    private final Position start;
+    private final ByteBuffer categories;
+    private final ByteBuffer zones;
+    private final ByteBuffer glyphs;
+
+    // cells changed in memory, by row * cols + col
+    private final Map<Integer, Byte> categoryEdits = new HashMap<Integer, Byte>();
+    private final Map<Integer, Byte> glyphEdits = new HashMap<Integer, Byte>();
+
+    private MapFile(String file, int rows, int cols, Position start, ByteBuffer all) {
+        this.file = file;
+        this.rows = rows;
+        this.cols = cols;
+        this.start = start;
+        int cells = rows * cols;
+        this.categories = plane(all, 0, cells);
+        this.zones = plane(all, 1, cells);
+        this.glyphs = plane(all, 2, cells);
+    }
+
+    private static ByteBuffer plane(ByteBuffer all, int index, int cells) {
+        ByteBuffer b = all.duplicate();
+        b.position(HEADER_BYTES + index * cells);
+        b.limit(HEADER_BYTES + (index + 1) * cells);
+        return b.slice();
+    }
+
+    /**
+     * Maps a map file.
+     *
+     * @throws IOException if it cannot be read, or is not a valid map of this version
+     */
+    public static MapFile open(String file) throws IOException {
+        MappedByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) throw new IOException(file + " is too large to map");
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+
+        if (buf.limit() < HEADER_BYTES || buf.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a map file");
+        }
+        if (buf.getInt(4) != VERSION) {
+            throw new IOException(file + ": version " + buf.getInt(4) + ", expected " + VERSION);
+        }
+        int rows = buf.getInt(8);
+        int cols = buf.getInt(12);
+        if (rows <= 0 || cols <= 0 || HEADER_BYTES + 3L * rows * cols != buf.limit()) {
+            throw new IOException(file + ": size does not match " + rows + "x" + cols);
+        }
+        int startRow = buf.getInt(16);
+        int startCol = buf.getInt(20);
+        if (startRow < 0 || startRow >= rows || startCol < 0 || startCol >= cols) {
+            throw new IOException(file + ": start (" + startRow + "," + startCol + ") is off the map");
+        }
+        return new MapFile(file, rows, cols, new Position(startRow, startCol), buf);
+    }
+
+    /**
+     * Checks the category of every cell, reading the whole file.
+     *
+     * @throws IOException naming the first cell whose category is not a TileCategory
+     */
+    public void verify() throws IOException {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                byte b = categories.get(r * cols + c);
+                if (b < 0 || b >= CATEGORIES.length) throw new IOException(badCategory(b, r, c));
+            }
+        }
+    }
+
+    /** The path the map was opened from, for messages. */
+    public String file() {
+        return file;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public Position start() {
+        return start;
+    }
+
+    /** The category plane as a World grid (writes stay in memory). */
+    public TileGrid tiles() {
+        return new MappedTileGrid();
+    }
+
+    /** A new World over this map, starting at start(). */
+    public World toWorld() {
+        return new World(tiles(), start);
+    }
+
+    /** Zone byte of a cell, 0 off the map. */
+    public byte zone(int row, int col) {
+        return contains(row, col) ? zones.get(row * cols + col) : 0;
+    }
+
+    /** Glyph of a cell, '\0' off the map or where none was authored. */
+    public char glyph(int row, int col) {
+        return contains(row, col) ? (char) (read(glyphs, glyphEdits, row * cols + col) & 0xFF) : '\0';
+    }
+
+    /** Changes a glyph in memory; the file is not touched. */
+    public void setGlyph(int row, int col, char glyph) {
+        if (!contains(row, col)) throw new ArrayIndexOutOfBoundsException("(" + row + "," + col + ") is off the map");
+        glyphEdits.put(row * cols + col, MapFileWriter.glyphByte(glyph));
+    }
+
+    private static byte read(ByteBuffer plane, Map<Integer, Byte> edits, int i) {
+        if (!edits.isEmpty()) {
+            Byte b = edits.get(i);
+            if (b != null) return b;
+        }
+        return plane.get(i);
+    }
+
+    private String badCategory(byte b, int row, int col) {
+        return file + ": unknown tile category " + b + " at (" + row + "," + col + ")";
+    }
+
+    private boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    // ---------- Category plane ----------
+
+    private final class MappedTileGrid implements TileGrid {
+        @Override
+        public boolean isBounded() {
+            return true;
+        }
+
+        @Override
+        public int rows() {
+            return rows;
+        }
+
+        @Override
+        public int cols() {
+            return cols;
+        }
+
+        @Override
+        public boolean contains(int row, int col) {
+            return MapFile.this.contains(row, col);
+        }
+
+        @Override
+        public byte get(int row, int col) {
+            byte b = read(categories, categoryEdits, row * cols + col);
+            if (b < 0 || b >= CATEGORIES.length) throw new IllegalStateException(badCategory(b, row, col));
+            return b;
+        }
+
+        @Override
+        public void set(int row, int col, byte category) {
+            categoryEdits.put(row * cols + col, category);
+        }
+    }
+}
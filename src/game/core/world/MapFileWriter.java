@@ -0,0 +1,96 @@
+package game.core.world;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes a MapFile, one plane at a time, straight from the World and the
+ * game's layers, so converting a large map never builds it twice in memory.
+ */
+public final class MapFileWriter {
+
+    /** One byte per cell of a game-defined layer. */
+    public interface Layer {
+        byte at(int row, int col);
+    }
+
+    /** A layer of zeros, for a map without zones or glyphs. */
+    public static final Layer NONE = new Layer() {
+        @Override
+        public byte at(int row, int col) {
+            return 0;
+        }
+    };
+
+    private static final int CATEGORY_COUNT = TileCategory.values().length;
+
+    private MapFileWriter() {
+    }
+
+    /**
+     * Writes world (which must be bounded) with its zone and glyph layers
+     * to file: to a temp file first, then moved into place, so a reader never
+     * sees half a map.
+     *
+     * @throws IllegalArgumentException if world is unbounded, or a glyph is not ASCII
+     */
+    public static void write(String file, World world, Layer zones, Layer glyphs) throws IOException {
+        if (!world.isBounded()) throw new IllegalArgumentException("Cannot write an open world to a file");
+        final TileGrid grid = world.getGrid();
+        int rows = grid.rows();
+        int cols = grid.cols();
+        Position start = world.getPartyPosition();
+
+        Path target = Paths.get(file);
+        Path tmp = Paths.get(file + ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))) {
+                out.writeInt(MapFile.MAGIC);
+                out.writeInt(MapFile.VERSION);
+                out.writeInt(rows);
+                out.writeInt(cols);
+                out.writeInt(start.row);
+                out.writeInt(start.col);
+                out.writeInt(0);
+                out.writeInt(0);
+
+                writePlane(out, rows, cols, new Layer() {
+                    @Override
+                    public byte at(int row, int col) {
+                        byte b = grid.get(row, col);
+                        if (b < 0 || b >= CATEGORY_COUNT) {
+                            throw new IllegalArgumentException("Unknown tile category " + b + " at (" + row + "," + col + ")");
+                        }
+                        return b;
+                    }
+                });
+                writePlane(out, rows, cols, zones);
+                writePlane(out, rows, cols, glyphs);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Glyph byte for a char, rejecting anything outside ASCII. */
+    public static byte glyphByte(char g) {
+        if (g > 0x7F) throw new IllegalArgumentException("Glyph '" + g + "' is not ASCII");
+        return (byte) g;
+    }
+
+    private static void writePlane(DataOutputStream out, int rows, int cols, Layer layer) throws IOException {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                out.writeByte(layer.at(r, c));
+            }
+        }
+    }
+}
@@ -1,5 +1,13 @@
 package game.core.world;
 
+/**
+ * An immutable (row, col) board coordinate.
+ *
+ * up()/down()/left()/right() return new objects; code that steps around a
+ * board every turn should ask the World's PositionCache instead, which hands
+ * out one shared instance per tile. Where no object is needed at all, a
+ * coordinate can travel as a packed long (pack, rowOf, colOf).
+ */
 public class Position {
     public final int row;
     public final int col;
@@ -30,6 +38,24 @@ public class Position {
     public Position left()  { return new Position(row, col - 1); }
     public Position right() { return new Position(row, col + 1); }
 
+    /** This coordinate as a packed long (see pack). */
+    public long packed() {
+        return pack(row, col);
+    }
+
+    /** Packs a coordinate into one long: row in the high half, col in the low half. */
+    public static long pack(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    public static int rowOf(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int colOf(long packed) {
+        return (int) packed;
+    }
+
     @Override
     public String toString() {
         return "(" + row + "," + col + ")";
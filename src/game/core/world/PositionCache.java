@@ -0,0 +1,57 @@
+package game.core.world;
+
+/**
+ * One canonical Position per tile of a rows x cols board, plus a one-tile
+ * border around it (so stepping off the edge is cached too).
+ *
+ * Instances are created the first time a tile is asked for and then reused,
+ * so the table never holds more than (rows + 2) x (cols + 2) positions, and
+ * moving a unit around the board creates no garbage. Coordinates further out
+ * get a fresh Position, as before. Each row's slots are allocated when that
+ * row is first touched, so a huge board costs little until it is explored.
+ *
+ * Positions are immutable, so a racy first fill is harmless: at worst two
+ * equal instances exist briefly, and equals() treats them the same.
+ */
+public final class PositionCache {
+
+    private final int rows;
+    private final int cols;
+    private final Position[][] table;   // [row + 1][col + 1], rows allocated on demand
+
+    public PositionCache(int rows, int cols) {
+        if (rows < 0 || cols < 0) throw new IllegalArgumentException("Bad board size " + rows + "x" + cols);
+        this.rows = rows;
+        this.cols = cols;
+        this.table = new Position[rows + 2][];
+    }
+
+    public Position get(int row, int col) {
+        if (row < -1 || row > rows || col < -1 || col > cols) return new Position(row, col);
+        Position[] line = table[row + 1];
+        if (line == null) {
+            line = new Position[cols + 2];
+            table[row + 1] = line;
+        }
+        Position p = line[col + 1];
+        if (p == null) {
+            p = new Position(row, col);
+            line[col + 1] = p;
+        }
+        return p;
+    }
+
+    public Position get(long packed) {
+        return get(Position.rowOf(packed), Position.colOf(packed));
+    }
+
+    /** The canonical instance equal to p. */
+    public Position canonical(Position p) {
+        return p == null ? null : get(p.row, p.col);
+    }
+
+    public Position up(Position p)    { return get(p.row - 1, p.col); }
+    public Position down(Position p)  { return get(p.row + 1, p.col); }
+    public Position left(Position p)  { return get(p.row, p.col - 1); }
+    public Position right(Position p) { return get(p.row, p.col + 1); }
+}
@@ -1,15 +1,49 @@
 package game.core.world;
 
+/**
+ * One board cell's category.
+ *
+ * World stores categories as bytes and hands out the shared, immutable tiles
+ * from of() (and OUT_OF_BOUNDS for cells off the map), so reading a tile
+ * allocates nothing. Change a world's cell through World.setTile or
+ * setCategory, not through a tile it returned.
+ */
 public class Tile {
+
+    private static final TileCategory[] CATEGORIES = TileCategory.values();
+    private static final Tile[] SHARED = new Tile[CATEGORIES.length];
+
+    static {
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            SHARED[i] = new Tile(CATEGORIES[i], true);
+        }
+    }
+
+    /** What World.getTile returns for any cell off the map: blocked, immutable. */
+    public static final Tile OUT_OF_BOUNDS = new Tile(TileCategory.BLOCKED, true);
+
     private TileCategory category;
+    private final boolean shared;
 
     public Tile(TileCategory category) {
+        this(category, false);
+    }
+
+    private Tile(TileCategory category, boolean shared) {
         this.category = category;
+        this.shared = shared;
+    }
+
+    /** The shared, immutable tile of a category. */
+    public static Tile of(TileCategory category) {
+        return SHARED[category.ordinal()];
     }
 
     public TileCategory getCategory() { return category; }
 
+    /** @throws UnsupportedOperationException on a shared tile (see of) */
     public void setCategory(TileCategory category) {
+        if (shared) throw new UnsupportedOperationException("Shared tiles are immutable; use World.setCategory");
         this.category = category;
     }
 
@@ -0,0 +1,28 @@
+package game.core.world;
+
+/**
+ * Where a World keeps its cells: one byte per cell, the TileCategory
+ * ordinal. World reads every cell through this, so a board can be a plain
+ * array (the default) or something larger that is only partly in memory,
+ * such as a ChunkedGrid.
+ */
+public interface TileGrid {
+
+    /** True if the grid has fixed rows() x cols() (rows and cols from 0); false if it is unbounded. */
+    boolean isBounded();
+
+    /** Number of rows; only meaningful when bounded. */
+    int rows();
+
+    /** Number of columns; only meaningful when bounded. */
+    int cols();
+
+    /** False for a cell off the map, which World then treats as blocked. */
+    boolean contains(int row, int col);
+
+    /** Category ordinal of a cell; only called when contains(row, col). */
+    byte get(int row, int col);
+
+    /** Only called when contains(row, col). */
+    void set(int row, int col, byte category);
+}
@@ -1,27 +1,111 @@
 package game.core.world;
 
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
+
+import java.util.Arrays;
+
+/**
+ * A board of tile categories, plus the party's position.
+ *
+ * Cells are stored as one byte each (the TileCategory ordinal) in a
+ * TileGrid: by default a flat array indexed row * cols + col, so a
+ * 4096 x 4096 map takes 16 MB rather than one Tile object per cell, or a
+ * ChunkedGrid for an unbounded world generated as the party explores.
+ * getTile hands out shared immutable tiles, and Tile.OUT_OF_BOUNDS for any
+ * cell off the map; categoryAt and isAccessible answer the same questions
+ * from plain row/col ints.
+ */
 public class World {
-    private Tile[][] grid;
+
+    private static final TileCategory[] CATEGORIES = TileCategory.values();
+    private static final byte BLOCKED = (byte) TileCategory.BLOCKED.ordinal();
+
+    private final TileGrid grid;
     private Position partyPosition;
+    private final PositionCache positions;
 
     public World(Tile[][] grid, Position start) {
+        this(grid.length, grid.length == 0 ? 0 : grid[0].length, TileCategory.COMMON, start);
+        for (int r = 0; r < grid.length; r++) {
+            for (int c = 0; c < grid[r].length; c++) {
+                this.grid.set(r, c, (byte) grid[r][c].getCategory().ordinal());
+            }
+        }
+    }
+
+    /** A rows x cols world with every cell set to fill. */
+    public World(int rows, int cols, TileCategory fill, Position start) {
+        this(rows, cols, newCells(rows, cols, fill), start);
+    }
+
+    /**
+     * A world over cells (TileCategory ordinals, row-major), which it takes
+     * over without copying.
+     *
+     * @throws IllegalArgumentException if cells is not rows * cols long or holds an unknown category
+     */
+    public World(int rows, int cols, byte[] cells, Position start) {
+        if (rows < 0 || cols < 0 || (long) rows * cols != cells.length) {
+            throw new IllegalArgumentException("Expected " + rows + "x" + cols + " cells, got " + cells.length);
+        }
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] < 0 || cells[i] >= CATEGORIES.length) {
+                throw new IllegalArgumentException("Unknown tile category " + cells[i] + " at cell " + i);
+            }
+        }
+        this.grid = new ArrayTileGrid(rows, cols, cells);
+        this.positions = new PositionCache(rows, cols);
+        this.partyPosition = positions.canonical(start);
+    }
+
+    /**
+     * A world over any grid. An unbounded grid has no row/col extent, so
+     * getRows, getCols and print are not available for it.
+     */
+    public World(TileGrid grid, Position start) {
         this.grid = grid;
-        this.partyPosition = start;
+        // an unbounded world has no fixed table to cache; its positions are allocated
+        this.positions = grid.isBounded() ? new PositionCache(grid.rows(), grid.cols()) : new PositionCache(0, 0);
+        this.partyPosition = positions.canonical(start);
     }
 
-    public Tile getTile(Position p) {
-        if (p.row < 0 || p.row >= grid.length ||
-            p.col < 0 || p.col >= grid[0].length) {
-            // Treat out-of-bounds as blocked
-            return new Tile(TileCategory.BLOCKED);
+    private static byte[] newCells(int rows, int cols, TileCategory fill) {
+        long n = (long) rows * cols;
+        if (rows < 0 || cols < 0 || n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bad world size " + rows + "x" + cols);
         }
-        return grid[p.row][p.col];
+        byte[] cells = new byte[(int) n];
+        Arrays.fill(cells, (byte) fill.ordinal());
+        return cells;
+    }
+
+    /** Shared Position instances for this board; use them on hot paths instead of new/up()/down(). */
+    public PositionCache positions() {
+        return positions;
+    }
+
+    public Tile getTile(Position p) {
+        // Treat out-of-bounds as blocked
+        if (!grid.contains(p.row, p.col)) return Tile.OUT_OF_BOUNDS;
+        return Tile.of(CATEGORIES[grid.get(p.row, p.col)]);
+    }
+
+    /** Category of a cell; BLOCKED off the map. */
+    public TileCategory categoryAt(int row, int col) {
+        if (!grid.contains(row, col)) return TileCategory.BLOCKED;
+        return CATEGORIES[grid.get(row, col)];
+    }
+
+    /** Same as getTile(row, col).isAccessible(), without building a Position. */
+    public boolean isAccessible(int row, int col) {
+        return grid.contains(row, col) && grid.get(row, col) != BLOCKED;
     }
 
     public boolean moveTo(Position p) {
         Tile t = getTile(p);
         if (!t.isAccessible()) {
-            System.out.println("You cannot move there.");
+            GameOutputs.current().println("You cannot move there.");
             return false;
         }
         this.partyPosition = p;
@@ -32,30 +116,55 @@ public class World {
         return partyPosition;
     }
 
+    /** False for an open world that has no edges (see ChunkedGrid). */
+    public boolean isBounded() {
+        return grid.isBounded();
+    }
+
+    /** The grid the cells live in. */
+    public TileGrid getGrid() {
+        return grid;
+    }
+
+    /** @throws IllegalStateException for an unbounded world */
     public int getRows() {
-        return grid.length;
+        requireBounded();
+        return grid.rows();
     }
 
+    /** @throws IllegalStateException for an unbounded world */
     public int getCols() {
-        return grid[0].length;
+        requireBounded();
+        return grid.cols();
     }
 
+    /** @throws IllegalStateException for an unbounded world */
     public void print() {
-        for (int r = 0; r < grid.length; r++) {
-            for (int c = 0; c < grid[0].length; c++) {
+        GameOutput out = GameOutputs.current();
+        for (int r = 0; r < getRows(); r++) {
+            for (int c = 0; c < getCols(); c++) {
                 if (partyPosition.row == r && partyPosition.col == c) {
-                    System.out.print("P ");
+                    out.print("P ");
                 } else {
-                    System.out.print(grid[r][c].toString() + " ");
+                    out.print(Tile.of(categoryAt(r, c)).toString() + " ");
                 }
             }
-            System.out.println();
+            out.println();
         }
     }
 
+    /** Sets the cell at p to t's category (t itself is not kept). */
     public void setTile(Position p, Tile t) {
-        grid[p.row][p.col] = t;
+        setCategory(p.row, p.col, t.getCategory());
+    }
+
+    /** @throws ArrayIndexOutOfBoundsException off the map, like the old grid */
+    public void setCategory(int row, int col, TileCategory category) {
+        if (!grid.contains(row, col)) throw new ArrayIndexOutOfBoundsException("(" + row + "," + col + ") is off the map");
+        grid.set(row, col, (byte) category.ordinal());
     }
 
-    
+    private void requireBounded() {
+        if (!grid.isBounded()) throw new IllegalStateException("An open world has no fixed size");
+    }
 }
@@ -1,11 +1,10 @@
 package game.emotionlanes;
 
+import java.io.IOException;
 import java.util.Scanner;
-import java.util.ArrayList;
 import java.util.List;
 
 import game.core.items.Armor;
-import game.core.items.Item;
 import game.core.items.Potion;
 import game.core.items.Spell;
 import game.core.items.Weapon;
@@ -16,6 +15,10 @@ import game.emotionlanes.logic.MonsterWaveSpawner;
 
 
 import game.core.game.Game;
+import game.core.io.FlushingInputStream;
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
+import game.core.random.SeedSource;
 import game.emotionlanes.logic.LanesState;
 import game.emotionlanes.logic.SpawnManager;
 import game.emotionlanes.logic.TokenMapper;
@@ -26,6 +29,7 @@ import game.emotionlanes.ui.EmotionLanesRenderer;
 import game.emotionlanes.world.EmotionLanesWorldBuilder;
 import game.emotionlanes.world.EmotionLanesWorldData;
 import game.emotionlanes.terrain.TerrainEffectManager;
+import game.emotionwar.factory.ContentWatcher;
 
 /**
  * Main game loop for Emotion Lanes (a lane-based "Defense of the Core" mode).
@@ -38,7 +42,12 @@ import game.emotionlanes.terrain.TerrainEffectManager;
 
 public class EmotionLanesGame implements Game {
 
-    private final Scanner sc = new Scanner(System.in);
+    /** -Dsoulrealms.lanesmap=<file> plays on an authored board (see app.ConvertMaps). */
+    public static final String MAP_PROPERTY = "soulrealms.lanesmap";
+
+    private final GameOutput out = GameOutputs.current();
+
+    private final Scanner sc = new Scanner(FlushingInputStream.stdin());
 
     private EmotionLanesWorldData data;
     private LanesState state;
@@ -48,8 +57,9 @@ public class EmotionLanesGame implements Game {
 
     private TerrainEffectManager terrain;
     private TurnManager turns;
-    private final SpawnManager spawns = new SpawnManager();
+    private SpawnManager spawns;
     private NexusMarketService market;
+    private long marketGeneration;      // ContentWatcher.generation() the market was built from
 
     private int round = 1;
     private Difficulty difficulty = Difficulty.MEDIUM;
@@ -59,18 +69,33 @@ public class EmotionLanesGame implements Game {
 
     @Override
     public void init() {
-        data = EmotionLanesWorldBuilder.buildDefaultWorld();
-        state = new LanesState(data.getWorld(), data.getGlyphLayer(), data.getHeroSpawns());
+        // replay a session with -Dsoulrealms.seed=<seed>
+        SeedSource seeds = SeedSource.fromSystemProperty();
+        out.println("Session seed: " + seeds.getSeed());
+
+        data = null;
+        String mapFile = System.getProperty(MAP_PROPERTY);
+        if (mapFile != null) {
+            try {
+                data = EmotionLanesWorldBuilder.loadMap(mapFile);
+            } catch (IOException e) {
+                out.println("Cannot load map " + mapFile + ": " + e.getMessage());
+            }
+        }
+        if (data == null) data = EmotionLanesWorldBuilder.buildDefaultWorld(seeds.stream("world"));
+        state = new LanesState(data);
         renderer = new EmotionLanesRenderer(data);
 
-        terrain = new TerrainEffectManager(data.getGlyphLayer(), true);
-        turns = new TurnManager(terrain);
+        terrain = new TerrainEffectManager(data, true);
+        turns = new TurnManager(terrain, seeds.stream("turns"));
 
         roundSystem = new RoundSystem(terrain, data);
-        waveSpawner = new MonsterWaveSpawner(terrain, data);
+        waveSpawner = new MonsterWaveSpawner(terrain, data, seeds.stream("waves"));
+        spawns = new SpawnManager(seeds.stream("spawns"));
 
 
         // Nexus market stock from EmotionWar item files
+        marketGeneration = ContentWatcher.generation();
         market = new NexusMarketService();
 
         // Read heroes/monsters from EmotionWar data files
@@ -85,6 +110,13 @@ public void run() {
 
     while (running) {
 
+        // data files edited during the last round (see ContentWatcher)
+        ContentWatcher.applyPending();
+        if (ContentWatcher.generation() != marketGeneration) {
+            marketGeneration = ContentWatcher.generation();
+            market = new NexusMarketService();
+        }
+
         // start of round: respawn dead heroes
         roundSystem.startOfRoundRespawns(state);
 
@@ -123,14 +155,15 @@ renderer.renderNoLegend(
 );
 
 // print log UNDER board
-System.out.println();
-System.out.println("=== MONSTER PHASE LOG ===");
+out.println();
+out.println("=== MONSTER PHASE LOG ===");
 if (monsterLog.isEmpty()) {
-    System.out.println("No monster actions.");
+    out.println("No monster actions.");
 } else {
-    for (String s : monsterLog) System.out.println(s);
+    for (String s : monsterLog) out.println(s);
 }
-System.out.println("========================");
+out.println("========================");
+out.flush(); // board + log go out as one write
 pauseTiny();
 
 
@@ -139,6 +172,9 @@ pauseTiny();
         // end of round: regen alive heroes
         roundSystem.endOfRoundRegen(state);
 
+        // end of round: clear the dead off the board (reused by the next waves)
+        waveSpawner.recycleDead(state);
+
         // end of round: spawn waves every N rounds
         int interval = difficulty.getSpawnEveryRounds();
         int monsterLevel = 1 + (round / 6);
@@ -147,16 +183,16 @@ pauseTiny();
         round++;
     }
 
-    System.out.println("Back to main menu.");
+    out.println("Back to main menu.");
 }
 
 
 private Difficulty pickDifficulty() {
-    System.out.println("Choose difficulty:");
-    System.out.println("1) EASY   (spawn every 6 rounds)");
-    System.out.println("2) MEDIUM (spawn every 4 rounds)");
-    System.out.println("3) HARD   (spawn every 2 rounds)");
-    System.out.print("> ");
+    out.println("Choose difficulty:");
+    out.println("1) EASY   (spawn every 6 rounds)");
+    out.println("2) MEDIUM (spawn every 4 rounds)");
+    out.println("3) HARD   (spawn every 2 rounds)");
+    out.print("> ");
     String s = sc.nextLine().trim();
     if ("1".equals(s)) return Difficulty.EASY;
     if ("3".equals(s)) return Difficulty.HARD;
@@ -167,25 +203,22 @@ private Difficulty pickDifficulty() {
     private void usePotion(LaneUnit laneHero) {
     if (laneHero.getHero() == null) return;
 
-    List<Item> items = laneHero.getHero().getInventory().getItems();
-    List<Potion> potions = new ArrayList<Potion>();
-    for (Item it : items) {
-        if (it instanceof Potion) potions.add((Potion) it);
-    }
+    List<Potion> potions = laneHero.getHero().getInventory().getPotions();
 
     if (potions.isEmpty()) {
-        System.out.println("No potions.");
+        out.println("No potions.");
         pauseTiny();
         return;
     }
 
-    System.out.println("Choose potion:");
+    out.println("Choose potion:");
     for (int i = 0; i < potions.size(); i++) {
         Potion p = potions.get(i);
-        System.out.println((i + 1) + ") " + p.getName() + " (+" + p.getAmount() + " " + p.getStat() + ")");
+        out.println((i + 1) + ") " + p.getName() + " (+" + p.getAmount() + " " + p.getStat() + ")"
+                + laneHero.getHero().getInventory().countSuffix(p));
     }
-    System.out.println("0) Cancel");
-    System.out.print("> ");
+    out.println("0) Cancel");
+    out.print("> ");
     String s = sc.nextLine().trim();
 
     int idx;
@@ -196,37 +229,33 @@ private Difficulty pickDifficulty() {
     chosen.applyTo(laneHero.getHero());
     laneHero.getHero().getInventory().remove(chosen);
 
-    System.out.println("Used " + chosen.getName() + ".");
+    out.println("Used " + chosen.getName() + ".");
     pauseTiny();
 }
 
 private void castSpell(LaneUnit laneHero, LaneUnit engagedMonster) {
     if (laneHero.getHero() == null) return;
     if (engagedMonster == null || engagedMonster.getMonster() == null) {
-        System.out.println("No engaged monster to target.");
+        out.println("No engaged monster to target.");
         pauseTiny();
         return;
     }
 
-    List<Item> items = laneHero.getHero().getInventory().getItems();
-    List<Spell> spells = new ArrayList<Spell>();
-    for (Item it : items) {
-        if (it instanceof Spell) spells.add((Spell) it);
-    }
+    List<Spell> spells = laneHero.getHero().getInventory().getSpells();
 
     if (spells.isEmpty()) {
-        System.out.println("No spells.");
+        out.println("No spells.");
         pauseTiny();
         return;
     }
 
-    System.out.println("Choose spell:");
+    out.println("Choose spell:");
     for (int i = 0; i < spells.size(); i++) {
         Spell sp = spells.get(i);
-        System.out.println((i + 1) + ") " + sp.getName() + " (DMG " + sp.getDamage() + ", MP " + sp.getManaCost() + ")");
+        out.println((i + 1) + ") " + sp.getName() + " (DMG " + sp.getDamage() + ", MP " + sp.getManaCost() + ")");
     }
-    System.out.println("0) Cancel");
-    System.out.print("> ");
+    out.println("0) Cancel");
+    out.print("> ");
     String s = sc.nextLine().trim();
 
     int idx;
@@ -236,7 +265,7 @@ private void castSpell(LaneUnit laneHero, LaneUnit engagedMonster) {
     Spell spell = spells.get(idx - 1);
 
     if (!laneHero.getHero().spendMp(spell.getManaCost())) {
-        System.out.println("Not enough MP.");
+        out.println("Not enough MP.");
         pauseTiny();
         return;
     }
@@ -245,16 +274,16 @@ private void castSpell(LaneUnit laneHero, LaneUnit engagedMonster) {
     int raw = spell.getDamage() + laneHero.getBonusDex();
     engagedMonster.takeHit(raw);
 
-    System.out.println("✨ " + laneHero.getId() + " casts " + spell.getName() + "!");
-    if (!engagedMonster.isAlive()) System.out.println("✅ " + engagedMonster.getId() + " defeated.");
+    out.println("✨ " + laneHero.getId() + " casts " + spell.getName() + "!");
+    if (!engagedMonster.isAlive()) out.println("✅ " + engagedMonster.getId() + " defeated.");
     pauseTiny();
 }
 
 private void showInventory(LaneUnit laneHero) {
     if (laneHero.getHero() == null) return;
 
-    System.out.println("=== INVENTORY: " + laneHero.getHero().getName() + " ===");
-    System.out.println(laneHero.getHero().getInventory());
+    out.println("=== INVENTORY: " + laneHero.getHero().getName() + " ===");
+    out.println(laneHero.getHero().getInventory());
     pauseTiny();
 }
 
@@ -274,9 +303,9 @@ private void showInventory(LaneUnit laneHero) {
         LaneUnit engaged = turns.engagedMonsterForHero(state, h);
         boolean engagedNow = (engaged != null && engaged.isAlive());
 
-        boolean canClearObstacle = turns.hasAdjacentObstacle(data.getGlyphLayer(), h.getPos());
+        boolean canClearObstacle = turns.hasAdjacentObstacle(data, h.getPos());
 
-        System.out.println("Hero turn: " + h.getId() + ": " + h.getHero().getName()
+        out.println("Hero turn: " + h.getId() + ": " + h.getHero().getName()
                 + " HP: " + h.hpString()
                 + " MP: " + h.getHero().getMp()
                 + " Gold: " + h.getHero().getGold()
@@ -286,7 +315,7 @@ private void showInventory(LaneUnit laneHero) {
                 + " AGI+" + h.getBonusAgi() + ")");
 
         if (engagedNow) {
-            System.out.println("!!! IN RANGE of " + engaged.getId() + " HP " + engaged.hpString());
+            out.println("!!! IN RANGE of " + engaged.getId() + " HP " + engaged.hpString());
         }
 
         // ---- Build menu dynamically (stable mapping) ----
@@ -317,31 +346,31 @@ private void showInventory(LaneUnit laneHero) {
         final int skipOpt   = opt++;
 
         // ---- Print menu ----
-        System.out.println(moveOpt + ") Move (W/A/S/D)");
-        System.out.println(tpOpt   + ") Teleport (across lanes)");
+        out.println(moveOpt + ") Move (W/A/S/D)");
+        out.println(tpOpt   + ") Teleport (across lanes)");
 
         if (clearOpt != null) {
-            System.out.println(clearOpt + ") Clear Obstacle (adjacent O -> becomes P)");
+            out.println(clearOpt + ") Clear Obstacle (adjacent O -> becomes P)");
         }
 
         if (attackOpt != null) {
-            System.out.println(attackOpt + ") Attack");
-            System.out.println(spellOpt  + ") Cast Spell");
+            out.println(attackOpt + ") Attack");
+            out.println(spellOpt  + ") Cast Spell");
         }
 
-        System.out.println(potionOpt + ") Use Potion");
-        System.out.println(invOpt    + ") Inventory (free)");
-        System.out.println(weaponOpt + ") Change Weapon");
-        System.out.println(armorOpt  + ") Change Armor");
+        out.println(potionOpt + ") Use Potion");
+        out.println(invOpt    + ") Inventory (free)");
+        out.println(weaponOpt + ") Change Weapon");
+        out.println(armorOpt  + ") Change Armor");
 
         if (marketOpt != null) {
-            System.out.println(marketOpt + ") Market (Hero Nexus)");
+            out.println(marketOpt + ") Market (Hero Nexus)");
         }
 
-        System.out.println(recallOpt + ") Recall (return to your Nexus)");
-        System.out.println(skipOpt   + ") Skip");
-        System.out.println("Q) Quit to menu");
-        System.out.print("> ");
+        out.println(recallOpt + ") Recall (return to your Nexus)");
+        out.println(skipOpt   + ") Skip");
+        out.println("Q) Quit to menu");
+        out.print("> ");
 
         String choice = sc.nextLine().trim().toUpperCase();
         if ("Q".equals(choice)) return false;
@@ -382,7 +411,7 @@ private void showInventory(LaneUnit laneHero) {
         // ---- Attack / Spell (consume) ----
         if (attackOpt != null && choice.equals(String.valueOf(attackOpt))) {
             if (!engagedNow) {
-                System.out.println("No monster in range.");
+                out.println("No monster in range.");
                 pauseTiny();
                 continue;
             }
@@ -392,7 +421,7 @@ private void showInventory(LaneUnit laneHero) {
 
         if (spellOpt != null && choice.equals(String.valueOf(spellOpt))) {
             if (!engagedNow) {
-                System.out.println("No monster in range.");
+                out.println("No monster in range.");
                 pauseTiny();
                 continue;
             }
@@ -402,14 +431,14 @@ private void showInventory(LaneUnit laneHero) {
 
         // ---- Clear obstacle (consume) ----
         if (clearOpt != null && choice.equals(String.valueOf(clearOpt))) {
-            System.out.print("Clear obstacle direction (W/A/S/D) or X cancel: ");
+            out.print("Clear obstacle direction (W/A/S/D) or X cancel: ");
             String mv = sc.nextLine().trim().toUpperCase();
             if (mv.length() == 0) continue;
             if ("X".equals(mv)) continue;
 
-            boolean ok = turns.tryRemoveObstacleAdjacent(h, mv.charAt(0));
+            boolean ok = turns.tryRemoveObstacleAdjacent(data.getWorld(), h, mv.charAt(0));
             if (!ok) {
-                System.out.println("No obstacle in that direction.");
+                out.println("No obstacle in that direction.");
                 pauseTiny();
                 continue;
             }
@@ -420,7 +449,7 @@ private void showInventory(LaneUnit laneHero) {
         if (choice.equals(String.valueOf(recallOpt))) {
             boolean ok = turns.recallHero(state, h);
             if (!ok) {
-                System.out.println("Recall failed.");
+                out.println("Recall failed.");
                 pauseTiny();
                 continue;
             }
@@ -429,7 +458,7 @@ private void showInventory(LaneUnit laneHero) {
 
         // ---- Move (consume) ----
         if (choice.equals(String.valueOf(moveOpt))) {
-            System.out.print("Direction (W/A/S/D) or X cancel: ");
+            out.print("Direction (W/A/S/D) or X cancel: ");
             String mv = sc.nextLine().trim().toUpperCase();
             if (mv.length() == 0) continue;
             if ("X".equals(mv)) continue;
@@ -437,7 +466,7 @@ private void showInventory(LaneUnit laneHero) {
             char dir = mv.charAt(0);
             boolean moved = turns.tryMoveHero(data.getWorld(), state, h, dir);
             if (!moved) {
-                System.out.println("Blocked / illegal move.");
+                out.println("Blocked / illegal move.");
                 pauseTiny();
                 continue;
             }
@@ -451,14 +480,14 @@ private void showInventory(LaneUnit laneHero) {
 
             boolean ok = turns.tryTeleportHero(data.getWorld(), state, h, target);
             if (!ok) {
-                System.out.println("Teleport failed.");
+                out.println("Teleport failed.");
                 pauseTiny();
                 continue;
             }
             return true;
         }
 
-        System.out.println("Invalid.");
+        out.println("Invalid.");
         pauseTiny();
     }
 }
@@ -466,15 +495,15 @@ private void showInventory(LaneUnit laneHero) {
 
 
     private LaneUnit pickOtherHero(LaneUnit current) {
-        System.out.println("Teleport target hero:");
+        out.println("Teleport target hero:");
         for (int i = 0; i < state.getHeroes().size(); i++) {
             LaneUnit h = state.getHeroes().get(i);
             if (!h.isAlive()) continue;
             if (h == current) continue;
-            System.out.println((i + 1) + ") " + h.getId() + " at " + h.getPos());
+            out.println((i + 1) + ") " + h.getId() + " at " + h.getPos());
         }
-        System.out.println("0) Cancel");
-        System.out.print("> ");
+        out.println("0) Cancel");
+        out.print("> ");
         String s = sc.nextLine().trim();
         int idx;
         try { idx = Integer.parseInt(s); } catch (NumberFormatException e) { return null; }
@@ -488,7 +517,7 @@ private void showInventory(LaneUnit laneHero) {
     }
 
     private void pauseTiny() {
-        System.out.print("(press Enter) ");
+        out.print("(press Enter) ");
         sc.nextLine();
     }
 
@@ -499,7 +528,7 @@ private void showInventory(LaneUnit laneHero) {
         // win: any hero reaches monster nexus row
         for (LaneUnit h : state.getHeroes()) {
             if (h.isAlive() && h.getPos().row == topRow) {
-                System.out.println("You sealed the Rift! (Hero reached Monster Nexus)");
+                out.println("You sealed the Rift! (Hero reached Monster Nexus)");
                 return true;
             }
         }
@@ -507,7 +536,7 @@ private void showInventory(LaneUnit laneHero) {
         // lose: any monster reaches hero nexus row
         for (LaneUnit m : state.getMonsters()) {
             if (m.isAlive() && m.getPos().row == bottomRow) {
-                System.out.println("The Core is breached! (Monster reached Hero Nexus)");
+                out.println("The Core is breached! (Monster reached Hero Nexus)");
                 return true;
             }
         }
@@ -517,35 +546,33 @@ private void showInventory(LaneUnit laneHero) {
     private void changeWeapon(LaneUnit laneHero) {
         if (laneHero.getHero() == null) return;
 
-        List<Item> items = laneHero.getHero().getInventory().getItems();
-        List<Weapon> weapons = new ArrayList<Weapon>();
-        for (Item it : items) if (it instanceof Weapon) weapons.add((Weapon) it);
+        List<Weapon> weapons = laneHero.getHero().getInventory().getWeapons();
 
         if (weapons.isEmpty()) {
-            System.out.println("No weapons in inventory.");
+            out.println("No weapons in inventory.");
             pauseTiny();
             return;
         }
 
-        System.out.println("Current weapons equipped:");
-        System.out.println("  Main: " + (laneHero.getHero().getMainHand() == null ? "(none)" : laneHero.getHero().getMainHand()));
-        System.out.println("  Off : " + (laneHero.getHero().getOffHand() == null ? "(none)" : laneHero.getHero().getOffHand()));
-        System.out.println();
+        out.println("Current weapons equipped:");
+        out.println("  Main: " + (laneHero.getHero().getMainHand() == null ? "(none)" : laneHero.getHero().getMainHand()));
+        out.println("  Off : " + (laneHero.getHero().getOffHand() == null ? "(none)" : laneHero.getHero().getOffHand()));
+        out.println();
 
-        System.out.println("Choose weapon to equip:");
+        out.println("Choose weapon to equip:");
         for (int i = 0; i < weapons.size(); i++) {
-            System.out.println((i + 1) + ") " + weapons.get(i));
+            out.println((i + 1) + ") " + weapons.get(i));
         }
-        System.out.println("0) Cancel");
-        System.out.print("> ");
+        out.println("0) Cancel");
+        out.print("> ");
 
         String s = sc.nextLine().trim();
         int idx;
         try { idx = Integer.parseInt(s); }
-        catch (NumberFormatException e) { System.out.println("Invalid."); pauseTiny(); return; }
+        catch (NumberFormatException e) { out.println("Invalid."); pauseTiny(); return; }
 
         if (idx == 0) return;
-        if (idx < 1 || idx > weapons.size()) { System.out.println("Invalid."); pauseTiny(); return; }
+        if (idx < 1 || idx > weapons.size()) { out.println("Invalid."); pauseTiny(); return; }
 
         Weapon chosen = weapons.get(idx - 1);
         laneHero.getHero().equipWeapon(chosen); // does level + hand rules inside
@@ -555,50 +582,48 @@ private void showInventory(LaneUnit laneHero) {
     private void changeArmor(LaneUnit laneHero) {
     if (laneHero.getHero() == null) return;
 
-    List<Item> items = laneHero.getHero().getInventory().getItems();
-    List<Armor> armors = new ArrayList<Armor>();
-    for (Item it : items) if (it instanceof Armor) armors.add((Armor) it);
+    List<Armor> armors = laneHero.getHero().getInventory().getArmors();
 
     if (armors.isEmpty()) {
-        System.out.println("No armor in inventory.");
+        out.println("No armor in inventory.");
         pauseTiny();
         return;
     }
 
-    System.out.println("Current armor equipped:");
-    System.out.println("  Armor: " + (laneHero.getHero().getArmor() == null ? "(none)" : laneHero.getHero().getArmor().getName()));
-    System.out.println();
+    out.println("Current armor equipped:");
+    out.println("  Armor: " + (laneHero.getHero().getArmor() == null ? "(none)" : laneHero.getHero().getArmor().getName()));
+    out.println();
 
-    System.out.println("Choose armor to equip:");
+    out.println("Choose armor to equip:");
     for (int i = 0; i < armors.size(); i++) {
         Armor a = armors.get(i);
-        System.out.println((i + 1) + ") " + a.getName()
+        out.println((i + 1) + ") " + a.getName()
                 + " (DR " + a.getDamageReduction()
                 + ", lvl " + a.getRequiredLevel() + ")");
     }
-    System.out.println("0) Cancel");
-    System.out.print("> ");
+    out.println("0) Cancel");
+    out.print("> ");
 
     String s = sc.nextLine().trim();
     int idx;
     try { idx = Integer.parseInt(s); }
-    catch (NumberFormatException e) { System.out.println("Invalid."); pauseTiny(); return; }
+    catch (NumberFormatException e) { out.println("Invalid."); pauseTiny(); return; }
 
     if (idx == 0) return;
-    if (idx < 1 || idx > armors.size()) { System.out.println("Invalid."); pauseTiny(); return; }
+    if (idx < 1 || idx > armors.size()) { out.println("Invalid."); pauseTiny(); return; }
 
     Armor chosen = armors.get(idx - 1);
 
     // REQUIRED: enforce level (same idea as weapon)
     if (chosen.getRequiredLevel() > laneHero.getHero().getLevel()) {
-        System.out.println(laneHero.getHero().getName()
+        out.println(laneHero.getHero().getName()
                 + " is not high enough level to equip " + chosen.getName() + ".");
         pauseTiny();
         return;
     }
 
     laneHero.getHero().equipArmor(chosen); // do NOT remove from inventory
-    System.out.println(laneHero.getHero().getName() + " equips " + chosen.getName() + ".");
+    out.println(laneHero.getHero().getName() + " equips " + chosen.getName() + ".");
     pauseTiny();
 }
 
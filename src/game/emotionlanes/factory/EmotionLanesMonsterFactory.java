@@ -3,89 +3,198 @@ package game.emotionlanes.factory;
 import game.core.model.Stats;
 import game.core.world.Position;
 import game.emotionlanes.model.EmotionLanesMonster;
-import game.emotionwar.factory.FileUtils;
+import game.emotionwar.factory.ContentPack;
+import game.emotionwar.factory.DataPaths;
+import game.emotionwar.factory.RecordFormatException;
+import game.emotionwar.factory.RecordSource;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Uses LaneMonster which extends core Monster class.
+ *
+ * Loaded monsters are indexed by level (see MonsterLevelIndex), so picking a
+ * wave monster is constant-time and never fails for levels beyond the data.
  */
 public class EmotionLanesMonsterFactory {
     private static final List<EmotionLanesMonster> MONSTERS = new ArrayList<EmotionLanesMonster>();
-    private static final Random RNG = new Random();
+    private static final List<Double> WEIGHTS = new ArrayList<Double>();
+
+    // replaced wholesale after every load, never modified
+    private static volatile MonsterLevelIndex index = MonsterLevelIndex.EMPTY;
+
+    private static boolean defaultLoaded;
 
     /**
      * Loads monsters from a data file.
-     * Format: name,level,maxHp,maxMp,str,dex,agi,baseDamage,defense,dodge
+     * Format: name,level,maxHp,maxMp,str,dex,agi,baseDamage,defense,dodge[,weight]
+     *
+     * weight is the relative spawn chance among monsters of the same level
+     * (default 1); a level whose weights are all 0 is skipped.
      * 
      * @param path Path to monster data file
      */
-    public static void loadMonsters(String path) {
-        for (String line : FileUtils.readLines(path)) {
-            line = line.trim();
-            if (line.isEmpty() || line.startsWith("#")) continue;
-
-            String[] p = line.split(",");
-            if (p.length < 10) continue;
-
-            String name  = p[0].trim();
-            int level    = Integer.parseInt(p[1].trim());
-            int maxHp    = Integer.parseInt(p[2].trim());
-            int maxMp    = Integer.parseInt(p[3].trim());
-            int str      = Integer.parseInt(p[4].trim());
-            int dex      = Integer.parseInt(p[5].trim());
-            int agi      = Integer.parseInt(p[6].trim());
-            int baseDmg  = Integer.parseInt(p[7].trim());
-            int defense  = Integer.parseInt(p[8].trim());
-            double dodge = Double.parseDouble(p[9].trim());
-
-            Stats stats = new Stats(maxHp, maxMp, str, dex, agi);
-            EmotionLanesMonster m = new EmotionLanesMonster(name, level, stats, baseDmg, defense, dodge,
-                    new Position(0, 0), 0);
-            MONSTERS.add(m);
+    public static synchronized void loadMonsters(String path) {
+        parse(path, MONSTERS, WEIGHTS);
+        index = new MonsterLevelIndex(MONSTERS, WEIGHTS);
+    }
+
+    private static void parse(String path, List<EmotionLanesMonster> monsters, List<Double> weights) {
+        try (RecordSource r = ContentPack.open(path)) {
+            while (r.next()) {
+                if (r.fieldCount() < 10) continue;
+
+                String name  = r.getString(0);
+                int level    = r.getInt(1);
+                int maxHp    = r.getInt(2);
+                int maxMp    = r.getInt(3);
+                int str      = r.getInt(4);
+                int dex      = r.getInt(5);
+                int agi      = r.getInt(6);
+                int baseDmg  = r.getInt(7);
+                int defense  = r.getInt(8);
+                double dodge = r.getDouble(9);
+                double weight = r.fieldCount() > 10 ? r.getDouble(10) : 1.0;
+                if (!(weight >= 0) || Double.isInfinite(weight)) {
+                    throw new RecordFormatException(path, r.getLineNumber(), "bad spawn weight " + weight);
+                }
+
+                Stats stats = new Stats(maxHp, maxMp, str, dex, agi);
+                EmotionLanesMonster m = new EmotionLanesMonster(name, level, stats, baseDmg, defense, dodge,
+                        new Position(0, 0), 0);
+                monsters.add(m);
+                weights.add(weight);
+            }
         }
     }
 
     /**
-     * Gets a random monster of the specified level.
+     * Loads data/monsters/monsters_lanes.txt the first time it is called and
+     * does nothing after that, so every Lanes session shares one roster
+     * instead of appending another copy of it.
+     */
+    public static synchronized void loadDefaultMonsters() {
+        if (defaultLoaded) return;
+        loadMonsters(DataPaths.MONSTERS_LANES);
+        defaultLoaded = true;
+    }
+
+    /**
+     * Re-parses path if it is the default lanes file and that has been
+     * loaded, and returns the step that swaps the new roster in (see
+     * ContentWatcher); null otherwise. Nothing changes until that step runs.
+     *
+     * @throws game.emotionwar.factory.RecordFormatException if the file has a bad value
+     * @throws IllegalStateException if the file no longer has any monsters
+     */
+    public static Runnable prepareReload(String path) {
+        synchronized (EmotionLanesMonsterFactory.class) {
+            if (!defaultLoaded || !DataPaths.MONSTERS_LANES.equals(path)) return null;
+        }
+        final List<EmotionLanesMonster> monsters = new ArrayList<EmotionLanesMonster>();
+        final List<Double> weights = new ArrayList<Double>();
+        parse(path, monsters, weights);
+        if (monsters.isEmpty()) throw new IllegalStateException(path + " has no monsters");
+        final MonsterLevelIndex fresh = new MonsterLevelIndex(monsters, weights);
+        if (fresh.isEmpty()) throw new IllegalStateException(path + " has no monster with a spawn weight");
+
+        return new Runnable() {
+            @Override
+            public void run() {
+                synchronized (EmotionLanesMonsterFactory.class) {
+                    MONSTERS.clear();
+                    MONSTERS.addAll(monsters);
+                    WEIGHTS.clear();
+                    WEIGHTS.addAll(weights);
+                    index = fresh;
+                }
+            }
+        };
+    }
+
+    /** Runs loadDefaultMonsters() on the common pool and returns at once. */
+    public static CompletableFuture<Void> preloadAsync() {
+        return CompletableFuture.runAsync(new Runnable() {
+            @Override
+            public void run() {
+                loadDefaultMonsters();
+            }
+        });
+    }
+
+    /** Forgets every monster loaded so far (benchmarks that reload in a loop). */
+    public static synchronized void clearLoaded() {
+        MONSTERS.clear();
+        WEIGHTS.clear();
+        index = MonsterLevelIndex.EMPTY;
+        defaultLoaded = false;
+    }
+
+    /**
+     * Level that randomForLevel(level, ...) actually draws from: level itself
+     * if it has monsters, else the nearest loaded level (ties go lower).
+     */
+    public static int resolveLevel(int level) {
+        return loadedIndex().resolveLevel(level);
+    }
+
+    /**
+     * Gets a random monster of the specified level, weighted by spawn weight.
+     * Falls back to the nearest level that has monsters.
      * 
      * @param level Desired monster level
      * @param position Position for the new monster
      * @param laneId Lane ID for the new monster
+     * @param rng Caller's random stream
      * @return Cloned monster at that level with position and lane
+     * @throws IllegalStateException if no lanes monsters are loaded
      */
-    public static EmotionLanesMonster randomForLevel(int level, Position position, int laneId) {
-        List<EmotionLanesMonster> candidates = new ArrayList<EmotionLanesMonster>();
-        for (EmotionLanesMonster m : MONSTERS) {
-            if (m.getLevel() == level) {
-                candidates.add(m);
-            }
-        }
-        
-        if (candidates.isEmpty()) {
-            throw new IllegalStateException("No monsters defined for level " + level);
+    public static EmotionLanesMonster randomForLevel(int level, Position position, int laneId,
+                                                     SplittableRandom rng) {
+        return cloneMonster(pickForLevel(level, rng), position, laneId);
+    }
+
+    /**
+     * Same pick as randomForLevel (and the same draws from rng), but written
+     * into an existing monster instead of a new clone.
+     *
+     * @param target Dead monster to reuse
+     * @param level Desired monster level
+     * @param position Position for the monster
+     * @param laneId Lane ID for the monster
+     * @param rng Caller's random stream
+     */
+    public static void reuseForLevel(EmotionLanesMonster target, int level, Position position,
+                                     int laneId, SplittableRandom rng) {
+        target.reuseAs(pickForLevel(level, rng).getDefinition(), position, laneId);
+    }
+
+    private static EmotionLanesMonster pickForLevel(int level, SplittableRandom rng) {
+        return loadedIndex().pick(level, rng);
+    }
+
+    private static MonsterLevelIndex loadedIndex() {
+        MonsterLevelIndex idx = index;
+        if (idx.isEmpty()) {
+            throw new IllegalStateException("No lanes monsters loaded (or every spawn weight is 0)");
         }
-        
-        return cloneMonster(candidates.get(RNG.nextInt(candidates.size())), position, laneId);
+        return idx;
     }
 
     /**
-     * Creates a copy of a monster (for cloning when needed).
+     * Spawns a monster of the prototype's type. Only HP/MP are per monster;
+     * the definition (and its Stats) is shared with the prototype.
      * 
      * @param proto Original monster
      * @param position Position for the new monster
      * @param laneId Lane ID for the new monster
-     * @return New monster with copied stats
+     * @return New monster at full health
      */
     private static EmotionLanesMonster cloneMonster(EmotionLanesMonster proto, Position position, int laneId) {
-        Stats s = proto.getStats();
-        Stats copyStats = new Stats(s.getMaxHp(), s.getMaxMp(),
-                s.getStrength(), s.getDexterity(), s.getAgility());
-        return new EmotionLanesMonster(proto.getName(), proto.getLevel(),
-                copyStats, proto.getBaseDamage(), proto.getDefense(), proto.getRawDodgeChance(),
-                position, laneId);
+        return new EmotionLanesMonster(proto.getDefinition(), position, laneId);
     }
 }
 
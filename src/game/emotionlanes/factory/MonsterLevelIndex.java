@@ -0,0 +1,112 @@
+package game.emotionlanes.factory;
+
+import game.core.random.AliasTable;
+import game.emotionlanes.model.EmotionLanesMonster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Immutable level -> monster prototypes index, rebuilt whenever the factory
+ * loads data.
+ *
+ * Every level from the lowest to the highest loaded one has a slot. Empty
+ * slots point at the nearest level that has monsters (ties go to the lower
+ * level), and levels outside the range clamp to its ends, so any level
+ * resolves in O(1) and a pick is one alias-table sample.
+ *
+ * A level whose monsters all have spawn weight 0 is disabled: it counts as
+ * empty and requests for it go to the nearest enabled level.
+ */
+final class MonsterLevelIndex {
+
+    static final MonsterLevelIndex EMPTY =
+            new MonsterLevelIndex(new ArrayList<EmotionLanesMonster>(), new ArrayList<Double>());
+
+    private final int minLevel;
+    private final EmotionLanesMonster[][] byLevel;  // [level - minLevel], in load order
+    private final AliasTable[] tables;
+    private final int[] nearest;                    // [level - minLevel] -> slot with monsters
+
+    /** @param weights spawn weight of monsters.get(i) */
+    MonsterLevelIndex(List<EmotionLanesMonster> monsters, List<Double> weights) {
+        if (monsters.isEmpty()) {
+            minLevel = 0;
+            byLevel = new EmotionLanesMonster[0][];
+            tables = new AliasTable[0];
+            nearest = new int[0];
+            return;
+        }
+
+        int lo = Integer.MAX_VALUE;
+        int hi = Integer.MIN_VALUE;
+        for (int i = 0; i < monsters.size(); i++) {
+            int level = monsters.get(i).getLevel();
+            lo = Math.min(lo, level);
+            hi = Math.max(hi, level);
+        }
+        minLevel = lo;
+        int slots = hi - lo + 1;
+
+        byLevel = new EmotionLanesMonster[slots][];
+        tables = new AliasTable[slots];
+        for (int s = 0; s < slots; s++) {
+            List<EmotionLanesMonster> bucket = new ArrayList<EmotionLanesMonster>();
+            List<Double> bucketWeights = new ArrayList<Double>();
+            for (int i = 0; i < monsters.size(); i++) {
+                if (monsters.get(i).getLevel() - lo == s) {
+                    bucket.add(monsters.get(i));
+                    bucketWeights.add(weights.get(i));
+                }
+            }
+            double total = 0;
+            double[] w = new double[bucketWeights.size()];
+            for (int i = 0; i < w.length; i++) {
+                w[i] = bucketWeights.get(i);
+                total += w[i];
+            }
+            if (!(total > 0)) continue;
+
+            byLevel[s] = bucket.toArray(new EmotionLanesMonster[bucket.size()]);
+            tables[s] = new AliasTable(w);
+        }
+
+        nearest = new int[slots];
+        int below = -1;
+        for (int s = 0; s < slots; s++) {
+            if (byLevel[s] != null) below = s;
+            nearest[s] = below;
+        }
+        int above = -1;
+        for (int s = slots - 1; s >= 0; s--) {
+            if (byLevel[s] != null) above = s;
+            int b = nearest[s];
+            if (b < 0 || (above >= 0 && above - s < s - b)) nearest[s] = above;
+        }
+    }
+
+    /** True if no level has a monster that can spawn. */
+    boolean isEmpty() {
+        // nearest[0] < 0 only when every slot is empty
+        return nearest.length == 0 || nearest[0] < 0;
+    }
+
+    /** Level whose monsters a request for level is served from. */
+    int resolveLevel(int level) {
+        return slotFor(level) + minLevel;
+    }
+
+    /** One prototype for level (or the nearest loaded level), by spawn weight. */
+    EmotionLanesMonster pick(int level, SplittableRandom rng) {
+        int s = slotFor(level);
+        return byLevel[s][tables[s].sample(rng)];
+    }
+
+    private int slotFor(int level) {
+        int s = level - minLevel;
+        if (s < 0) s = 0;
+        else if (s >= nearest.length) s = nearest.length - 1;
+        return nearest[s];
+    }
+}
@@ -1,11 +1,14 @@
 package game.emotionlanes.logic;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import game.core.world.World;
 import game.core.world.Position;
 import game.emotionlanes.model.LaneUnit;
+import game.emotionlanes.model.OccupancyGrid;
+import game.emotionlanes.world.EmotionLanesWorldData;
 
 /**
  * Shared mutable game state container for Emotion Lanes.
@@ -13,31 +16,107 @@ import game.emotionlanes.model.LaneUnit;
  * Responsibilities:
  *  - Provide a single place for systems (TurnManager, spawners, UI) to read/update unit state.
  *  - Keep hero spawn mapping consistent (index i -> hero i’s nexus spawn).
+ *  - Answer "who is on this tile" in O(1) through an OccupancyGrid that units
+ *    keep current as they move, die and respawn.
  */
 
 public class LanesState {
 
     private final World world;
-    private final char[][] glyphLayer;
 
      private final Position[] heroSpawns;
 
     private final List<LaneUnit> heroes = new ArrayList<LaneUnit>();
     private final List<LaneUnit> monsters = new ArrayList<LaneUnit>();
+    private final List<LaneUnit> heroesView = Collections.unmodifiableList(heroes);
+    private final List<LaneUnit> monstersView = Collections.unmodifiableList(monsters);
+    private final OccupancyGrid occupancy;
 
     private int nextMonsterId = 4;
 
-    public LanesState(World world, char[][] glyphLayer, Position[] heroSpawns) {
-        this.world = world;
-        this.glyphLayer = glyphLayer;
-        this.heroSpawns = heroSpawns;
+    public LanesState(EmotionLanesWorldData data) {
+        this.world = data.getWorld();
+        this.heroSpawns = data.getHeroSpawns();
+        this.occupancy = new OccupancyGrid(data.getRows(), data.getCols(), lanesFromWalls(data));
+    }
+
+    // Lanes are the runs of columns between full-height 'I' wall columns.
+    private static int[] lanesFromWalls(EmotionLanesWorldData data) {
+        int rows = data.getRows();
+        int cols = data.getCols();
+        int[] laneOfCol = new int[cols];
+        int lane = 0;
+        boolean inLane = false;
+        for (int c = 0; c < cols; c++) {
+            boolean wall = true;
+            for (int r = 0; r < rows && wall; r++) {
+                wall = data.glyphAt(r, c) == 'I';
+            }
+            if (wall) {
+                laneOfCol[c] = -1;
+                if (inLane) lane++;
+                inLane = false;
+            } else {
+                laneOfCol[c] = lane;
+                inLane = true;
+            }
+        }
+        return laneOfCol;
     }
 
     public World getWorld() { return world; }
-    public char[][] getGlyphLayer() { return glyphLayer; }
 
-    public List<LaneUnit> getHeroes() { return heroes; }
-    public List<LaneUnit> getMonsters() { return monsters; }
+    /** Read-only; add units with addHero/addMonster so they are tracked on the board. */
+    public List<LaneUnit> getHeroes() { return heroesView; }
+    public List<LaneUnit> getMonsters() { return monstersView; }
+
+    public void addHero(LaneUnit u) {
+        heroes.add(u);
+        occupancy.register(u);
+    }
+
+    public void addMonster(LaneUnit u) {
+        monsters.add(u);
+        occupancy.register(u);
+    }
+
+    /**
+     * Drops dead monsters from the monster list, keeping the survivors in
+     * spawn order, and appends them to removed. Dead monsters never come back,
+     * so without this the list (and every pass over it) grows by a wave every
+     * few rounds for the whole session.
+     *
+     * @return how many monsters were removed
+     */
+    public int compactDeadMonsters(List<LaneUnit> removed) {
+        int kept = 0;
+        for (int i = 0; i < monsters.size(); i++) {
+            LaneUnit u = monsters.get(i);
+            if (u.isAlive()) {
+                monsters.set(kept++, u);
+            } else {
+                occupancy.unregister(u);
+                removed.add(u);
+            }
+        }
+        int dropped = monsters.size() - kept;
+        for (int i = monsters.size() - 1; i >= kept; i--) {
+            monsters.remove(i);
+        }
+        return dropped;
+    }
+
+    /** Living hero on p, or null. */
+    public LaneUnit heroAt(Position p) { return occupancy.heroAt(p); }
+
+    /** Living monster on p, or null. */
+    public LaneUnit monsterAt(Position p) { return occupancy.monsterAt(p); }
+
+    public LaneUnit heroAt(int row, int col) { return occupancy.heroAt(row, col); }
+    public LaneUnit monsterAt(int row, int col) { return occupancy.monsterAt(row, col); }
+
+    /** Row of the living monster nearest the top of the lane, or -1 if none. */
+    public int monsterFrontierRow(int lane) { return occupancy.frontierRow(lane); }
 
     public int nextMonsterId() { return nextMonsterId++; }
 
@@ -1,7 +1,12 @@
 package game.emotionlanes.logic;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
 import game.core.world.Position;
 import game.emotionlanes.factory.EmotionLanesMonsterFactory;
+import game.emotionlanes.model.EmotionLanesMonster;
 import game.emotionlanes.model.LaneUnit;
 import game.emotionlanes.model.UnitType;
 import game.emotionlanes.terrain.TerrainEffectManager;
@@ -14,16 +19,24 @@ import game.emotionlanes.world.EmotionLanesWorldData;
  *  - On configured intervals, add new monsters at the monster nexus spawns.
  *  - Scale wave strength (e.g., monster level) using a simple round-based progression.
  *  - Ensure newly spawned monsters have terrain effects applied correctly on spawn.
+ *  - Recycle dead wave monsters (LaneUnit + monster + Stats) for later waves,
+ *    so a long session stops allocating new units once the pool has filled.
  */
 
 public class MonsterWaveSpawner {
 
     private final TerrainEffectManager terrain;
     private final EmotionLanesWorldData data;
+    private final SplittableRandom rng;
+
+    // dead monsters taken off the board, ready to be respawned as-is
+    private final List<LaneUnit> pool = new ArrayList<LaneUnit>();
 
-    public MonsterWaveSpawner(TerrainEffectManager terrain, EmotionLanesWorldData data) {
+    public MonsterWaveSpawner(TerrainEffectManager terrain, EmotionLanesWorldData data,
+                              SplittableRandom rng) {
         this.terrain = terrain;
         this.data = data;
+        this.rng = rng;
     }
 
     /** Spawn one monster per lane if round is a multiple of interval. */
@@ -39,14 +52,45 @@ public class MonsterWaveSpawner {
             if (spawn == null) continue;
 
             String id = "M" + state.nextMonsterId();
-            LaneUnit m = new LaneUnit(id, UnitType.MONSTER, spawn);
-
-            m.attachMonster(EmotionLanesMonsterFactory.randomForLevel(monsterLevel, spawn, lane));
-            state.getMonsters().add(m);
+            LaneUnit m = obtain(id, spawn, monsterLevel, lane);
+            state.addMonster(m);
             terrain.onSpawn(m);
         }
     }
 
+    /**
+     * End of round: takes dead monsters off the board and keeps them for
+     * reuse. Call before spawnWaveIfDue so this round's dead can refill it.
+     */
+    public void recycleDead(LanesState state) {
+        int from = pool.size();
+        state.compactDeadMonsters(pool);
+        for (int i = from; i < pool.size(); i++) {
+            terrain.onRemove(pool.get(i));
+        }
+    }
+
+    /** Number of dead monsters waiting to be reused. */
+    public int pooledCount() {
+        return pool.size();
+    }
+
+    private LaneUnit obtain(String id, Position spawn, int monsterLevel, int lane) {
+        for (int i = pool.size() - 1; i >= 0; i--) {
+            LaneUnit m = pool.get(i);
+            if (!(m.getMonster() instanceof EmotionLanesMonster)) continue;
+            pool.remove(i);
+            m.respawnAs(id, spawn);
+            EmotionLanesMonsterFactory.reuseForLevel((EmotionLanesMonster) m.getMonster(),
+                    monsterLevel, spawn, lane, rng);
+            return m;
+        }
+
+        LaneUnit m = new LaneUnit(id, UnitType.MONSTER, spawn);
+        m.attachMonster(EmotionLanesMonsterFactory.randomForLevel(monsterLevel, spawn, lane, rng));
+        return m;
+    }
+
     private Position chooseFreeSpawnForLane(Position preferred, LanesState state) {
         if (!monsterOn(state, preferred)) return preferred;
 
@@ -62,16 +106,13 @@ public class MonsterWaveSpawner {
         else if (c == 6) altC = 7;
         else if (c == 7) altC = 6;
 
-        Position alt = new Position(r, altC);
+        Position alt = state.getWorld().positions().get(r, altC);
         if (!monsterOn(state, alt)) return alt;
 
         return null;
     }
 
     private boolean monsterOn(LanesState state, Position p) {
-        for (LaneUnit m : state.getMonsters()) {
-            if (m.isAlive() && m.getPos().equals(p)) return true;
-        }
-        return false;
+        return state.monsterAt(p) != null;
     }
 }
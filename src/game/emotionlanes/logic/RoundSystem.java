@@ -25,7 +25,10 @@ public class RoundSystem {
         this.data = data;
     }
 
-    /** Start of round: respawn dead heroes at their lane-specific Nexus spawn. */
+    /**
+     * Start of round: respawn dead heroes at their lane-specific Nexus spawn.
+     * A hero whose spawn is taken by another hero stays dead until a later round.
+     */
     public void startOfRoundRespawns(LanesState state) {
         Position[] spawns = data.getHeroSpawns();
         if (spawns == null) return;
@@ -38,14 +41,13 @@ public class RoundSystem {
             if (h == null) continue;
 
             Position spawn = spawns[Math.min(i, spawns.length - 1)];
+            if (state.heroAt(spawn) != null) continue;
 
-            // full restore + mark alive
+            // full restore + back on the board at the spawn
             h.setHp(h.getStats().getMaxHp());
             h.setMp(h.getStats().getMaxMp());
-            u.setAlive(true);
-
             Position old = u.getPos();
-            u.setPos(spawn);
+            u.revive(spawn);
 
             // make sure terrain buffs refresh correctly
             terrain.onMove(u, old, spawn);
@@ -1,9 +1,11 @@
 package game.emotionlanes.logic;
 
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
 import game.core.world.Position;
 import game.emotionlanes.factory.EmotionLanesMonsterFactory;
 import game.emotionlanes.model.EmotionLanesMonster;
@@ -12,7 +14,7 @@ import game.emotionlanes.model.UnitType;
 import game.emotionlanes.terrain.TerrainEffectManager;
 import game.emotionlanes.world.EmotionLanesWorldData;
 
-import game.emotionwar.factory.EmotionHeroFactory;
+import game.emotionwar.factory.ContentRegistry;
 import game.emotionwar.model.EmotionHero;
 
 /**
@@ -26,10 +28,15 @@ import game.emotionwar.model.EmotionHero;
 
 public class SpawnManager {
 
-    private final Random rng = new Random();
+    private final GameOutput out = GameOutputs.current();
+
+    private final SplittableRandom rng;
 
     // set this to your actual lanes monster data file
-    private static final String LANES_MONSTER_DATA_PATH = "data/monsters/monsters_lanes.txt";
+
+    public SpawnManager(SplittableRandom rng) {
+        this.rng = rng;
+    }
 
     public void spawnFromEmotionWarData(LanesState state,
                                        EmotionLanesWorldData data,
@@ -37,7 +44,7 @@ public class SpawnManager {
                                        Scanner sc) {
 
         // -------- HEROES (keep EXACTLY as you had) --------
-        List<EmotionHero> allHeroes = EmotionHeroFactory.loadAllDefaultHeroes();
+        List<EmotionHero> allHeroes = ContentRegistry.heroes();
         if (allHeroes == null || allHeroes.isEmpty()) {
             throw new IllegalStateException("No EmotionWar heroes loaded (data files missing?)");
         }
@@ -59,9 +66,9 @@ public class SpawnManager {
         u3.setHomeNexus(hs[2]);
 
 
-        state.getHeroes().add(u1);
-        state.getHeroes().add(u2);
-        state.getHeroes().add(u3);
+        state.addHero(u1);
+        state.addHero(u2);
+        state.addHero(u3);
 
         // initial starter kit for heroes
         StarterKitService kit = new StarterKitService();
@@ -71,10 +78,8 @@ public class SpawnManager {
 
 
         // -------- MONSTERS  --------
-        // Load lanes monsters from file ONCE
-        // If your factory doesn't guard against double-load, it's still OK to only call this once in init,
-        // but calling here also works if it's idempotent.
-        EmotionLanesMonsterFactory.loadMonsters(LANES_MONSTER_DATA_PATH);
+        // Lanes monsters are loaded once per process; later sessions reuse them
+        EmotionLanesMonsterFactory.loadDefaultMonsters();
 
         Position[] ms = data.getMonsterSpawns();
 
@@ -90,9 +95,9 @@ public class SpawnManager {
         LaneUnit m3 = new LaneUnit("M3", UnitType.MONSTER, ms[2]);
         m3.attachMonster(randomMonster(startLevel, ms[2], 2));
 
-        state.getMonsters().add(m1);
-        state.getMonsters().add(m2);
-        state.getMonsters().add(m3);
+        state.addMonster(m1);
+        state.addMonster(m2);
+        state.addMonster(m3);
 
         // -------- Apply terrain buffs on spawn (keep) --------
         terrain.onSpawn(u1);
@@ -107,23 +112,23 @@ public class SpawnManager {
 
     private EmotionHero pickHero(List<EmotionHero> all, Scanner sc, String prompt) {
         while (true) {
-            System.out.println(prompt);
+            out.println(prompt);
             for (int i = 0; i < all.size(); i++) {
                 EmotionHero h = all.get(i);
-                System.out.println("  " + (i + 1) + ") " + h.getName()
+                out.println("  " + (i + 1) + ") " + h.getName()
                         + " (Lvl " + h.getLevel() + ", " + h.getHeroClass() + ")");
             }
-            System.out.print("> ");
+            out.print("> ");
             String line = sc.nextLine().trim();
             try {
                 int idx = Integer.parseInt(line) - 1;
                 if (idx >= 0 && idx < all.size()) return all.get(idx);
             } catch (NumberFormatException e) {}
-            System.out.println("Invalid choice.");
+            out.println("Invalid choice.");
         }
     }
 
     private EmotionLanesMonster randomMonster(int level, Position spawn, int laneId) {
-        return EmotionLanesMonsterFactory.randomForLevel(level, spawn, laneId);
+        return EmotionLanesMonsterFactory.randomForLevel(level, spawn, laneId, rng);
     }
 }
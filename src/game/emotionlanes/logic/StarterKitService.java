@@ -5,8 +5,7 @@ import java.util.List;
 import game.core.items.Potion;
 import game.core.items.Weapon;
 import game.core.model.Hero;
-import game.emotionwar.factory.DataPaths;
-import game.emotionwar.factory.EmotionItemFactory;
+import game.emotionwar.factory.ContentRegistry;
 
 /**
  * Provides initial starter items / loadouts for heroes in Emotion Lanes.
@@ -21,8 +20,8 @@ public class StarterKitService {
     private final List<Potion> potions;
 
     public StarterKitService() {
-        weapons = EmotionItemFactory.loadWeapons(DataPaths.WEAPONS);
-        potions = EmotionItemFactory.loadPotions(DataPaths.POTIONS);
+        weapons = ContentRegistry.weapons();
+        potions = ContentRegistry.potions();
     }
 
     /** Give a basic kit: 1 lowest-level weapon + 2 potions. */
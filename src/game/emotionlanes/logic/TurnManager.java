@@ -2,12 +2,16 @@ package game.emotionlanes.logic;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
 import game.core.world.Position;
+import game.core.world.PositionCache;
 import game.core.world.World;
 import game.emotionlanes.model.LaneUnit;
 import game.emotionlanes.terrain.TerrainEffectManager;
+import game.emotionlanes.world.EmotionLanesWorldData;
 
 /**
  * Rule engine for Emotion Lanes turns.
@@ -17,15 +21,25 @@ import game.emotionlanes.terrain.TerrainEffectManager;
  *  - Execute monster AI for the MONSTER PHASE (movement + attacks).
  *  - Enforce lane rules: heroes cannot pass the nearest monster in their lane; teleport must stay across lanes.
  *  - Determine engagement / attack-range interactions for both heroes and monsters.
+ *
+ * Moves and neighbour checks work on plain row/col ints and take Positions
+ * from the world's PositionCache, so a turn allocates no coordinates.
  */
 
 public class TurnManager {
 
-    private final Random rng = new Random();
+    private final GameOutput out = GameOutputs.current();
+
+    // the four neighbours, in the order rules try them: up, down, left, right
+    private static final int[] D_ROW = { -1, 1, 0, 0 };
+    private static final int[] D_COL = { 0, 0, -1, 1 };
+
+    private final SplittableRandom rng;
     private final TerrainEffectManager terrain;
 
-    public TurnManager(TerrainEffectManager terrain) {
+    public TurnManager(TerrainEffectManager terrain, SplittableRandom rng) {
         this.terrain = terrain;
+        this.rng = rng;
     }
 
     // lanes: [0,1], [3,4], [6,7]
@@ -39,10 +53,10 @@ public class TurnManager {
     // ---------------- HERO MOVE ----------------
     public boolean tryMoveHero(World world, LanesState state, LaneUnit hero, char dir) {
         Position cur = hero.getPos();
-        Position next = step(cur, dir);
+        Position next = step(world.positions(), cur, dir);
         if (next == null) return false;
 
-        if (!world.getTile(next).isAccessible()) return false;
+        if (!world.isAccessible(next.row, next.col)) return false;
         if (terrain.isObstacle(next)) return false; // cannot enter obstacle
 
         // no hero-on-hero stacking
@@ -69,26 +83,22 @@ public class TurnManager {
         if (heroLane == -1 || targetLane == -1) return false;
         if (heroLane == targetLane) return false; // must be across lanes
 
-        Position[] candidates = new Position[] {
-            targetHero.getPos().up(),
-            targetHero.getPos().down(),
-            targetHero.getPos().left(),
-            targetHero.getPos().right()
-        };
-
-        for (int i = 0; i < candidates.length; i++) {
-            Position dest = candidates[i];
-            if (!world.getTile(dest).isAccessible()) continue;
-            if (terrain.isObstacle(dest)) continue;
-            if (laneIndex(dest.col) != targetLane) continue;
-            if (isOccupiedByHero(state, dest)) continue;
+        Position tp = targetHero.getPos();
+        for (int i = 0; i < D_ROW.length; i++) {
+            int row = tp.row + D_ROW[i];
+            int col = tp.col + D_COL[i];
+            if (!world.isAccessible(row, col)) continue;
+            if (terrain.isObstacle(row, col)) continue;
+            if (laneIndex(col) != targetLane) continue;
+            if (state.heroAt(row, col) != null) continue;
 
             // cannot teleport ahead of ally (ahead = smaller row)
-            if (dest.row < targetHero.getPos().row) continue;
+            if (row < tp.row) continue;
 
             // cannot teleport past monsters in that lane
-            if (!heroMoveLegalWrtMonsters(state, dest)) continue;
+            if (!heroMoveLegalWrtMonsters(state, row, col)) continue;
 
+            Position dest = world.positions().get(row, col);
             Position old = hero.getPos();
             hero.setPos(dest);
             terrain.onMove(hero, old, dest);
@@ -103,6 +113,7 @@ public class TurnManager {
     public List<String>  monstersAct(World world, LanesState state) {
     List<LaneUnit> monsters = state.getMonsters();
     List<String> log = new ArrayList<>();
+    PositionCache positions = world.positions();
 
     for (int i = 0; i < monsters.size(); i++) {
         LaneUnit m = monsters.get(i);
@@ -119,14 +130,14 @@ public class TurnManager {
         // 2) otherwise move forward/down (or sideways fallback)
         Position old = m.getPos();
 
-        Position down = old.down();
+        Position down = positions.down(old);
         if (monsterMoveValid(world, state, down)) {
             m.setPos(down);
             terrain.onMove(m, old, down);
             log.add(m.getId() + " moves DOWN: " + old + " -> " + down);
         } else {
-            Position left = old.left();
-            Position right = old.right();
+            Position left = positions.left(old);
+            Position right = positions.right(old);
 
             Position chosen = rng.nextBoolean() ? left : right;
             Position alt    = (chosen == left) ? right : left;
@@ -152,7 +163,7 @@ public class TurnManager {
         }
     }
 
-    System.out.println("=========================");
+    out.println("=========================");
     return log;
 }
 
@@ -163,40 +174,32 @@ private LaneUnit heroInAttackRange(LanesState state, LaneUnit monster) {
     int lane = laneIndex(mp.col);
     if (lane == -1) return null;
 
-    for (LaneUnit h : state.getHeroes()) {
-        if (!h.isAlive()) continue;
-        if (laneIndex(h.getPos().col) != lane) continue;
-
-        if (inAttackRange(mp, h.getPos())) return h; // your existing helper
-    }
-    return null;
+    return heroInRange(state, mp.row, mp.col, lane);
 }
 
 
 
     // ---------------- OBSTACLES ----------------
-    public boolean hasAdjacentObstacle(char[][] glyph, Position p) {
-        if (glyph == null || p == null) return false;
-
-        Position[] adj = new Position[]{ p.up(), p.down(), p.left(), p.right() };
-        for (int i = 0; i < adj.length; i++) {
-            Position q = adj[i];
-            if (q == null) continue;
-            if (q.row < 0 || q.row >= glyph.length) continue;
-            if (q.col < 0 || q.col >= glyph[0].length) continue;
-            if (glyph[q.row][q.col] == 'O') return true;
+    public boolean hasAdjacentObstacle(EmotionLanesWorldData data, Position p) {
+        if (data == null || p == null) return false;
+
+        for (int i = 0; i < D_ROW.length; i++) {
+            int row = p.row + D_ROW[i];
+            int col = p.col + D_COL[i];
+            if (!data.contains(row, col)) continue;
+            if (data.glyphAt(row, col) == 'O') return true;
         }
         return false;
     }
 
     /** Removes an adjacent obstacle in the chosen direction (W/A/S/D). Counts as the hero’s action. */
-    public boolean tryRemoveObstacleAdjacent(LaneUnit hero, char dir) {
+    public boolean tryRemoveObstacleAdjacent(World world, LaneUnit hero, char dir) {
         if (hero == null || !hero.isAlive()) return false;
-        Position target = step(hero.getPos(), dir);
+        Position target = step(world.positions(), hero.getPos(), dir);
         if (target == null) return false;
 
         boolean ok = terrain.removeObstacle(target);
-        if (ok) System.out.println("🧱 Obstacle removed at " + target + "!");
+        if (ok) out.println("🧱 Obstacle removed at " + target + "!");
         return ok;
     }
 
@@ -208,19 +211,38 @@ private LaneUnit heroInAttackRange(LanesState state, LaneUnit monster) {
         int lane = laneIndex(hp.col);
         if (lane == -1) return null;
 
-        for (LaneUnit m : state.getMonsters()) {
-            if (!m.isAlive()) continue;
-            if (laneIndex(m.getPos().col) != lane) continue;
+        // attack range = current tile OR 4-neighbor, same lane
+        LaneUnit m = state.monsterAt(hp.row, hp.col);
+        m = earlier(m, monsterInLane(state, hp.row - 1, hp.col, lane));
+        m = earlier(m, monsterInLane(state, hp.row + 1, hp.col, lane));
+        m = earlier(m, monsterInLane(state, hp.row, hp.col - 1, lane));
+        m = earlier(m, monsterInLane(state, hp.row, hp.col + 1, lane));
+        return m;
+    }
+
+    // Living hero within attack range (current tile OR 4-neighbor) of (row, col), same lane
+    private LaneUnit heroInRange(LanesState state, int row, int col, int lane) {
+        LaneUnit h = state.heroAt(row, col);
+        h = earlier(h, heroInLane(state, row - 1, col, lane));
+        h = earlier(h, heroInLane(state, row + 1, col, lane));
+        h = earlier(h, heroInLane(state, row, col - 1, lane));
+        h = earlier(h, heroInLane(state, row, col + 1, lane));
+        return h;
+    }
 
-            if (inAttackRange(hp, m.getPos())) return m;
-        }
-        return null;
+    // several units in range: the one spawned first wins (same pick as scanning the unit list)
+    private LaneUnit earlier(LaneUnit a, LaneUnit b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return b.getSpawnOrder() < a.getSpawnOrder() ? b : a;
     }
 
-    private boolean inAttackRange(Position a, Position b) {
-        int dr = Math.abs(a.row - b.row);
-        int dc = Math.abs(a.col - b.col);
-        return (dr + dc) <= 1;   // current OR 4-neighbor
+    private LaneUnit heroInLane(LanesState state, int row, int col, int lane) {
+        return laneIndex(col) == lane ? state.heroAt(row, col) : null;
+    }
+
+    private LaneUnit monsterInLane(LanesState state, int row, int col, int lane) {
+        return laneIndex(col) == lane ? state.monsterAt(row, col) : null;
     }
 
     // Monsters attack heroes if a hero is IN RANGE (same lane + distance <= 1)
@@ -231,13 +253,7 @@ private LaneUnit heroInAttackRange(LanesState state, LaneUnit monster) {
         int lane = laneIndex(mp.col);
         if (lane == -1) return null;
 
-        for (LaneUnit h : state.getHeroes()) {
-            if (!h.isAlive()) continue;
-            if (laneIndex(h.getPos().col) != lane) continue;
-
-            if (inAttackRange(mp, h.getPos())) return h;
-        }
-        return null;
+        return heroInRange(state, mp.row, mp.col, lane);
     }
 
 
@@ -246,90 +262,77 @@ private LaneUnit heroInAttackRange(LanesState state, LaneUnit monster) {
         if (hero == null || monster == null) return;
         if (!hero.isAlive() || !monster.isAlive()) return;
 
-        System.out.println("⚔ " + hero.getId() + " attacks " + monster.getId() + "!");
+        out.printf("⚔ %s attacks %s!%n", hero.getId(), monster.getId());
 
         if (rng.nextDouble() < monster.effectiveDodge()) {
-            System.out.println(monster.getId() + " dodges!");
+            out.printf("%s dodges!%n", monster.getId());
             return;
         }
 
         monster.takeHit(hero.effectiveAttack());
 
-        if (!monster.isAlive()) System.out.println("✅ " + monster.getId() + " defeated.");
-        else System.out.println(monster.getId() + " HP: " + monster.hpString());
+        if (!monster.isAlive()) out.printf("✅ %s defeated.%n", monster.getId());
+        else if (out.isEnabled()) out.printf("%s HP: %s%n", monster.getId(), monster.hpString());
     }
 
     public void monsterAttack(LaneUnit hero, LaneUnit monster) {
         if (hero == null || monster == null) return;
         if (!hero.isAlive() || !monster.isAlive()) return;
 
-        System.out.println("👹 " + monster.getId() + " strikes " + hero.getId() + "!");
+        out.printf("👹 %s strikes %s!%n", monster.getId(), hero.getId());
 
         if (rng.nextDouble() < hero.effectiveDodge()) {
-            System.out.println(hero.getId() + " dodges!");
+            out.printf("%s dodges!%n", hero.getId());
             return;
         }
 
         hero.takeHit(monster.effectiveAttack());
 
-        if (!hero.isAlive()) System.out.println("💀 " + hero.getId() + " fell.");
-        else System.out.println(hero.getId() + " HP: " + hero.hpString());
+        if (!hero.isAlive()) out.printf("💀 %s fell.%n", hero.getId());
+        else if (out.isEnabled()) out.printf("%s HP: %s%n", hero.getId(), hero.hpString());
     }
 
     // ---------------- RULES HELPERS ----------------
     private boolean heroMoveLegalWrtMonsters(LanesState state, Position dest) {
-        int lane = laneIndex(dest.col);
+        return heroMoveLegalWrtMonsters(state, dest.row, dest.col);
+    }
+
+    private boolean heroMoveLegalWrtMonsters(LanesState state, int row, int col) {
+        int lane = laneIndex(col);
         if (lane == -1) return false;
 
-        int nearestMonsterRow = Integer.MAX_VALUE;
-        for (LaneUnit m : state.getMonsters()) {
-            if (!m.isAlive()) continue;
-            if (laneIndex(m.getPos().col) != lane) continue;
-            if (m.getPos().row < nearestMonsterRow) nearestMonsterRow = m.getPos().row;
-        }
-        if (nearestMonsterRow == Integer.MAX_VALUE) return true;
+        int nearestMonsterRow = state.monsterFrontierRow(lane);
+        if (nearestMonsterRow < 0) return true;
 
         // cannot move above nearest monster
-        return dest.row >= nearestMonsterRow;
+        return row >= nearestMonsterRow;
     }
 
     private boolean monsterMoveValid(World world, LanesState state, Position dest) {
-        if (!world.getTile(dest).isAccessible()) return false;
+        if (!world.isAccessible(dest.row, dest.col)) return false;
         if (terrain.isObstacle(dest)) return false;
 
-        for (LaneUnit m : state.getMonsters()) {
-            if (m.isAlive() && m.getPos().equals(dest)) return false; // no stacking monsters
-        }
-        return true;
+        return state.monsterAt(dest) == null; // no stacking monsters
     }
 
     private boolean isOccupiedByHero(LanesState state, Position p) {
-        for (LaneUnit h : state.getHeroes()) {
-            if (h.isAlive() && h.getPos().equals(p)) return true;
-        }
-        return false;
+        return state.heroAt(p) != null;
     }
 
     private LaneUnit heroOn(LanesState state, Position p) {
-        for (LaneUnit h : state.getHeroes()) {
-            if (h.isAlive() && h.getPos().equals(p)) return h;
-        }
-        return null;
+        return state.heroAt(p);
     }
 
     private LaneUnit monsterOn(LanesState state, Position p) {
-        for (LaneUnit m : state.getMonsters()) {
-            if (m.isAlive() && m.getPos().equals(p)) return m;
-        }
-        return null;
+        return state.monsterAt(p);
     }
 
-    private Position step(Position cur, char dir) {
+    private Position step(PositionCache positions, Position cur, char dir) {
         if (cur == null) return null;
-        if (dir == 'W' || dir == 'w') return cur.up();
-        if (dir == 'S' || dir == 's') return cur.down();
-        if (dir == 'A' || dir == 'a') return cur.left();   // FIXED
-        if (dir == 'D' || dir == 'd') return cur.right();
+        if (dir == 'W' || dir == 'w') return positions.up(cur);
+        if (dir == 'S' || dir == 's') return positions.down(cur);
+        if (dir == 'A' || dir == 'a') return positions.left(cur);   // FIXED
+        if (dir == 'D' || dir == 'd') return positions.right(cur);
         return null;
     }
 
@@ -339,9 +342,8 @@ private LaneUnit heroInAttackRange(LanesState state, LaneUnit monster) {
     Position home = hero.getHomeNexus();
     if (home == null) return false;
 
-    for (LaneUnit h : state.getHeroes()) {
-        if (h != hero && h.isAlive() && h.getPos().equals(home)) return false;
-    }
+    LaneUnit onHome = state.heroAt(home);
+    if (onHome != null && onHome != hero) return false;
 
     Position old = hero.getPos();
     hero.setPos(home);
@@ -4,16 +4,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
-import game.core.items.Armor;
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
 import game.core.items.Item;
-import game.core.items.Potion;
-import game.core.items.Spell;
-import game.core.items.Weapon;
 import game.core.market.Market;
+import game.core.market.MarketStock;
 import game.core.model.Hero;
 
-import game.emotionwar.factory.DataPaths;
-import game.emotionwar.factory.EmotionItemFactory;
+import game.emotionwar.factory.ContentRegistry;
 
 /**
  * Market service for the Hero Nexus in Emotion Lanes.
@@ -23,29 +21,66 @@ import game.emotionwar.factory.EmotionItemFactory;
  * their turn when standing on the hero nexus row.
  * - Reuses core Inventory/Item logic from the engine
  * - Isolated from the renderer and turn logic for testability
+ *
+ * Stock is per session and unlimited by default. A server running many
+ * sessions can instead hand every session's service the same sharedStock(),
+ * a finite stock that all of them sell from concurrently (see MarketStock).
  */
 
 public class NexusMarketService {
 
+    /** Copies of each item in the shared stock (and what refill() restores). */
+    public static final int SHARED_QUANTITY = 20;
+
+    private static MarketStock shared;
+    private static List<?>[] sharedSource;
+
+    private final GameOutput out = GameOutputs.current();
+
     private final Market market;
 
+    /** Per-session, unlimited stock. */
     public NexusMarketService() {
-        List<Weapon> weapons  = EmotionItemFactory.loadWeapons(DataPaths.WEAPONS);
-        List<Armor> armors    = EmotionItemFactory.loadArmors(DataPaths.ARMORS);
-        List<Potion> potions  = EmotionItemFactory.loadPotions(DataPaths.POTIONS);
-        List<Spell> spells    = EmotionItemFactory.loadSpells(DataPaths.SPELLS);
+        this(newStock(MarketStock.UNLIMITED));
+    }
 
+    /** Sells from stock; pass the same one to several services to share it. */
+    public NexusMarketService(MarketStock stock) {
+        this.market = new Market(stock);
+    }
+
+    /** A fresh stock of every item in the registry, perItem copies each (or UNLIMITED). */
+    public static MarketStock newStock(int perItem) {
         List<Item> stock = new ArrayList<Item>();
-        stock.addAll(weapons);
-        stock.addAll(armors);
-        stock.addAll(potions);
-        stock.addAll(spells);
+        stock.addAll(ContentRegistry.weapons());
+        stock.addAll(ContentRegistry.armors());
+        stock.addAll(ContentRegistry.potions());
+        stock.addAll(ContentRegistry.spells());
+        return new MarketStock(stock, perItem);
+    }
 
-        this.market = new Market(stock);
+    /**
+     * The process-wide stock for shared mode, SHARED_QUANTITY of each item.
+     * Rebuilt (full again) only if a data reload has replaced the items.
+     */
+    public static synchronized MarketStock sharedStock() {
+        List<?>[] source = {
+                ContentRegistry.weapons(), ContentRegistry.armors(),
+                ContentRegistry.potions(), ContentRegistry.spells() };
+        boolean same = sharedSource != null;
+        for (int i = 0; same && i < source.length; i++) {
+            same = source[i] == sharedSource[i];
+        }
+        if (!same) {
+            shared = newStock(SHARED_QUANTITY);
+            sharedSource = source;
+        }
+        return shared;
     }
+
     // resusable market opening for any hero
     public void openForHero(Hero h, Scanner sc) {
-        System.out.println("Nexus Market: " + h.getName() + " (Gold: " + h.getGold() + ")");
+        out.println("Nexus Market: " + h.getName() + " (Gold: " + h.getGold() + ")");
         market.open(h, sc);
     }
 }
@@ -1,6 +1,7 @@
 package game.emotionlanes.model;
 
 import game.core.model.Monster;
+import game.core.model.MonsterDefinition;
 import game.core.model.Stats;
 import game.core.world.Position;
 
@@ -10,7 +11,7 @@ import game.core.world.Position;
 public class EmotionLanesMonster extends Monster {
     
     private Position position;
-    private final int laneId; // 0 = top, 1 = mid, 2 = bot
+    private int laneId; // 0 = top, 1 = mid, 2 = bot
     
     public EmotionLanesMonster(String name,
                       int level,
@@ -24,6 +25,13 @@ public class EmotionLanesMonster extends Monster {
         this.position = position;
         this.laneId = laneId;
     }
+
+    /** A new monster sharing def with every other one spawned from it. */
+    public EmotionLanesMonster(MonsterDefinition def, Position position, int laneId) {
+        super(def);
+        this.position = position;
+        this.laneId = laneId;
+    }
     
     public Position getPosition() {
         return position;
@@ -37,6 +45,16 @@ public class EmotionLanesMonster extends Monster {
         return laneId;
     }
 
+    /**
+     * Turns this monster into a fresh, full-health monster of def, exactly as
+     * if it had just been spawned. Used to recycle dead wave monsters.
+     */
+    public void reuseAs(MonsterDefinition def, Position position, int laneId) {
+        redefine(def);
+        this.position = position;
+        this.laneId = laneId;
+    }
+
     @Override
     public String toString() {
         return getName() + " (Lvl " + level + ") " + stats;
@@ -16,7 +16,7 @@ import game.core.world.Position;
  */
 
 public class LaneUnit {
-    private final String id; // "H1", "M2" etc
+    private String id; // "H1", "M2" etc
     private final UnitType type;
     private Position pos;
     private boolean alive = true;
@@ -26,6 +26,10 @@ public class LaneUnit {
     private Monster monster;
     private Position homeNexus;
 
+    // board index kept in sync on move/death/revival (null until registered)
+    private OccupancyGrid grid;
+    private int spawnOrder = -1;
+
     public void setHero(Hero hero) { this.hero = hero; }
     public void setMonster(Monster monster) { this.monster = monster; }
 
@@ -41,6 +45,40 @@ public class LaneUnit {
     }
 
     
+    /**
+     * Readies a dead, unregistered unit (see LanesState.compactDeadMonsters)
+     * for another spawn under a new id. The payload is kept; the caller
+     * resets it.
+     */
+    public void respawnAs(String id, Position start) {
+        if (alive || grid != null) {
+            throw new IllegalStateException(this.id + " is still on the board");
+        }
+        this.id = id;
+        this.pos = start;
+        this.alive = true;
+        this.homeNexus = null;
+        clearBuffs();
+    }
+
+    /**
+     * Brings a dead unit back at start, moving it there before it goes back
+     * on the board, so it never lands on the tile it died on.
+     *
+     * @throws IllegalStateException if the unit is alive, or another unit of its side stands on start
+     */
+    public void revive(Position start) {
+        if (alive) throw new IllegalStateException(id + " is not dead");
+        Position old = this.pos;
+        this.pos = start;
+        try {
+            setAlive(true);
+        } catch (IllegalStateException e) {
+            this.pos = old;
+            throw e;
+        }
+    }
+
     public void setHomeNexus(Position p) { this.homeNexus = p; }
     public Position getHomeNexus() { return homeNexus; }
 
@@ -49,10 +87,37 @@ public class LaneUnit {
     public UnitType getType() { return type; }
 
     public Position getPos() { return pos; }
-    public void setPos(Position p) { this.pos = p; }
+    public void setPos(Position p) {
+        Position old = this.pos;
+        this.pos = p;
+        if (grid == null || !alive) return;
+        try {
+            grid.moved(this, old);
+        } catch (IllegalStateException e) {
+            // tile taken: the grid is unchanged, so stay where the grid has us
+            this.pos = old;
+            throw e;
+        }
+    }
 
     public boolean isAlive() { return alive; }
-    public void setAlive(boolean alive) { this.alive = alive; }
+    public void setAlive(boolean alive) {
+        if (this.alive == alive) return;
+        if (grid != null) {
+            // put first: if the tile is taken it throws and the unit stays dead
+            if (alive) grid.put(this);
+            else grid.remove(this);
+        }
+        this.alive = alive;
+    }
+
+    void setGrid(OccupancyGrid grid, int spawnOrder) {
+        this.grid = grid;
+        this.spawnOrder = spawnOrder;
+    }
+
+    /** Order in which the unit was put on the board, i.e. its place in the state's unit list (-1 if unregistered). */
+    public int getSpawnOrder() { return spawnOrder; }
 
     // ---- Payload attach ----
     public void attachHero(Hero h) { this.hero = h; }
@@ -108,16 +173,16 @@ public class LaneUnit {
 
         if (hero != null) {
             hero.takeDamage(dmg);
-            if (!hero.isAlive()) alive = false;
+            if (!hero.isAlive()) setAlive(false);
             return;
         }
         if (monster != null) {
             monster.takeDamage(dmg);
-            if (!monster.isAlive()) alive = false;
+            if (!monster.isAlive()) setAlive(false);
             return;
         }
         // fallback
-        alive = false;
+        setAlive(false);
     }
 
     public String hpString() {
@@ -0,0 +1,141 @@
+package game.emotionlanes.model;
+
+import java.util.BitSet;
+
+import game.core.world.Position;
+
+/**
+ * Board-sized index of which living hero and which living monster stands on
+ * each tile.
+ *
+ * LaneUnits registered with a grid keep it current themselves: setPos moves
+ * the entry, death clears it, revival puts it back. The rules already allow
+ * at most one hero and one monster per tile, which is all a cell can hold;
+ * putting a unit where another of its side already stands is a bug in the
+ * caller and throws IllegalStateException, leaving the grid unchanged.
+ *
+ * Per lane it also counts living monsters on each row, with a bitset of the
+ * non-empty rows, so the lane frontier (the monster nearest the top, which
+ * heroes may not pass) is a single nextSetBit.
+ */
+public class OccupancyGrid {
+
+    private final int rows;
+    private final int cols;
+    private final LaneUnit[] heroes;
+    private final LaneUnit[] monsters;
+    private int nextSpawnOrder = 0;
+
+    // lane frontier index
+    private final int[] laneOfCol;
+    private final int[] monstersOnRow;   // [lane * rows + row]
+    private final BitSet[] monsterRows;  // per lane: rows with monstersOnRow > 0
+
+    /**
+     * @param laneOfCol lane id for each column, -1 for walls
+     */
+    public OccupancyGrid(int rows, int cols, int[] laneOfCol) {
+        this.rows = rows;
+        this.cols = cols;
+        this.heroes = new LaneUnit[rows * cols];
+        this.monsters = new LaneUnit[rows * cols];
+        this.laneOfCol = laneOfCol.clone();
+
+        int lanes = 0;
+        for (int c = 0; c < laneOfCol.length; c++) {
+            lanes = Math.max(lanes, laneOfCol[c] + 1);
+        }
+        this.monstersOnRow = new int[lanes * rows];
+        this.monsterRows = new BitSet[lanes];
+        for (int i = 0; i < lanes; i++) {
+            monsterRows[i] = new BitSet(rows);
+        }
+    }
+
+    /** Starts tracking u (spawn); it updates the grid from then on. */
+    public void register(LaneUnit u) {
+        u.setGrid(this, nextSpawnOrder++);
+        if (u.isAlive()) put(u);
+    }
+
+    /** Takes u off the board for good; it may be registered again (with a new spawn order) later. */
+    public void unregister(LaneUnit u) {
+        if (u.isAlive()) remove(u);
+        u.setGrid(null, -1);
+    }
+
+    public LaneUnit heroAt(int row, int col) {
+        return inBounds(row, col) ? heroes[row * cols + col] : null;
+    }
+
+    public LaneUnit monsterAt(int row, int col) {
+        return inBounds(row, col) ? monsters[row * cols + col] : null;
+    }
+
+    public LaneUnit heroAt(Position p) {
+        return p == null ? null : heroAt(p.row, p.col);
+    }
+
+    public LaneUnit monsterAt(Position p) {
+        return p == null ? null : monsterAt(p.row, p.col);
+    }
+
+    /** Row of the living monster nearest the top of the lane, or -1 if the lane is clear. */
+    public int frontierRow(int lane) {
+        if (lane < 0 || lane >= monsterRows.length) return -1;
+        return monsterRows[lane].nextSetBit(0);
+    }
+
+    // ---------- called by LaneUnit ----------
+
+    void moved(LaneUnit u, Position from) {
+        checkFree(u, u.getPos());
+        clear(u, from);
+        put(u);
+    }
+
+    void put(LaneUnit u) {
+        Position p = u.getPos();
+        if (p == null || !inBounds(p.row, p.col)) return;
+        checkFree(u, p);
+        cells(u)[p.row * cols + p.col] = u;
+        if (u.getType() == UnitType.MONSTER) countMonster(p, +1);
+    }
+
+    void remove(LaneUnit u) {
+        clear(u, u.getPos());
+    }
+
+    private void clear(LaneUnit u, Position p) {
+        if (p == null || !inBounds(p.row, p.col)) return;
+        LaneUnit[] cells = cells(u);
+        int i = p.row * cols + p.col;
+        if (cells[i] == u) cells[i] = null;
+        if (u.getType() == UnitType.MONSTER) countMonster(p, -1);
+    }
+
+    private void checkFree(LaneUnit u, Position p) {
+        if (p == null || !inBounds(p.row, p.col)) return;
+        LaneUnit other = cells(u)[p.row * cols + p.col];
+        if (other != null && other != u) {
+            throw new IllegalStateException(u.getId() + " cannot stand on " + p + ": " + other.getId() + " is there");
+        }
+    }
+
+    private void countMonster(Position p, int delta) {
+        int lane = laneOfCol[p.col];
+        if (lane < 0) return;
+        int i = lane * rows + p.row;
+        monstersOnRow[i] += delta;
+        if (monstersOnRow[i] > 0) monsterRows[lane].set(p.row);
+        else monsterRows[lane].clear(p.row);
+    }
+
+    private LaneUnit[] cells(LaneUnit u) {
+        return u.getType() == UnitType.HERO ? heroes : monsters;
+    }
+
+    private boolean inBounds(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Map;
 
 import game.core.world.Position;
 import game.emotionlanes.model.LaneUnit;
+import game.emotionlanes.world.EmotionLanesWorldData;
 
 /**
  * Applies and removes terrain-based effects for units based on the glyph layer.
@@ -18,7 +19,7 @@ import game.emotionlanes.model.LaneUnit;
 
 public class TerrainEffectManager {
 
-    private final char[][] glyphLayer;
+    private final EmotionLanesWorldData data;
     private final boolean allowMonsterBuffs;
 
     private final Map<Character, TerrainEffect> effects = new HashMap<Character, TerrainEffect>();
@@ -26,8 +27,8 @@ public class TerrainEffectManager {
     // Track what glyph each unit currently 'has applied' so we can remove correctly.
     private final Map<String, Character> activeGlyphByUnitId = new HashMap<String, Character>();
 
-    public TerrainEffectManager(char[][] glyphLayer, boolean allowMonsterBuffs) {
-        this.glyphLayer = glyphLayer;
+    public TerrainEffectManager(EmotionLanesWorldData data, boolean allowMonsterBuffs) {
+        this.data = data;
         this.allowMonsterBuffs = allowMonsterBuffs;
 
         effects.put(Character.valueOf('B'), new BushEffect());
@@ -44,6 +45,11 @@ public class TerrainEffectManager {
         applyForCurrentTile(u);
     }
 
+    /** Unit leaves the board for good: undo its tile effect and forget it. */
+    public void onRemove(LaneUnit u) {
+        removeForOldTile(u);
+    }
+
     private void removeForOldTile(LaneUnit u) {
         Character g = activeGlyphByUnitId.get(u.getId());
         if (g == null) return;
@@ -56,10 +62,9 @@ public class TerrainEffectManager {
 
     private void applyForCurrentTile(LaneUnit u) {
         Position p = u.getPos();
-        if (p.row < 0 || p.row >= glyphLayer.length) return;
-        if (p.col < 0 || p.col >= glyphLayer[0].length) return;
+        if (!data.contains(p.row, p.col)) return;
 
-        char g = glyphLayer[p.row][p.col];
+        char g = data.glyphAt(p.row, p.col);
 
         TerrainEffect eff = effects.get(Character.valueOf(g));
         if (eff != null) {
@@ -72,20 +77,23 @@ public class TerrainEffectManager {
 
     public boolean isObstacle(Position p) {
     if (!inBounds(p)) return false;
-    return glyphLayer[p.row][p.col] == 'O';
+    return data.glyphAt(p.row, p.col) == 'O';
 }
 
+    public boolean isObstacle(int row, int col) {
+        if (!data.contains(row, col)) return false;
+        return data.glyphAt(row, col) == 'O';
+    }
+
     public boolean removeObstacle(Position p) {
         if (!inBounds(p)) return false;
-        if (glyphLayer[p.row][p.col] != 'O') return false;
-        glyphLayer[p.row][p.col] = 'P'; // becomes plain
+        if (data.glyphAt(p.row, p.col) != 'O') return false;
+        data.setGlyphAt(p, 'P'); // becomes plain
         return true;
     }
 
     private boolean inBounds(Position p) {
-        return p != null &&
-            p.row >= 0 && p.row < glyphLayer.length &&
-            p.col >= 0 && p.col < glyphLayer[0].length;
+        return p != null && data.contains(p.row, p.col);
     }
 
 }
@@ -2,6 +2,8 @@ package game.emotionlanes.ui;
 
 import java.util.Map;
 
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
 import game.core.world.Position;
 import game.emotionlanes.world.EmotionLanesWorldData;
 
@@ -16,6 +18,8 @@ import game.emotionlanes.world.EmotionLanesWorldData;
 
 public class EmotionLanesRenderer {
 
+    private final GameOutput out = GameOutputs.current();
+
     private final EmotionLanesWorldData data;
 
     // ANSI colors
@@ -46,10 +50,10 @@ public class EmotionLanesRenderer {
 
         clearSoft();
 
-        System.out.println("==================================================");
-        System.out.println("   Emotion Lanes: Defense of the Core");
-        System.out.println("      (Legends of Valor variant)");
-        System.out.println("==================================================");
+        out.println("==================================================");
+        out.println("   Emotion Lanes: Defense of the Core");
+        out.println("      (Legends of Valor variant)");
+        out.println("==================================================");
 
         printBoard(heroTokens, monsterTokens);
         printLegend();
@@ -61,10 +65,10 @@ public class EmotionLanesRenderer {
                               Map<Position, String> monsterTokens,
                               String statusLine) {
 
-        System.out.println();
-        System.out.println("==================================================");
-        System.out.println("   Emotion Lanes: Defense of the Core");
-        System.out.println("==================================================");
+        out.println();
+        out.println("==================================================");
+        out.println("   Emotion Lanes: Defense of the Core");
+        out.println("==================================================");
 
         printBoard(heroTokens, monsterTokens);
         printLegend();
@@ -77,41 +81,40 @@ public class EmotionLanesRenderer {
 
     clearSoft();
 
-    System.out.println("==================================================");
-    System.out.println("   Emotion Lanes: Defense of the Core");
-    System.out.println("      (Legends of Valor variant)");
-    System.out.println("==================================================");
+    out.println("==================================================");
+    out.println("   Emotion Lanes: Defense of the Core");
+    out.println("      (Legends of Valor variant)");
+    out.println("==================================================");
 
     printBoard(heroTokens, monsterTokens);
 
     if (statusLine != null && !statusLine.isEmpty()) {
-        System.out.println();
-        System.out.println("--------------------------------------------------");
-        System.out.println(statusLine);
-        System.out.println("--------------------------------------------------");
+        out.println();
+        out.println("--------------------------------------------------");
+        out.println(statusLine);
+        out.println("--------------------------------------------------");
     }
 }
 
 
     private void printStatus(String statusLine) {
         if (statusLine != null && !statusLine.isEmpty()) {
-            System.out.println();
-            System.out.println("--------------------------------------------------");
-            System.out.println(statusLine);
-            System.out.println("--------------------------------------------------");
+            out.println();
+            out.println("--------------------------------------------------");
+            out.println(statusLine);
+            out.println("--------------------------------------------------");
         }
     }
 
     private void clearSoft() {
-        for (int i = 0; i < 18; i++) System.out.println();
+        for (int i = 0; i < 18; i++) out.println();
     }
 
     private void printBoard(Map<Position, String> heroTokens,
                             Map<Position, String> monsterTokens) {
 
-        char[][] glyph = data.getGlyphLayer();
-        int rows = glyph.length;
-        int cols = glyph[0].length;
+        int rows = data.getWorld().getRows();
+        int cols = data.getWorld().getCols();
 
         printHorizontalBorder(cols);
 
@@ -131,7 +134,7 @@ public class EmotionLanesRenderer {
             occLine.append("||");
 
             for (int c = 0; c < cols; c++) {
-                Position p = new Position(r, c);
+                Position p = data.getWorld().positions().get(r, c);
                 occLine.append(padCell(occupantLabel(p, heroTokens, monsterTokens)));
 
                 if (c == cols - 1) occLine.append("||");
@@ -139,14 +142,14 @@ public class EmotionLanesRenderer {
                 else occLine.append("|");
             }
 
-            System.out.println(terrainLine.toString());
-            System.out.println(occLine.toString());
+            out.println(terrainLine.toString());
+            out.println(occLine.toString());
             printHorizontalBorder(cols);
         }
     }
 
     private String terrainSymbol(int r, int c) {
-        char g = data.getGlyphLayer()[r][c];
+        char g = data.glyphAt(r, c);
         return colorTerrain(g);
     }
 
@@ -160,7 +163,7 @@ public class EmotionLanesRenderer {
             // extra "+" after wall columns to match thick dividers visually
             if (isLaneWallCol(c)) sb.append("+");
         }
-        System.out.println(sb.toString());
+        out.println(sb.toString());
     }
 
     private String occupantLabel(Position p,
@@ -222,21 +225,21 @@ public class EmotionLanesRenderer {
     }
 
     private void printLegend() {
-        System.out.println();
-        System.out.println("Legend (terrain):");
-        System.out.println("  N  Nexus (Core / Rift)");
-        System.out.println("  I  Impassable wall");
-        System.out.println("  P  Plain");
-        System.out.println("  B  Bush / Overthinking Fog");
-        System.out.println("  C  Cave / Shadowed Memory");
-        System.out.println("  K  Koulou / Ego Spire");
-        System.out.println("  O  Obstacle (can be removed by hero)");
-        System.out.println("--------------------------------------------------");
-        System.out.println();
-        System.out.println("Legend (units):");
-        System.out.println("  " + CYAN + "H1" + RESET + ", " + CYAN + "H2" + RESET + ", " + CYAN + "H3" + RESET + "  Heroes");
-        System.out.println("  " + RED + "M1" + RESET + ", " + RED + "M2" + RESET + ", " + RED + "M3" + RESET + "  Monsters");
-        System.out.println("  " + CYAN + "H1" + RESET + "/" + RED + "M1" + RESET + "  both on same tile");
-        System.out.println("--------------------------------------------------");
+        out.println();
+        out.println("Legend (terrain):");
+        out.println("  N  Nexus (Core / Rift)");
+        out.println("  I  Impassable wall");
+        out.println("  P  Plain");
+        out.println("  B  Bush / Overthinking Fog");
+        out.println("  C  Cave / Shadowed Memory");
+        out.println("  K  Koulou / Ego Spire");
+        out.println("  O  Obstacle (can be removed by hero)");
+        out.println("--------------------------------------------------");
+        out.println();
+        out.println("Legend (units):");
+        out.println("  " + CYAN + "H1" + RESET + ", " + CYAN + "H2" + RESET + ", " + CYAN + "H3" + RESET + "  Heroes");
+        out.println("  " + RED + "M1" + RESET + ", " + RED + "M2" + RESET + ", " + RED + "M3" + RESET + "  Monsters");
+        out.println("  " + CYAN + "H1" + RESET + "/" + RED + "M1" + RESET + "  both on same tile");
+        out.println("--------------------------------------------------");
     }
 }
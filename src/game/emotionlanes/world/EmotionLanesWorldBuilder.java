@@ -1,11 +1,14 @@
 package game.emotionlanes.world;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
+import game.core.world.MapFile;
+import game.core.world.MapFileWriter;
 import game.core.world.Position;
+import game.core.world.PositionCache;
 import game.core.world.Tile;
 import game.core.world.TileCategory;
 import game.core.world.World;
@@ -30,9 +33,11 @@ public class EmotionLanesWorldBuilder {
             {0, 1}, {3, 4}, {6, 7}
     };
 
-    private static final Random RNG = new Random();
-
     public static EmotionLanesWorldData buildDefaultWorld() {
+        return buildDefaultWorld(new SplittableRandom());
+    }
+
+    public static EmotionLanesWorldData buildDefaultWorld(SplittableRandom rng) {
         Tile[][] tiles = new Tile[ROWS][COLS];
         char[][] glyph = new char[ROWS][COLS];
 
@@ -66,7 +71,7 @@ public class EmotionLanesWorldBuilder {
         // Each lane must contain at least one B/C/K/O in interior (rows 1..6)
         for (int lane = 0; lane < 3; lane++) {
             List<Position> laneInterior = laneInteriorPositions(lane);
-            Collections.shuffle(laneInterior, RNG);
+            shuffle(laneInterior, rng);
 
             // Force one of each special in this lane:
             placeGlyph(tiles, glyph, laneInterior.remove(0), 'B');
@@ -76,7 +81,7 @@ public class EmotionLanesWorldBuilder {
 
             // Fill the rest with weighted random (keep plenty of Plains)
             for (Position p : laneInterior) {
-                char g = rollTerrain();
+                char g = rollTerrain(rng);
                 placeGlyph(tiles, glyph, p, g);
             }
         }
@@ -85,18 +90,51 @@ public class EmotionLanesWorldBuilder {
         Position start = new Position(ROWS - 1, 3);
         World world = new World(tiles, start);
 
-        Position[] heroSpawns = new Position[]{
-                new Position(ROWS - 1, 0),
-                new Position(ROWS - 1, 3),
-                new Position(ROWS - 1, 6)
-        };
-        Position[] monsterSpawns = new Position[]{
-                new Position(0, 1),
-                new Position(0, 4),
-                new Position(0, 7)
-        };
-
-        return new EmotionLanesWorldData(world, glyph, heroSpawns, monsterSpawns);
+        return new EmotionLanesWorldData(world, glyph,
+                heroSpawns(world.positions(), ROWS), monsterSpawns(world.positions()));
+    }
+
+    /**
+     * A board authored as a map file (see app.ConvertMaps). Spawns are where
+     * the default board has them: heroes on the bottom row of each lane's left
+     * column, monsters on the top row of its right column.
+     *
+     * @throws IOException if the file is unreadable, not a map, or not 8 columns wide (the lane rules assume it)
+     */
+    public static EmotionLanesWorldData loadMap(String file) throws IOException {
+        MapFile map = MapFile.open(file);
+        if (map.cols() != COLS) {
+            throw new IOException(file + " is " + map.cols() + " columns wide; lanes boards are " + COLS);
+        }
+        World world = map.toWorld();
+        return new EmotionLanesWorldData(world, map,
+                heroSpawns(world.positions(), map.rows()), monsterSpawns(world.positions()));
+    }
+
+    /** Writes a board (tiles and glyphs) to a map file. */
+    public static void writeMap(final EmotionLanesWorldData data, String file) throws IOException {
+        MapFileWriter.write(file, data.getWorld(), MapFileWriter.NONE, new MapFileWriter.Layer() {
+            @Override
+            public byte at(int row, int col) {
+                return MapFileWriter.glyphByte(data.glyphAt(row, col));
+            }
+        });
+    }
+
+    private static Position[] heroSpawns(PositionCache positions, int rows) {
+        Position[] spawns = new Position[LANE_COLS.length];
+        for (int lane = 0; lane < LANE_COLS.length; lane++) {
+            spawns[lane] = positions.get(rows - 1, LANE_COLS[lane][0]);
+        }
+        return spawns;
+    }
+
+    private static Position[] monsterSpawns(PositionCache positions) {
+        Position[] spawns = new Position[LANE_COLS.length];
+        for (int lane = 0; lane < LANE_COLS.length; lane++) {
+            spawns[lane] = positions.get(0, LANE_COLS[lane][1]);
+        }
+        return spawns;
     }
 
     private static List<Position> laneInteriorPositions(int lane) {
@@ -111,9 +149,19 @@ public class EmotionLanesWorldBuilder {
         return out;
     }
 
-    private static char rollTerrain() {
+    // Fisher-Yates (Collections.shuffle only accepts java.util.Random)
+    private static void shuffle(List<Position> list, SplittableRandom rng) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            Position tmp = list.get(i);
+            list.set(i, list.get(j));
+            list.set(j, tmp);
+        }
+    }
+
+    private static char rollTerrain(SplittableRandom rng) {
         // tune as you like; must not be all special
-        int x = RNG.nextInt(100);
+        int x = rng.nextInt(100);
         if (x < 55) return 'P';
         if (x < 70) return 'B';
         if (x < 85) return 'C';
@@ -1,20 +1,22 @@
 package game.emotionlanes.world;
 
+import game.core.world.MapFile;
 import game.core.world.Position;
-import game.core.world.Tile;
 import game.core.world.World;
 
 /**
  * Simple data holder for Emotion Lanes.
  * We only care about:
  *  - World (for rows/cols and movement)
- *  - glyphLayer: char[][] with N/I/P/B/C/K
+ *  - glyphs N/I/P/B/C/K, read and changed through glyphAt / setGlyphAt
+ *    (kept in a char[][] for a generated board, in the MapFile for a loaded one)
  *  - hero / monster spawn positions
  */
 public class EmotionLanesWorldData {
 
     private final World world;
-    private final char[][] glyphLayer;
+    private final char[][] glyphLayer;     // null for a board read from a map file
+    private final MapFile map;
     private final Position[] heroSpawns;
     private final Position[] monsterSpawns;
 
@@ -24,6 +26,19 @@ public class EmotionLanesWorldData {
                                  Position[] monsterSpawns) {
         this.world = world;
         this.glyphLayer = glyphLayer;
+        this.map = null;
+        this.heroSpawns = heroSpawns;
+        this.monsterSpawns = monsterSpawns;
+    }
+
+    /** A board over map; world must read the same map (see MapFile.toWorld). */
+    public EmotionLanesWorldData(World world,
+                                 MapFile map,
+                                 Position[] heroSpawns,
+                                 Position[] monsterSpawns) {
+        this.world = world;
+        this.glyphLayer = null;
+        this.map = map;
         this.heroSpawns = heroSpawns;
         this.monsterSpawns = monsterSpawns;
     }
@@ -32,8 +47,20 @@ public class EmotionLanesWorldData {
         return world;
     }
 
-    public char[][] getGlyphLayer() {
-        return glyphLayer;
+    public int getRows() {
+        return world.getRows();
+    }
+
+    public int getCols() {
+        return world.getCols();
+    }
+
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < world.getRows() && col >= 0 && col < world.getCols();
+    }
+
+    public char glyphAt(int row, int col) {
+        return glyphLayer != null ? glyphLayer[row][col] : map.glyph(row, col);
     }
 
     public Position[] getHeroSpawns() {
@@ -45,7 +72,8 @@ public class EmotionLanesWorldData {
     }
 
     public void setGlyphAt(Position p, char g) {
-    glyphLayer[p.row][p.col] = g;
-}
+        if (glyphLayer != null) glyphLayer[p.row][p.col] = g;
+        else map.setGlyph(p.row, p.col, g);
+    }
 
 }
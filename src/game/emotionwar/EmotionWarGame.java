@@ -1,6 +1,9 @@
 package game.emotionwar;
 
 import game.core.game.Game;
+import game.core.io.FlushingInputStream;
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
 import game.core.items.Armor;
 import game.core.items.Item;
 import game.core.items.Potion;
@@ -8,57 +11,86 @@ import game.core.items.Spell;
 import game.core.items.Weapon;
 import game.core.market.Market;
 import game.core.model.Hero;
+import game.core.random.SeedSource;
 import game.core.world.Position;
 import game.core.world.TileCategory;
 import game.core.world.World;
-import game.emotionwar.factory.DataPaths;
-import game.emotionwar.factory.EmotionHeroFactory;
-import game.emotionwar.factory.EmotionItemFactory;
-import game.emotionwar.factory.EmotionMonsterFactory;
+import game.emotionwar.factory.ContentRegistry;
+import game.emotionwar.factory.ContentWatcher;
 import game.emotionwar.logic.EmotionEncounterManager;
 import game.emotionwar.logic.EmotionPartyBuilder;
 import game.emotionwar.model.EmotionHero;
 import game.emotionwar.model.EmotionHeroType;
-import game.emotionwar.model.EmotionType;
 import game.emotionwar.ui.EmotionWarRenderer;
 import game.emotionwar.world.EmotionWorldBuilder;
 import game.emotionwar.world.EmotionWorldData;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
 
 public class EmotionWarGame implements Game {
 
+    private final GameOutput out = GameOutputs.current();
+
+    /** -Dsoulrealms.openworld=true plays on an unbounded, chunk-generated map. */
+    public static final String OPEN_WORLD_PROPERTY = "soulrealms.openworld";
+
+    /** -Dsoulrealms.map=<file> plays on an authored map file (see app.ConvertMaps). */
+    public static final String MAP_PROPERTY = "soulrealms.map";
+
+    /** -Dsoulrealms.mapsize=<n> plays on a generated n x n map instead of the 10x10 one. */
+    public static final String MAP_SIZE_PROPERTY = "soulrealms.mapsize";
+
     private World world;
-    private EmotionType[][] emotionLayer;
+    private EmotionWorldData worldData;
     private final List<Hero> party = new ArrayList<Hero>();
     private Market sanctuaryMarket;
+    private long marketGeneration;      // ContentWatcher.generation() the market was built from
     private EmotionWarRenderer renderer;
     private EmotionEncounterManager encounterManager;
 
-    private final Scanner scanner = new Scanner(System.in);
-    private final Random rng = new Random();
+    private final Scanner scanner = new Scanner(FlushingInputStream.stdin());
+    private SeedSource seeds;
 
     @Override
     public void init() {
+        // RANDOMNESS (replay a session with -Dsoulrealms.seed=<seed>)
+        seeds = SeedSource.fromSystemProperty();
+        out.println("Session seed: " + seeds.getSeed());
+
         // WORLD
-        EmotionWorldData worldData = EmotionWorldBuilder.buildDefaultWorld();
+        worldData = null;
+        String mapFile = System.getProperty(MAP_PROPERTY);
+        if (mapFile != null) {
+            try {
+                worldData = EmotionWorldBuilder.loadMap(mapFile);
+            } catch (IOException e) {
+                out.println("Cannot load map " + mapFile + ": " + e.getMessage());
+            }
+        }
+        int mapSize = Integer.getInteger(MAP_SIZE_PROPERTY, 0);
+        if (worldData == null && Boolean.getBoolean(OPEN_WORLD_PROPERTY)) {
+            worldData = EmotionWorldBuilder.buildOpenWorld(seeds.stream("world"), EmotionWarRenderer.VIEW_RADIUS);
+        } else if (worldData == null && mapSize > 0) {
+            worldData = EmotionWorldBuilder.buildLargeWorld(seeds.stream("world"), mapSize, mapSize);
+        } else if (worldData == null) {
+            worldData = EmotionWorldBuilder.buildDefaultWorld(seeds.stream("world"));
+        }
         this.world = worldData.getWorld();
-        this.emotionLayer = worldData.getEmotionLayer();
 
-        // MONSTERS
-        EmotionMonsterFactory.loadAllDefaultMonsters();
+        // CONTENT (all files in parallel, once per process; instant if ArcadeApp preloaded it)
+        ContentRegistry.preload();
 
         // ITEMS
-        List<Weapon> weapons  = EmotionItemFactory.loadWeapons(DataPaths.WEAPONS);
-        List<Armor>  armors   = EmotionItemFactory.loadArmors(DataPaths.ARMORS);
-        List<Potion> potions  = EmotionItemFactory.loadPotions(DataPaths.POTIONS);
-        List<Spell>  spells   = EmotionItemFactory.loadSpells(DataPaths.SPELLS);
+        List<Weapon> weapons  = ContentRegistry.weapons();
+        List<Armor>  armors   = ContentRegistry.armors();
+        List<Potion> potions  = ContentRegistry.potions();
+        List<Spell>  spells   = ContentRegistry.spells();
 
         // HEROES – build party
-        List<EmotionHero> allHeroes = EmotionHeroFactory.loadAllDefaultHeroes();
+        List<EmotionHero> allHeroes = ContentRegistry.heroes();
         if (allHeroes.isEmpty()) {
             EmotionHero hero = new EmotionHero(
                     "Kael",
@@ -91,38 +123,42 @@ public class EmotionWarGame implements Game {
         }
 
         // MARKET STOCK
-        List<Item> stock = new ArrayList<Item>();
-        if (weapons.size() > 1) stock.add(weapons.get(1));
-        if (armors.size() > 1)  stock.add(armors.get(1));
-        stock.addAll(potions);
-        stock.addAll(spells);
-        sanctuaryMarket = new Market(stock);
+        marketGeneration = ContentWatcher.generation();
+        sanctuaryMarket = new Market(marketStock());
 
         // UI & encounter manager
-        renderer = new EmotionWarRenderer(world, emotionLayer, party);
-        encounterManager = new EmotionEncounterManager(world, emotionLayer, party, rng, scanner);
+        renderer = new EmotionWarRenderer(worldData, party);
+        encounterManager = new EmotionEncounterManager(worldData, party,
+                seeds.stream("encounters"), scanner);
     }
 
     @Override
     public void run() {
         boolean running = true;
         while (running) {
+            // data files edited since the last move (see ContentWatcher)
+            ContentWatcher.applyPending();
+            if (ContentWatcher.generation() != marketGeneration) {
+                marketGeneration = ContentWatcher.generation();
+                sanctuaryMarket = new Market(marketStock());
+            }
+
             renderer.render();
-            System.out.println("[W/A/S/D] move  [I]nspect [V]iew inventory  [U]se potion [H]elp  [Q]uit");
-            System.out.print("> ");
+            out.println("[W/A/S/D] move  [I]nspect [V]iew inventory  [U]se potion [H]elp  [Q]uit");
+            out.print("> ");
             String input = scanner.nextLine().trim().toUpperCase();
 
             Position current = world.getPartyPosition();
             Position next = current;
 
             if ("W".equals(input)) {
-                next = current.up();
+                next = world.positions().up(current);
             } else if ("S".equals(input)) {
-                next = current.down();
+                next = world.positions().down(current);
             } else if ("A".equals(input)) {
-                next = current.left();
+                next = world.positions().left(current);
             } else if ("D".equals(input)) {
-                next = current.right();
+                next = world.positions().right(current);
             } else if ("I".equals(input)) {
                 inspectParty();
                 continue;
@@ -137,11 +173,11 @@ public class EmotionWarGame implements Game {
                 pause();
                 continue;
             } else if ("Q".equals(input)) {
-                System.out.println("Leaving the Soul Realms...");
+                out.println("Leaving the Soul Realms...");
                 running = false;
                 continue;
             } else {
-                System.out.println("Unknown command.");
+                out.println("Unknown command.");
                 pause();
                 continue;
             }
@@ -154,10 +190,10 @@ public class EmotionWarGame implements Game {
 
             // After movement, handle tile events
             Position pos = world.getPartyPosition();
-            TileCategory cat = world.getTile(pos).getCategory();
+            TileCategory cat = world.categoryAt(pos.row, pos.col);
 
             if (cat == TileCategory.MARKET) {
-                System.out.println("You find a quiet Sanctuary Shrine.");
+                out.println("You find a quiet Sanctuary Shrine.");
                 openMarketForParty();
             } else {
                 boolean survived = encounterManager.handleTileEvent();
@@ -166,31 +202,43 @@ public class EmotionWarGame implements Game {
                 }
             }
         }
-        System.out.println("Game over.");
+        out.println("Game over.");
+    }
+
+    private List<Item> marketStock() {
+        List<Weapon> weapons = ContentRegistry.weapons();
+        List<Armor>  armors  = ContentRegistry.armors();
+
+        List<Item> stock = new ArrayList<Item>();
+        if (weapons.size() > 1) stock.add(weapons.get(1));
+        if (armors.size() > 1)  stock.add(armors.get(1));
+        stock.addAll(ContentRegistry.potions());
+        stock.addAll(ContentRegistry.spells());
+        return stock;
     }
 
     private void inspectParty() {
-        System.out.println("Party info:");
+        out.println("Party info:");
         for (int i = 0; i < party.size(); i++) {
             Hero h = party.get(i);
-            System.out.println("  " + h.toString());
+            out.println("  " + h.toString());
         }
         pause();
     }
 
     private Hero chooseHero(String prompt) {
         if (party.isEmpty()) {
-            System.out.println("No heroes in party.");
+            out.println("No heroes in party.");
             return null;
         }
-        System.out.println(prompt);
+        out.println(prompt);
         for (int i = 0; i < party.size(); i++) {
             Hero h = party.get(i);
-            System.out.println("  " + (i + 1) + ") " + h.getName() +
+            out.println("  " + (i + 1) + ") " + h.getName() +
                     " (Lvl " + h.getLevel() + ", HP " + h.getHp() + "/" + h.getStats().getMaxHp() +
                     ", MP " + h.getMp() + "/" + h.getStats().getMaxMp() + ")");
         }
-        System.out.print("> ");
+        out.print("> ");
         String line = scanner.nextLine().trim();
         try {
             int idx = Integer.parseInt(line) - 1;
@@ -200,7 +248,7 @@ public class EmotionWarGame implements Game {
         } catch (NumberFormatException e) {
             // ignore
         }
-        System.out.println("Cancelled.");
+        out.println("Cancelled.");
         return null;
     }
 
@@ -211,22 +259,18 @@ public class EmotionWarGame implements Game {
             return;
         }
 
-        System.out.println("Inventory for " + hero.getName() + ":");
+        out.println("Inventory for " + hero.getName() + ":");
 
-        if (hero.getInventory().getItems().isEmpty()) {
-            System.out.println("  (empty)");
+        if (hero.getInventory().isEmpty()) {
+            out.println("  (empty)");
         } else {
-            List<game.core.items.Item> items = hero.getInventory().getItems();
-            for (int i = 0; i < items.size(); i++) {
-                game.core.items.Item it = items.get(i);
-                System.out.println("  " + (i + 1) + ") " + it);
-            }
+            out.print(hero.getInventory());
         }
 
-        System.out.println("Equipped:");
-        System.out.println("  Main hand: " + (hero.getMainHand() != null ? hero.getMainHand().getName() : "none"));
-        System.out.println("  Off hand : " + (hero.getOffHand() != null ? hero.getOffHand().getName() : "none"));
-        System.out.println("  Armor    : " + (hero.getArmor()  != null ? hero.getArmor().getName()  : "none"));
+        out.println("Equipped:");
+        out.println("  Main hand: " + (hero.getMainHand() != null ? hero.getMainHand().getName() : "none"));
+        out.println("  Off hand : " + (hero.getOffHand() != null ? hero.getOffHand().getName() : "none"));
+        out.println("  Armor    : " + (hero.getArmor()  != null ? hero.getArmor().getName()  : "none"));
 
         pause();
     }
@@ -240,30 +284,30 @@ public class EmotionWarGame implements Game {
 
         List<game.core.items.Potion> potions = hero.getInventory().getPotions();
         if (potions.isEmpty()) {
-            System.out.println(hero.getName() + " has no potions.");
+            out.println(hero.getName() + " has no potions.");
             pause();
             return;
         }
 
-        System.out.println("Potions for " + hero.getName() + ":");
+        out.println("Potions for " + hero.getName() + ":");
         for (int i = 0; i < potions.size(); i++) {
             game.core.items.Potion p = potions.get(i);
-            System.out.println("  " + (i + 1) + ") " + p);
+            out.println("  " + (i + 1) + ") " + p + hero.getInventory().countSuffix(p));
         }
-        System.out.println("  0) Cancel");
-        System.out.print("> ");
+        out.println("  0) Cancel");
+        out.print("> ");
 
         String line = scanner.nextLine().trim();
         int choice;
         try {
             choice = Integer.parseInt(line);
         } catch (NumberFormatException e) {
-            System.out.println("Cancelled.");
+            out.println("Cancelled.");
             pause();
             return;
         }
         if (choice <= 0 || choice > potions.size()) {
-            System.out.println("Cancelled.");
+            out.println("Cancelled.");
             pause();
             return;
         }
@@ -271,8 +315,8 @@ public class EmotionWarGame implements Game {
         game.core.items.Potion chosen = potions.get(choice - 1);
         chosen.applyTo(hero); // reuse the same logic as in battle
         hero.getInventory().remove(chosen);
-        System.out.println("Used " + chosen.getName() + " on " + hero.getName() + ".");
-        System.out.println("Now at HP " + hero.getHp() + "/" + hero.getStats().getMaxHp() +
+        out.println("Used " + chosen.getName() + " on " + hero.getName() + ".");
+        out.println("Now at HP " + hero.getHp() + "/" + hero.getStats().getMaxHp() +
                 ", MP " + hero.getMp() + "/" + hero.getStats().getMaxMp());
 
         pause();
@@ -281,14 +325,14 @@ public class EmotionWarGame implements Game {
     private void openMarketForParty() {
         boolean shopping = true;
         while (shopping) {
-            System.out.println("Who do you want to shop for?");
+            out.println("Who do you want to shop for?");
             for (int i = 0; i < party.size(); i++) {
                 Hero h = party.get(i);
-                System.out.println("[" + i + "] " + h.getName() +
+                out.println("[" + i + "] " + h.getName() +
                         " (Lv " + h.getLevel() + ", Gold " + h.getGold() + ")");
             }
-            System.out.println("[X] Leave market");
-            System.out.print("> ");
+            out.println("[X] Leave market");
+            out.print("> ");
 
             String input = scanner.nextLine().trim().toUpperCase();
             if ("X".equals(input)) {
@@ -297,74 +341,74 @@ public class EmotionWarGame implements Game {
                 try {
                     int idx = Integer.parseInt(input);
                     if (idx < 0 || idx >= party.size()) {
-                        System.out.println("Invalid hero index.");
+                        out.println("Invalid hero index.");
                     } else {
                         sanctuaryMarket.open(party.get(idx), scanner);
                     }
                 } catch (NumberFormatException e) {
-                    System.out.println("Please enter a hero number or X.");
+                    out.println("Please enter a hero number or X.");
                 }
             }
         }
     }
 
     private void showHelp() {
-        System.out.println("--------------- HELP / INSTRUCTIONS ---------------");
-        System.out.println("Setting:");
-        System.out.println("  You are traveling through inner Soul Realms, each one");
-        System.out.println("  dominated by a single emotion (W/D/F/S/A/E/P).");
-        System.out.println("  Your party are aspects of the self trying to restore balance.");
-        System.out.println();
-        System.out.println("Exploration controls:");
-        System.out.println("  W / A / S / D  - Move up / left / down / right");
-        System.out.println("  I              - Inspect party (HP/MP, stats, gold, equipment)");
-        System.out.println("  V              - View inventory per hero");
-        System.out.println("  U              - Use potion on a hero outside of battle");
-        System.out.println("  H              - Show this help screen");
-        System.out.println("  Q              - Quit to end the run");
-        System.out.println();
-        System.out.println("Map tiles:");
-        System.out.println("  @  - Your party");
-        System.out.println("  M  - Sanctuary Market (buy/sell items, change gear)");
-        System.out.println("  #  - Inaccessible rock / blocked tile");
-        System.out.println("  .  - Neutral ground");
-        System.out.println("  W  - Wrath realm");
-        System.out.println("  D  - Desire realm");
-        System.out.println("  F  - Fear realm");
-        System.out.println("  S  - Sorrow realm");
-        System.out.println("  A  - Anxiety realm");
-        System.out.println("  E  - Envy realm");
-        System.out.println("  P  - Pride realm");
-        System.out.println("  (Some neutral-looking tiles are hidden Fractures that");
-        System.out.println("   can trigger harder mixed-emotion battles at higher levels.)");
-        System.out.println();
-        System.out.println("Markets (Sanctuary):");
-        System.out.println("  When you stand on M, you can choose which hero to shop for.");
-        System.out.println("  For that hero you can:");
-        System.out.println("    - Buy items they are high enough level to use");
-        System.out.println("    - Sell items from their inventory");
-        System.out.println("    - Equip weapons and armor");
-        System.out.println();
-        System.out.println("Battles:");
-        System.out.println("  Each round, you choose which hero acts, then the monsters act.");
-        System.out.println("  On a hero's turn you can:");
-        System.out.println("    1) Attack       - Weapon attack on a chosen monster.");
-        System.out.println("    2) Cast Spell   - Spend MP to cast a learned spell.");
-        System.out.println("    3) Use Potion   - Consume a potion from that hero's inventory.");
-        System.out.println("    4) Skip         - End that hero's turn without acting.");
-        System.out.println();
-        System.out.println("  Heroes and monsters can dodge attacks based on their dodge stat.");
-        System.out.println("  After each round, you may heal using potions or rest at markets.");
-        System.out.println();
-        System.out.println("Death & Rewards:");
-        System.out.println("  - If all heroes fall, the run ends.");
-        System.out.println("  - If you win a battle, surviving heroes share gold and XP.");
-        System.out.println("---------------------------------------------------");
+        out.println("--------------- HELP / INSTRUCTIONS ---------------");
+        out.println("Setting:");
+        out.println("  You are traveling through inner Soul Realms, each one");
+        out.println("  dominated by a single emotion (W/D/F/S/A/E/P).");
+        out.println("  Your party are aspects of the self trying to restore balance.");
+        out.println();
+        out.println("Exploration controls:");
+        out.println("  W / A / S / D  - Move up / left / down / right");
+        out.println("  I              - Inspect party (HP/MP, stats, gold, equipment)");
+        out.println("  V              - View inventory per hero");
+        out.println("  U              - Use potion on a hero outside of battle");
+        out.println("  H              - Show this help screen");
+        out.println("  Q              - Quit to end the run");
+        out.println();
+        out.println("Map tiles:");
+        out.println("  @  - Your party");
+        out.println("  M  - Sanctuary Market (buy/sell items, change gear)");
+        out.println("  #  - Inaccessible rock / blocked tile");
+        out.println("  .  - Neutral ground");
+        out.println("  W  - Wrath realm");
+        out.println("  D  - Desire realm");
+        out.println("  F  - Fear realm");
+        out.println("  S  - Sorrow realm");
+        out.println("  A  - Anxiety realm");
+        out.println("  E  - Envy realm");
+        out.println("  P  - Pride realm");
+        out.println("  (Some neutral-looking tiles are hidden Fractures that");
+        out.println("   can trigger harder mixed-emotion battles at higher levels.)");
+        out.println();
+        out.println("Markets (Sanctuary):");
+        out.println("  When you stand on M, you can choose which hero to shop for.");
+        out.println("  For that hero you can:");
+        out.println("    - Buy items they are high enough level to use");
+        out.println("    - Sell items from their inventory");
+        out.println("    - Equip weapons and armor");
+        out.println();
+        out.println("Battles:");
+        out.println("  Each round, you choose which hero acts, then the monsters act.");
+        out.println("  On a hero's turn you can:");
+        out.println("    1) Attack       - Weapon attack on a chosen monster.");
+        out.println("    2) Cast Spell   - Spend MP to cast a learned spell.");
+        out.println("    3) Use Potion   - Consume a potion from that hero's inventory.");
+        out.println("    4) Skip         - End that hero's turn without acting.");
+        out.println();
+        out.println("  Heroes and monsters can dodge attacks based on their dodge stat.");
+        out.println("  After each round, you may heal using potions or rest at markets.");
+        out.println();
+        out.println("Death & Rewards:");
+        out.println("  - If all heroes fall, the run ends.");
+        out.println("  - If you win a battle, surviving heroes share gold and XP.");
+        out.println("---------------------------------------------------");
     }
 
     private void pause() {
-        System.out.println();
-        System.out.println("(Press Enter to continue)");
+        out.println();
+        out.println("(Press Enter to continue)");
         scanner.nextLine();
     }
 }
\ No newline at end of file
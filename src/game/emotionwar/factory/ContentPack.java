@@ -0,0 +1,293 @@
+package game.emotionwar.factory;
+
+import game.core.io.GameOutputs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Every data/*.txt file, pre-parsed into one binary file (built by
+ * ContentPackWriter, see app.PackContent).
+ *
+ * The factories ask open(path) for a file's rows. If a pack is present and
+ * holds an up-to-date copy of that file (same size and modification time as
+ * when it was packed) the rows come from the pack, with no text parsing;
+ * otherwise the text file is read as usual. The text files stay the source of
+ * truth: editing one simply makes the pack fall back to it until the pack is
+ * rebuilt.
+ *
+ * The pack is read once, on first use, into a heap buffer with a single read
+ * (not mapped: the checksum reads every byte anyway, and a mapped file stays
+ * locked on Windows, so app.PackContent could not rebuild it while a game
+ * runs); the magic, version and CRC32 trailer are checked before anything in
+ * it is trusted. A missing pack is silently ignored, a damaged or outdated one
+ * is ignored with a message.
+ *
+ * Layout (big-endian): magic, version, section count, the sections, then the
+ * CRC32 of everything before it as a long. A section is the source path,
+ * size and mtime, then its string pool, rows (line, field count) and fields
+ * (tag + int / double bits / string index).
+ */
+public final class ContentPack {
+
+    /** System property with the pack location, e.g. -Dsoulrealms.pack=build/content.pack */
+    public static final String PACK_PROPERTY = "soulrealms.pack";
+
+    public static final int VERSION = 1;
+
+    static final int MAGIC = 0x53525043; // "SRPC"
+
+    static final byte INT = 1;
+    static final byte DOUBLE = 2;
+    static final byte STRING = 3;
+    static final byte ENUM = 4;
+
+    private static ContentPack active;
+    private static boolean activeLoaded;
+
+    private final Map<String, Section> sections;
+
+    private ContentPack(Map<String, Section> sections) {
+        this.sections = sections;
+    }
+
+    /**
+     * Rows of a data file: from the pack when it has a current copy, else
+     * parsed from the text file.
+     */
+    public static RecordSource open(String path) {
+        ContentPack pack = active();
+        Section s = pack == null ? null : pack.sections.get(path);
+        if (s != null && s.isCurrent()) return s.rows();
+        return RecordReader.open(path);
+    }
+
+    /** The pack open() uses, or null if there is none (loaded on first call). */
+    public static synchronized ContentPack active() {
+        if (!activeLoaded) {
+            activeLoaded = true;
+            String file = System.getProperty(PACK_PROPERTY, DataPaths.CONTENT_PACK);
+            try {
+                active = load(file);
+            } catch (NoSuchFileException e) {
+                active = null;
+            } catch (IOException e) {
+                GameOutputs.current().println("Ignoring content pack " + file + ": " + e.getMessage());
+                active = null;
+            }
+        }
+        return active;
+    }
+
+    /** Forgets the loaded pack; the next open() reads it from disk again. */
+    public static synchronized void reset() {
+        active = null;
+        activeLoaded = false;
+    }
+
+    /**
+     * Reads and verifies a pack.
+     *
+     * @throws IOException if it cannot be read, or is not a valid pack of this version
+     */
+    public static ContentPack load(String file) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(Paths.get(file)));
+
+        if (buf.remaining() < 16 || buf.getInt(0) != MAGIC) {
+            throw new IOException("not a content pack");
+        }
+        if (buf.getInt(4) != VERSION) {
+            throw new IOException("version " + buf.getInt(4) + ", expected " + VERSION);
+        }
+        int body = buf.limit() - 8;
+        CRC32 crc = new CRC32();
+        ByteBuffer covered = buf.duplicate();
+        covered.limit(body);
+        crc.update(covered);
+        if (crc.getValue() != buf.getLong(body)) {
+            throw new IOException("checksum mismatch");
+        }
+
+        try {
+            buf.position(8);
+            int count = buf.getInt();
+            Map<String, Section> sections = new HashMap<String, Section>();
+            for (int i = 0; i < count; i++) {
+                Section s = new Section(buf);
+                sections.put(s.path, s);
+            }
+            return new ContentPack(sections);
+        } catch (RuntimeException e) {
+            // a valid checksum over a malformed body means a writer bug, not disk damage
+            throw new IOException("malformed content pack", e);
+        }
+    }
+
+    public boolean contains(String path) {
+        return sections.containsKey(path);
+    }
+
+    /** Rows of one packed file, whether or not its text file has changed since. */
+    public RecordSource rows(String path) {
+        Section s = sections.get(path);
+        if (s == null) throw new IllegalArgumentException("Not in content pack: " + path);
+        return s.rows();
+    }
+
+    static String readString(ByteBuffer buf) {
+        int len = buf.getInt();
+        byte[] b = new byte[len];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    // ---------- One packed file ----------
+
+    private static final class Section {
+        final String path;
+        final long sourceSize;
+        final long sourceModified;
+
+        final String[] strings;
+        final int[] lines;
+        final int[] rowStart;   // fields of row r are [rowStart[r], rowStart[r + 1])
+        final byte[] tags;
+        final long[] values;    // int, double bits, or index into strings
+
+        Section(ByteBuffer buf) {
+            path = readString(buf);
+            sourceSize = buf.getLong();
+            sourceModified = buf.getLong();
+            int rows = buf.getInt();
+            int fields = buf.getInt();
+
+            strings = new String[buf.getInt()];
+            for (int i = 0; i < strings.length; i++) strings[i] = readString(buf);
+
+            lines = new int[rows];
+            rowStart = new int[rows + 1];
+            for (int r = 0; r < rows; r++) {
+                lines[r] = buf.getInt();
+                rowStart[r + 1] = rowStart[r] + buf.getInt();
+            }
+            if (rowStart[rows] != fields) throw new IllegalStateException("field count mismatch in " + path);
+
+            tags = new byte[fields];
+            values = new long[fields];
+            for (int f = 0; f < fields; f++) {
+                tags[f] = buf.get();
+                switch (tags[f]) {
+                    case INT:    values[f] = buf.getInt(); break;
+                    case DOUBLE: values[f] = buf.getLong(); break;
+                    case STRING:
+                    case ENUM:   values[f] = buf.getInt(); break;
+                    default: throw new IllegalStateException("bad field tag " + tags[f] + " in " + path);
+                }
+            }
+        }
+
+        // missing text file: the pack is all there is, so use it
+        boolean isCurrent() {
+            Path p = Paths.get(path);
+            try {
+                return Files.size(p) == sourceSize
+                        && Files.getLastModifiedTime(p).toMillis() == sourceModified;
+            } catch (NoSuchFileException e) {
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        RecordSource rows() {
+            return new Rows(this);
+        }
+    }
+
+    // ---------- Cursor ----------
+
+    private static final class Rows implements RecordSource {
+        private final Section s;
+        private int row = -1;
+
+        Rows(Section s) {
+            this.s = s;
+        }
+
+        @Override
+        public boolean next() {
+            if (row < s.lines.length) row++;
+            return row < s.lines.length;
+        }
+
+        @Override
+        public int getLineNumber() {
+            return row >= 0 && row < s.lines.length ? s.lines[row] : 0;
+        }
+
+        @Override
+        public int fieldCount() {
+            return s.rowStart[row + 1] - s.rowStart[row];
+        }
+
+        @Override
+        public String getString(int field) {
+            int f = index(field);
+            if (s.tags[f] != STRING && s.tags[f] != ENUM) throw wrongType(field, "text");
+            return s.strings[(int) s.values[f]];
+        }
+
+        @Override
+        public int getInt(int field) {
+            int f = index(field);
+            if (s.tags[f] != INT) throw wrongType(field, "an int");
+            return (int) s.values[f];
+        }
+
+        @Override
+        public double getDouble(int field) {
+            int f = index(field);
+            if (s.tags[f] == DOUBLE) return Double.longBitsToDouble(s.values[f]);
+            if (s.tags[f] == INT) return (int) s.values[f];
+            throw wrongType(field, "a number");
+        }
+
+        @Override
+        public <E extends Enum<E>> E getEnum(int field, Class<E> type) {
+            String name = getString(field);
+            E[] constants = type.getEnumConstants();
+            for (int c = 0; c < constants.length; c++) {
+                if (constants[c].name().equalsIgnoreCase(name)) return constants[c];
+            }
+            throw new RecordFormatException(s.path, getLineNumber(),
+                    "field " + (field + 1) + " (\"" + name + "\") is not a " + type.getSimpleName());
+        }
+
+        @Override
+        public void close() {
+            // nothing to release: the section lives as long as the pack
+        }
+
+        private int index(int field) {
+            int n = fieldCount();
+            if (field < 0 || field >= n) {
+                throw new RecordFormatException(s.path, getLineNumber(),
+                        "missing field " + (field + 1) + " (row has " + n + ")");
+            }
+            return s.rowStart[row] + field;
+        }
+
+        private RecordFormatException wrongType(int field, String what) {
+            return new RecordFormatException(s.path, getLineNumber(),
+                    "field " + (field + 1) + " was not packed as " + what + " (rebuild the content pack)");
+        }
+    }
+}
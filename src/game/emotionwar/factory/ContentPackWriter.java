@@ -0,0 +1,203 @@
+package game.emotionwar.factory;
+
+import game.core.items.Potion;
+import game.core.items.SpellType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compiles the data/*.txt files into a ContentPack.
+ *
+ * Each file is parsed with RecordReader against a column layout (the same
+ * types its factory reads), so a bad value fails the build with its file and
+ * line instead of failing at game start. Rows are stored exactly as the
+ * factories would see them from the text, short rows included; a row with
+ * fewer fields than its layout requires is one the factories skip, so it is
+ * stored as plain text rather than checked against the column types.
+ */
+public final class ContentPackWriter {
+
+    /** Column types of one data file: S = text, I = int, D = double, E = enum. */
+    static final class Layout {
+        final String path;
+        final String columns;
+        final int required;         // fewest fields a row the factory reads has
+        final Class<?>[] enums;     // per column, for 'E'
+
+        Layout(String path, String columns, Class<?>... enumsByColumn) {
+            this(path, columns, columns.length(), enumsByColumn);
+        }
+
+        Layout(String path, String columns, int required, Class<?>... enumsByColumn) {
+            this.path = path;
+            this.columns = columns;
+            this.required = required;
+            this.enums = new Class<?>[columns.length()];
+            int e = 0;
+            for (int i = 0; i < columns.length(); i++) {
+                if (columns.charAt(i) == 'E') enums[i] = enumsByColumn[e++];
+            }
+        }
+    }
+
+    private static final String HERO = "SIIIIIII";          // name,level,maxHp,maxMp,str,dex,agi,gold
+    private static final String MONSTER = "SIIIIIIIIDD";    // ...,baseDamage,defense,dodge[,weight]
+    private static final int MONSTER_REQUIRED = 10;         // weight is optional
+
+    private ContentPackWriter() {
+    }
+
+    /** Everything the games load from data/. */
+    static List<Layout> defaultLayouts() {
+        List<Layout> l = new ArrayList<Layout>();
+        l.add(new Layout(DataPaths.HERO_RESOLUTE, HERO));
+        l.add(new Layout(DataPaths.HERO_MINDSEER, HERO));
+        l.add(new Layout(DataPaths.HERO_SWIFTHEART, HERO));
+
+        l.add(new Layout(DataPaths.MONSTER_WRATH, MONSTER, MONSTER_REQUIRED));
+        l.add(new Layout(DataPaths.MONSTER_FEAR, MONSTER, MONSTER_REQUIRED));
+        l.add(new Layout(DataPaths.MONSTER_SORROW, MONSTER, MONSTER_REQUIRED));
+        l.add(new Layout(DataPaths.MONSTER_ANXIETY, MONSTER, MONSTER_REQUIRED));
+        l.add(new Layout(DataPaths.MONSTER_ENVY, MONSTER, MONSTER_REQUIRED));
+        l.add(new Layout(DataPaths.MONSTER_DESIRE, MONSTER, MONSTER_REQUIRED));
+        l.add(new Layout(DataPaths.MONSTER_PRIDE, MONSTER, MONSTER_REQUIRED));
+        l.add(new Layout(DataPaths.MONSTERS_LANES, MONSTER, MONSTER_REQUIRED));
+
+        l.add(new Layout(DataPaths.WEAPONS, "SIIII"));                      // name,price,level,damage,hands
+        l.add(new Layout(DataPaths.ARMORS, "SIII"));                        // name,price,level,reduction
+        l.add(new Layout(DataPaths.POTIONS, "SIIEI", Potion.Stat.class));   // name,price,level,stat,amount
+        l.add(new Layout(DataPaths.SPELLS, "SIIIIE", SpellType.class));     // name,price,level,damage,mana,type
+        return l;
+    }
+
+    /**
+     * Packs every default data file into out (written to a temp file first and
+     * moved into place, so a running game never sees half a pack).
+     *
+     * @return total rows packed
+     * @throws RecordFormatException if a data file has a bad value
+     */
+    public static int writeDefault(String out) throws IOException {
+        return write(defaultLayouts(), out);
+    }
+
+    static int write(List<Layout> layouts, String out) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(ContentPack.MAGIC);
+        data.writeInt(ContentPack.VERSION);
+        data.writeInt(layouts.size());
+
+        int rows = 0;
+        for (int i = 0; i < layouts.size(); i++) {
+            rows += writeSection(data, layouts.get(i));
+        }
+        data.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        data.writeLong(crc.getValue());
+        data.flush();
+
+        Path target = Paths.get(out);
+        Path tmp = Paths.get(out + ".tmp");
+        try {
+            Files.write(tmp, bytes.toByteArray());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return rows;
+    }
+
+    private static int writeSection(DataOutputStream data, Layout layout) throws IOException {
+        Path src = Paths.get(layout.path);
+        long size = Files.size(src);
+        long modified = Files.getLastModifiedTime(src).toMillis();
+
+        List<String> strings = new ArrayList<String>();
+        Map<String, Integer> stringIndex = new HashMap<String, Integer>();
+        List<int[]> rows = new ArrayList<int[]>();           // {line, fieldCount}
+        ByteArrayOutputStream fieldBytes = new ByteArrayOutputStream();
+        DataOutputStream fields = new DataOutputStream(fieldBytes);
+        int fieldTotal = 0;
+
+        try (RecordReader r = RecordReader.open(layout.path)) {
+            while (r.next()) {
+                int n = r.fieldCount();
+                rows.add(new int[] { r.getLineNumber(), n });
+                fieldTotal += n;
+                boolean typed = n >= layout.required;   // short rows are skipped, not parsed
+                for (int f = 0; f < n; f++) {
+                    char type = typed && f < layout.columns.length() ? layout.columns.charAt(f) : 'S';
+                    switch (type) {
+                        case 'I':
+                            fields.writeByte(ContentPack.INT);
+                            fields.writeInt(r.getInt(f));
+                            break;
+                        case 'D':
+                            fields.writeByte(ContentPack.DOUBLE);
+                            fields.writeLong(Double.doubleToRawLongBits(r.getDouble(f)));
+                            break;
+                        case 'E':
+                            fields.writeByte(ContentPack.ENUM);
+                            fields.writeInt(intern(enumName(r, f, layout.enums[f]), strings, stringIndex));
+                            break;
+                        default:
+                            fields.writeByte(ContentPack.STRING);
+                            fields.writeInt(intern(r.getString(f), strings, stringIndex));
+                    }
+                }
+            }
+        }
+        fields.flush();
+
+        writeString(data, layout.path);
+        data.writeLong(size);
+        data.writeLong(modified);
+        data.writeInt(rows.size());
+        data.writeInt(fieldTotal);
+        data.writeInt(strings.size());
+        for (int i = 0; i < strings.size(); i++) writeString(data, strings.get(i));
+        for (int i = 0; i < rows.size(); i++) {
+            data.writeInt(rows.get(i)[0]);
+            data.writeInt(rows.get(i)[1]);
+        }
+        fieldBytes.writeTo(data);
+        return rows.size();
+    }
+
+    // validates against the enum now, stores the constant's own name
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static String enumName(RecordReader r, int field, Class<?> type) {
+        return r.getEnum(field, (Class) type).name();
+    }
+
+    private static int intern(String s, List<String> strings, Map<String, Integer> index) {
+        Integer i = index.get(s);
+        if (i == null) {
+            i = strings.size();
+            strings.add(s);
+            index.put(s, i);
+        }
+        return i;
+    }
+
+    private static void writeString(DataOutputStream data, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(b.length);
+        data.write(b);
+    }
+}
@@ -0,0 +1,276 @@
+package game.emotionwar.factory;
+
+import game.core.items.Armor;
+import game.core.items.Potion;
+import game.core.items.Spell;
+import game.core.items.Weapon;
+import game.emotionwar.model.EmotionHero;
+import game.emotionwar.model.EmotionHeroType;
+import game.emotionwar.model.EmotionMonster;
+import game.emotionwar.model.EmotionType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The data/ content every game and service shares: heroes, emotion monsters
+ * and items, each loaded at most once per process, on first use.
+ *
+ * Categories are independent (asking for weapons does not load monsters) and
+ * safe to request from any thread; preloadAsync() loads all of them in
+ * parallel ahead of time. Each category comes from its own file(s) and is
+ * merged in a fixed order, so the result never depends on which load
+ * finished first. Everything handed out is read-only: items
+ * and monster prototypes are never mutated, so the same instances serve every
+ * session. Heroes are the exception, since a game levels and equips them, so
+ * heroes() returns fresh copies of the loaded templates each time.
+ *
+ * A category is replaced as a whole when its file is reloaded (see
+ * ContentWatcher), never modified, so a list a caller already holds stays
+ * consistent.
+ *
+ * The factories' load methods still parse a file on every call; use them only
+ * for a private copy (benchmarks, tools).
+ */
+public final class ContentRegistry {
+
+    private static final Lazy<Weapon> WEAPONS = new Lazy<Weapon>(DataPaths.WEAPONS) {
+        @Override
+        List<Weapon> load() {
+            return EmotionItemFactory.loadWeapons(path);
+        }
+    };
+
+    private static final Lazy<Armor> ARMORS = new Lazy<Armor>(DataPaths.ARMORS) {
+        @Override
+        List<Armor> load() {
+            return EmotionItemFactory.loadArmors(path);
+        }
+    };
+
+    private static final Lazy<Potion> POTIONS = new Lazy<Potion>(DataPaths.POTIONS) {
+        @Override
+        List<Potion> load() {
+            return EmotionItemFactory.loadPotions(path);
+        }
+    };
+
+    private static final Lazy<Spell> SPELLS = new Lazy<Spell>(DataPaths.SPELLS) {
+        @Override
+        List<Spell> load() {
+            return EmotionItemFactory.loadSpells(path);
+        }
+    };
+
+    private static final Map<EmotionHeroType, Lazy<EmotionHero>> HEROES =
+            new EnumMap<EmotionHeroType, Lazy<EmotionHero>>(EmotionHeroType.class);
+
+    private static final Map<EmotionType, Lazy<EmotionMonster>> MONSTERS =
+            new EnumMap<EmotionType, Lazy<EmotionMonster>>(EmotionType.class);
+
+    static {
+        for (final EmotionHeroType t : EmotionHeroType.values()) {
+            HEROES.put(t, new Lazy<EmotionHero>(heroPath(t)) {
+                @Override
+                List<EmotionHero> load() {
+                    return EmotionHeroFactory.loadHeroesFromFile(path, t);
+                }
+            });
+        }
+        for (final EmotionType e : EmotionType.values()) {
+            MONSTERS.put(e, new Lazy<EmotionMonster>(monsterPath(e)) {
+                @Override
+                List<EmotionMonster> load() {
+                    return EmotionMonsterFactory.loadMonstersFromFile(path, e);
+                }
+            });
+        }
+    }
+
+    private ContentRegistry() {
+    }
+
+    public static List<Weapon> weapons() {
+        return WEAPONS.get();
+    }
+
+    public static List<Armor> armors() {
+        return ARMORS.get();
+    }
+
+    public static List<Potion> potions() {
+        return POTIONS.get();
+    }
+
+    public static List<Spell> spells() {
+        return SPELLS.get();
+    }
+
+    /** Monster prototypes of one emotion (clone before use, see EmotionMonsterFactory). */
+    public static List<EmotionMonster> monsters(EmotionType emotionType) {
+        return MONSTERS.get(emotionType).get();
+    }
+
+    /**
+     * Fresh, independent copies of every default hero: each class in
+     * EmotionHeroType order, each file in file order.
+     */
+    public static List<EmotionHero> heroes() {
+        List<EmotionHero> copies = new ArrayList<EmotionHero>();
+        for (EmotionHeroType t : EmotionHeroType.values()) {
+            List<EmotionHero> templates = HEROES.get(t).get();
+            for (int i = 0; i < templates.size(); i++) {
+                copies.add(templates.get(i).copy());
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Starts loading every category that is not loaded yet, each file as its
+     * own task on the common pool, and returns at once. Getters called
+     * meanwhile wait only for the category they need. The future completes
+     * when everything is loaded (exceptionally if a file failed; the getter
+     * for that category then retries and throws the error itself).
+     */
+    public static CompletableFuture<Void> preloadAsync() {
+        return preloadAsync(ForkJoinPool.commonPool());
+    }
+
+    public static CompletableFuture<Void> preloadAsync(Executor executor) {
+        // read the pack here, so a problem with it is reported on the caller's thread
+        ContentPack.active();
+
+        List<Lazy<?>> all = categories();
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[all.size()];
+        for (int i = 0; i < tasks.length; i++) {
+            final Lazy<?> lazy = all.get(i);
+            tasks[i] = CompletableFuture.runAsync(new Runnable() {
+                @Override
+                public void run() {
+                    lazy.get();
+                }
+            }, executor);
+        }
+        return CompletableFuture.allOf(tasks);
+    }
+
+    /**
+     * Loads everything in parallel and waits for it, so startup takes about
+     * as long as the slowest file rather than all of them in turn.
+     */
+    public static void preload() {
+        try {
+            preloadAsync().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Re-parses path if it backs a category that has been loaded, and
+     * returns the step that publishes the new rows (see ContentWatcher);
+     * null if there is nothing to replace. The old list stays in use until
+     * that step runs.
+     *
+     * @throws RecordFormatException if the file has a bad value
+     * @throws IllegalStateException if the file no longer has any rows
+     */
+    public static Runnable prepareReload(String path) {
+        List<Lazy<?>> all = categories();
+        for (int i = 0; i < all.size(); i++) {
+            if (all.get(i).path.equals(path)) return all.get(i).prepareReload();
+        }
+        return null;
+    }
+
+    private static List<Lazy<?>> categories() {
+        List<Lazy<?>> all = new ArrayList<Lazy<?>>();
+        all.add(WEAPONS);
+        all.add(ARMORS);
+        all.add(POTIONS);
+        all.add(SPELLS);
+        all.addAll(HEROES.values());
+        all.addAll(MONSTERS.values());
+        return all;
+    }
+
+    /** Data file holding one hero class. */
+    public static String heroPath(EmotionHeroType heroType) {
+        switch (heroType) {
+            case RESOLUTE:   return DataPaths.HERO_RESOLUTE;
+            case MINDSEER:   return DataPaths.HERO_MINDSEER;
+            case SWIFTHEART: return DataPaths.HERO_SWIFTHEART;
+            default: throw new IllegalArgumentException("No hero file for " + heroType);
+        }
+    }
+
+    /** Data file holding one emotion's monsters. */
+    public static String monsterPath(EmotionType emotionType) {
+        switch (emotionType) {
+            case WRATH:   return DataPaths.MONSTER_WRATH;
+            case FEAR:    return DataPaths.MONSTER_FEAR;
+            case SORROW:  return DataPaths.MONSTER_SORROW;
+            case ANXIETY: return DataPaths.MONSTER_ANXIETY;
+            case ENVY:    return DataPaths.MONSTER_ENVY;
+            case DESIRE:  return DataPaths.MONSTER_DESIRE;
+            case PRIDE:   return DataPaths.MONSTER_PRIDE;
+            default: throw new IllegalArgumentException("No monster file for " + emotionType);
+        }
+    }
+
+    // ---------- One category ----------
+
+    /**
+     * One data file: loaded on the first get(), then the same read-only list
+     * until a reload replaces it.
+     */
+    private abstract static class Lazy<E> {
+        final String path;
+        private volatile List<E> value;
+
+        Lazy(String path) {
+            this.path = path;
+        }
+
+        abstract List<E> load();
+
+        List<E> get() {
+            List<E> v = value;
+            if (v != null) return v;
+            synchronized (this) {
+                if (value == null) {
+                    value = freeze(load());
+                }
+                return value;
+            }
+        }
+
+        Runnable prepareReload() {
+            // never loaded: the first get() will read the new file anyway
+            if (value == null) return null;
+
+            final List<E> fresh = freeze(load());
+            if (fresh.isEmpty()) throw new IllegalStateException(path + " has no rows");
+            return new Runnable() {
+                @Override
+                public void run() {
+                    value = fresh;
+                }
+            };
+        }
+
+        private List<E> freeze(List<E> list) {
+            return Collections.unmodifiableList(new ArrayList<E>(list));
+        }
+    }
+}
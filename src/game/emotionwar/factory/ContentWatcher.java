@@ -0,0 +1,240 @@
+package game.emotionwar.factory;
+
+import game.core.io.GameOutputs;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Hot reload of the data/ files, for balancing without restarting.
+ *
+ * A daemon thread watches data/ and its subdirectories. When a .txt file
+ * changes it is re-parsed on that thread by every registered Reloader
+ * (ContentRegistry is always one). A file that fails to parse, or comes out
+ * empty, is reported and the old content is kept.
+ *
+ * Nothing the games see changes until they call applyPending() at a round
+ * boundary. That call only swaps in the lists that were already built in the
+ * background, so the game loop never waits for parsing, and a round never
+ * mixes old and new content. Reload messages are printed by applyPending() as
+ * well, on the game's thread.
+ *
+ * The swap is process-wide, so whichever game calls applyPending() first
+ * publishes it for everyone. A game that keeps things built from the content
+ * (a market, say) therefore compares generation() with the value it last saw
+ * rather than relying on its own applyPending() call having done the swap.
+ *
+ * Off by default; -Dsoulrealms.watch=true turns it on (see startIfEnabled).
+ */
+public final class ContentWatcher implements Closeable {
+
+    public static final String WATCH_PROPERTY = "soulrealms.watch";
+
+    // an editor's save can arrive as several events; wait for this much quiet
+    private static final long QUIET_MILLIS = 200;
+
+    /** Something that holds content parsed from data files. */
+    public interface Reloader {
+        /**
+         * Re-parses path if it is one of this reloader's loaded files.
+         *
+         * @return the step that publishes the new content, or null if path is not its
+         * @throws RuntimeException if the file is not valid; the old content stays
+         */
+        Runnable prepare(String path);
+    }
+
+    private static final List<Reloader> RELOADERS = new CopyOnWriteArrayList<Reloader>();
+    private static final Queue<Staged> PENDING = new ConcurrentLinkedQueue<Staged>();
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    static {
+        RELOADERS.add(new Reloader() {
+            @Override
+            public Runnable prepare(String path) {
+                return ContentRegistry.prepareReload(path);
+            }
+        });
+    }
+
+    private final WatchService service;
+    private final Map<WatchKey, Path> dirs = new HashMap<WatchKey, Path>();
+    private final Thread thread;
+
+    private ContentWatcher(String root) throws IOException {
+        service = FileSystems.getDefault().newWatchService();
+        try (Stream<Path> tree = Files.walk(Paths.get(root))) {
+            Iterator<Path> it = tree.iterator();
+            while (it.hasNext()) {
+                Path dir = it.next();
+                if (!Files.isDirectory(dir)) continue;
+                WatchKey key = dir.register(service,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                dirs.put(key, dir);
+            }
+        } catch (IOException e) {
+            service.close();
+            throw e;
+        }
+
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watch();
+            }
+        }, "content-watcher");
+        thread.setDaemon(true);
+    }
+
+    public static void addReloader(Reloader reloader) {
+        RELOADERS.add(reloader);
+    }
+
+    /**
+     * Watches root (relative to the working directory, like DataPaths) until
+     * closed.
+     */
+    public static ContentWatcher start(String root) throws IOException {
+        ContentWatcher w = new ContentWatcher(root);
+        w.thread.start();
+        return w;
+    }
+
+    /** Watches data/ if -Dsoulrealms.watch=true; otherwise (or if that fails) returns null. */
+    public static ContentWatcher startIfEnabled() {
+        if (!Boolean.getBoolean(WATCH_PROPERTY)) return null;
+        try {
+            ContentWatcher w = start(DataPaths.ROOT);
+            GameOutputs.current().println("Watching " + DataPaths.ROOT + "/ for changes.");
+            return w;
+        } catch (IOException e) {
+            GameOutputs.current().println("Cannot watch " + DataPaths.ROOT + "/: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Publishes every reload finished since the last call and prints what
+     * happened. Call it on the game thread between rounds.
+     *
+     * @return number of files whose new content was swapped in
+     */
+    public static int applyPending() {
+        int applied = 0;
+        Staged s;
+        while ((s = PENDING.poll()) != null) {
+            if (s.publish != null) {
+                s.publish.run();
+                GENERATION.incrementAndGet();
+                applied++;
+            }
+            GameOutputs.current().println(s.message);
+        }
+        return applied;
+    }
+
+    /**
+     * Number of reloads published so far, by any caller of applyPending().
+     * A change since a game last looked means content it built earlier is out
+     * of date.
+     */
+    public static long generation() {
+        return GENERATION.get();
+    }
+
+    /**
+     * Re-parses one changed file on the calling thread and queues the result
+     * for applyPending().
+     */
+    public static void reload(String path) {
+        List<Runnable> steps = new ArrayList<Runnable>();
+        try {
+            for (Reloader r : RELOADERS) {
+                Runnable step = r.prepare(path);
+                if (step != null) steps.add(step);
+            }
+        } catch (RuntimeException e) {
+            PENDING.add(new Staged(null, "Reload failed, keeping the old data: " + e.getMessage()));
+            return;
+        }
+        for (int i = 0; i < steps.size(); i++) {
+            PENDING.add(new Staged(steps.get(i), "Reloaded " + path));
+        }
+    }
+
+    @Override
+    public void close() {
+        thread.interrupt();
+        try {
+            service.close();
+        } catch (IOException e) {
+            // the thread is stopping anyway
+        }
+    }
+
+    // ---------- Watch thread ----------
+
+    private void watch() {
+        try {
+            while (true) {
+                Set<String> changed = new TreeSet<String>();
+                collect(service.take(), changed);
+                WatchKey key;
+                while ((key = service.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+                for (String path : changed) {
+                    reload(path);
+                }
+            }
+        } catch (InterruptedException e) {
+            // closed
+        } catch (ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private void collect(WatchKey key, Set<String> changed) {
+        Path dir = dirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // OVERFLOW: events were lost; the next save of a file still reloads it
+            if (dir == null || event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+            String path = dir.resolve((Path) event.context()).toString().replace(File.separatorChar, '/');
+            if (path.endsWith(".txt")) changed.add(path);
+        }
+        key.reset();
+    }
+
+    private static final class Staged {
+        final Runnable publish;     // null: nothing to publish, just report
+        final String message;
+
+        Staged(Runnable publish, String message) {
+            this.publish = publish;
+            this.message = message;
+        }
+    }
+}
@@ -19,10 +19,17 @@ public final class DataPaths {
     public static final String MONSTER_ENVY     = "data/monsters/envy.txt";
     public static final String MONSTER_DESIRE   = "data/monsters/desire.txt";
     public static final String MONSTER_PRIDE = "data/monsters/pride.txt";
+    public static final String MONSTERS_LANES = "data/monsters/monsters_lanes.txt";
 
     // Items
     public static final String WEAPONS = "data/items/weapons.txt";
     public static final String ARMORS  = "data/items/armors.txt";
     public static final String POTIONS = "data/items/potions.txt";
     public static final String SPELLS  = "data/items/spells.txt";
+
+    // Directory holding all of the above (watched by ContentWatcher)
+    public static final String ROOT = "data";
+
+    // All of the above, pre-parsed (see ContentPack)
+    public static final String CONTENT_PACK = "data/content.pack";
 }
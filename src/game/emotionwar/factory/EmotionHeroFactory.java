@@ -11,26 +11,24 @@ public class EmotionHeroFactory {
 
     public static List<EmotionHero> loadHeroesFromFile(String path, EmotionHeroType type) {
         List<EmotionHero> heroes = new ArrayList<EmotionHero>();
-        for (String line : FileUtils.readLines(path)) {
-            line = line.trim();
-            if (line.isEmpty() || line.startsWith("#")) continue;
-
-            // name,level,maxHp,maxMp,str,dex,agi,gold
-            String[] p = line.split(",");
-            if (p.length < 8) continue;
-
-            String name = p[0].trim();
-            int level = Integer.parseInt(p[1].trim());
-            int maxHp = Integer.parseInt(p[2].trim());
-            int maxMp = Integer.parseInt(p[3].trim());
-            int str   = Integer.parseInt(p[4].trim());
-            int dex   = Integer.parseInt(p[5].trim());
-            int agi   = Integer.parseInt(p[6].trim());
-            int gold  = Integer.parseInt(p[7].trim());
-
-            Stats stats = new Stats(maxHp, maxMp, str, dex, agi);
-            EmotionHero hero = new EmotionHero(name, type, level, stats, gold);
-            heroes.add(hero);
+        try (RecordSource r = ContentPack.open(path)) {
+            while (r.next()) {
+                // name,level,maxHp,maxMp,str,dex,agi,gold
+                if (r.fieldCount() < 8) continue;
+
+                String name = r.getString(0);
+                int level = r.getInt(1);
+                int maxHp = r.getInt(2);
+                int maxMp = r.getInt(3);
+                int str   = r.getInt(4);
+                int dex   = r.getInt(5);
+                int agi   = r.getInt(6);
+                int gold  = r.getInt(7);
+
+                Stats stats = new Stats(maxHp, maxMp, str, dex, agi);
+                EmotionHero hero = new EmotionHero(name, type, level, stats, gold);
+                heroes.add(hero);
+            }
         }
         return heroes;
     }
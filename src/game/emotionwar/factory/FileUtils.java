@@ -1,18 +0,0 @@
-package game.emotionwar.factory;
-
-import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.List;
-
-public class FileUtils {
-
-    public static List<String> readLines(String path) {
-        try {
-            return Files.readAllLines(Paths.get(path), Charset.defaultCharset());
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read file: " + path, e);
-        }
-    }
-}
@@ -0,0 +1,27 @@
+package game.emotionwar.factory;
+
+/**
+ * A data file row that cannot be parsed, with the file and 1-based line
+ * number it came from.
+ */
+public class RecordFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String path;
+    private final int lineNumber;
+
+    public RecordFormatException(String path, int lineNumber, String message) {
+        super(path + ":" + lineNumber + ": " + message);
+        this.path = path;
+        this.lineNumber = lineNumber;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+}
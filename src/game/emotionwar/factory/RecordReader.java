@@ -0,0 +1,328 @@
+package game.emotionwar.factory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming reader for the comma-separated data/*.txt formats.
+ *
+ * The file is read through a fixed buffer, one record at a time: blank lines
+ * and '#' comments are skipped, fields are trimmed, and ints, doubles and enum
+ * constants are parsed straight from the line's bytes. Only getString()
+ * allocates, so a file of any size loads in constant memory apart from the
+ * objects the factory builds. Parse errors are RecordFormatExceptions naming
+ * the file, line and field.
+ *
+ * Fields follow String.split(",") rules: trailing empty fields are not
+ * counted, so fieldCount() matches what the old split-based loaders saw.
+ * Text is UTF-8.
+ *
+ * A plain channel is used rather than a memory mapping, which would keep the
+ * file locked on Windows until the mapping is garbage collected.
+ *
+ * Usage:
+ *
+ *     try (RecordReader r = RecordReader.open(path)) {
+ *         while (r.next()) {
+ *             String name = r.getString(0);
+ *             int level = r.getInt(1);
+ *         }
+ *     }
+ */
+public final class RecordReader implements RecordSource {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // 10^0 .. 10^22 are exact doubles (see parseDouble's fast path)
+    private static final double[] POW10 = new double[23];
+    static {
+        POW10[0] = 1.0;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10.0;
+    }
+
+    private final ReadableByteChannel channel;
+    private final String name;
+    private final ByteBuffer in;
+    private boolean eof;
+    private boolean skipLf;       // last line ended in '\r'; swallow a following '\n'
+    private boolean atStart = true;
+
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private int lineNumber;
+
+    private int[] start = new int[16];
+    private int[] end = new int[16];
+    private int fields;
+
+    public RecordReader(ReadableByteChannel channel, String name) {
+        this(channel, name, BUFFER_SIZE);
+    }
+
+    private RecordReader(ReadableByteChannel channel, String name, int bufferSize) {
+        this.channel = channel;
+        this.name = name;
+        this.in = ByteBuffer.allocate(bufferSize);
+        in.flip(); // empty, ready to read from
+    }
+
+    public static RecordReader open(String path) {
+        try {
+            FileChannel ch = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+            // small files (most of data/) do not need the full buffer
+            int size = (int) Math.min(BUFFER_SIZE, ch.size() + 1);
+            return new RecordReader(ch, path, Math.max(size, 64));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read file: " + path, e);
+        }
+    }
+
+    /** Advances to the next record, skipping blank and comment lines. */
+    @Override
+    public boolean next() {
+        while (readLine()) {
+            int s = 0;
+            int e = lineLength;
+            while (s < e && isSpace(line[s])) s++;
+            while (e > s && isSpace(line[e - 1])) e--;
+            if (s == e || line[s] == '#') continue;
+
+            split(s, e);
+            return true;
+        }
+        fields = 0;
+        return false;
+    }
+
+    @Override
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public int fieldCount() {
+        return fields;
+    }
+
+    @Override
+    public String getString(int field) {
+        check(field);
+        return new String(line, start[field], end[field] - start[field], StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int getInt(int field) {
+        check(field);
+        int s = start[field];
+        int e = end[field];
+        boolean negative = false;
+        if (s < e && (line[s] == '-' || line[s] == '+')) {
+            negative = line[s] == '-';
+            s++;
+        }
+        if (s == e) throw bad(field, "an int");
+
+        long v = 0;
+        for (int i = s; i < e; i++) {
+            int d = line[i] - '0';
+            if (d < 0 || d > 9) throw bad(field, "an int");
+            v = v * 10 + d;
+            if (v > 1L + Integer.MAX_VALUE) throw bad(field, "an int");
+        }
+        if (negative) v = -v;
+        if (v > Integer.MAX_VALUE || v < Integer.MIN_VALUE) throw bad(field, "an int");
+        return (int) v;
+    }
+
+    /** Same value Double.parseDouble would return for the field's text. */
+    @Override
+    public double getDouble(int field) {
+        check(field);
+        int s = start[field];
+        int e = end[field];
+        int i = s;
+        boolean negative = false;
+        if (i < e && (line[i] == '-' || line[i] == '+')) {
+            negative = line[i] == '-';
+            i++;
+        }
+
+        // Fast path for plain decimals ("0.28", "-12.5"): at most 15 digits fit
+        // a double exactly, and so does 10^k for k <= 22, so one division is
+        // correctly rounded, i.e. identical to Double.parseDouble.
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = -1;
+        for (; i < e; i++) {
+            byte b = line[i];
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fraction >= 0) fraction++;
+            } else if (b == '.' && fraction < 0) {
+                fraction = 0;
+            } else {
+                break;
+            }
+        }
+        if (i == e && digits > 0 && digits <= 15) {
+            double v = fraction > 0 ? mantissa / POW10[fraction] : mantissa;
+            return negative ? -v : v;
+        }
+
+        // exponents, long mantissas, NaN etc.
+        try {
+            return Double.parseDouble(getString(field));
+        } catch (NumberFormatException ex) {
+            throw bad(field, "a number");
+        }
+    }
+
+    /** Enum constant whose name matches the field, ignoring ASCII case. */
+    @Override
+    public <E extends Enum<E>> E getEnum(int field, Class<E> type) {
+        check(field);
+        int s = start[field];
+        int len = end[field] - s;
+        E[] constants = type.getEnumConstants();
+        for (int c = 0; c < constants.length; c++) {
+            String n = constants[c].name();
+            if (n.length() != len) continue;
+            int k = 0;
+            while (k < len && upper(line[s + k]) == n.charAt(k)) k++;
+            if (k == len) return constants[c];
+        }
+        throw bad(field, "a " + type.getSimpleName());
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close file: " + name, e);
+        }
+    }
+
+    // ---------- Lines ----------
+
+    private boolean readLine() {
+        lineLength = 0;
+        boolean any = false;
+        while (true) {
+            if (!in.hasRemaining() && !fill()) {
+                if (any) lineNumber++;
+                return any;
+            }
+            byte b = in.get();
+            if (skipLf) {
+                skipLf = false;
+                if (b == '\n') continue;
+            }
+            if (atStart) {
+                atStart = false;
+                if (b == (byte) 0xEF && skipBom()) continue;
+            }
+            if (b == '\n' || b == '\r') {
+                skipLf = b == '\r';
+                lineNumber++;
+                return true;
+            }
+            any = true;
+            if (lineLength == line.length) line = grow(line);
+            line[lineLength++] = b;
+        }
+    }
+
+    // UTF-8 byte order mark: the 0xEF has been read already
+    private boolean skipBom() {
+        if (in.remaining() < 2 && !fill()) return false;
+        if (in.remaining() >= 2
+                && in.get(in.position()) == (byte) 0xBB
+                && in.get(in.position() + 1) == (byte) 0xBF) {
+            in.position(in.position() + 2);
+            return true;
+        }
+        return false;
+    }
+
+    // Keeps unread bytes and reads more; false once nothing is left at all.
+    private boolean fill() {
+        if (eof) return in.hasRemaining();
+        in.compact();
+        try {
+            int n = 0;
+            while (n == 0) n = channel.read(in);
+            if (n < 0) eof = true;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read file: " + name, e);
+        } finally {
+            in.flip();
+        }
+        return in.hasRemaining();
+    }
+
+    // ---------- Fields ----------
+
+    private void split(int s, int e) {
+        fields = 0;
+        int kept = 0;
+        int f = s;
+        for (int i = s; i <= e; i++) {
+            if (i < e && line[i] != ',') continue;
+
+            int a = f;
+            int b = i;
+            while (a < b && isSpace(line[a])) a++;
+            while (b > a && isSpace(line[b - 1])) b--;
+            if (fields == start.length) {
+                start = grow(start);
+                end = grow(end);
+            }
+            start[fields] = a;
+            end[fields] = b;
+            fields++;
+            // like String.split: trailing fields with no characters at all are dropped
+            if (i > f) kept = fields;
+            f = i + 1;
+        }
+        fields = kept;
+    }
+
+    private void check(int field) {
+        if (field < 0 || field >= fields) {
+            throw new RecordFormatException(name, lineNumber,
+                    "missing field " + (field + 1) + " (row has " + fields + ")");
+        }
+    }
+
+    private RecordFormatException bad(int field, String what) {
+        return new RecordFormatException(name, lineNumber,
+                "field " + (field + 1) + " (\"" + getString(field) + "\") is not " + what);
+    }
+
+    private static boolean isSpace(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+
+    private static char upper(byte b) {
+        return (char) (b >= 'a' && b <= 'z' ? b - 32 : b & 0xFF);
+    }
+
+    private static byte[] grow(byte[] a) {
+        byte[] b = new byte[a.length * 2];
+        System.arraycopy(a, 0, b, 0, a.length);
+        return b;
+    }
+
+    private static int[] grow(int[] a) {
+        int[] b = new int[a.length * 2];
+        System.arraycopy(a, 0, b, 0, a.length);
+        return b;
+    }
+}
@@ -0,0 +1,34 @@
+package game.emotionwar.factory;
+
+import java.io.Closeable;
+
+/**
+ * One data file's rows, read front to back. Implemented by RecordReader (the
+ * text files) and by ContentPack (the same rows, pre-parsed), so a factory
+ * does not care which one it got.
+ *
+ * Field indexes are 0-based; asking for a field the row does not have, or one
+ * that does not parse as the requested type, throws RecordFormatException.
+ */
+public interface RecordSource extends Closeable {
+
+    /** Advances to the next row; false at the end. */
+    boolean next();
+
+    /** 1-based line of the current row in the text file. */
+    int getLineNumber();
+
+    int fieldCount();
+
+    String getString(int field);
+
+    int getInt(int field);
+
+    double getDouble(int field);
+
+    /** Constant whose name matches the field, ignoring case. */
+    <E extends Enum<E>> E getEnum(int field, Class<E> type);
+
+    @Override
+    void close();
+}
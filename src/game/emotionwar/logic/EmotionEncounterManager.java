@@ -1,6 +1,8 @@
 package game.emotionwar.logic;
 
 import game.core.battle.Battle;
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
 import game.core.model.Hero;
 import game.core.model.Monster;
 import game.core.world.Position;
@@ -9,27 +11,29 @@ import game.core.world.World;
 import game.emotionwar.factory.EmotionMonsterFactory;
 import game.emotionwar.model.EmotionMonster;
 import game.emotionwar.model.EmotionType;
+import game.emotionwar.world.EmotionWorldData;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 public class EmotionEncounterManager {
 
+    private final GameOutput out = GameOutputs.current();
+
     private final World world;
-    private final EmotionType[][] emotionLayer;
+    private final EmotionWorldData data;
     private final List<Hero> party;
-    private final Random rng;
+    private final SplittableRandom rng;
     private final Scanner scanner;
 
-    public EmotionEncounterManager(World world,
-                                   EmotionType[][] emotionLayer,
+    public EmotionEncounterManager(EmotionWorldData data,
                                    List<Hero> party,
-                                   Random rng,
+                                   SplittableRandom rng,
                                    Scanner scanner) {
-        this.world = world;
-        this.emotionLayer = emotionLayer;
+        this.world = data.getWorld();
+        this.data = data;
         this.party = party;
         this.rng = rng;
         this.scanner = scanner;
@@ -42,7 +46,7 @@ public class EmotionEncounterManager {
      */
     public boolean handleTileEvent() {
         Position pos = world.getPartyPosition();
-        TileCategory cat = world.getTile(pos).getCategory();
+        TileCategory cat = world.categoryAt(pos.row, pos.col);
         EmotionType emo = emotionAt(pos);
 
         int partySize = party.size();
@@ -51,7 +55,7 @@ public class EmotionEncounterManager {
         // COMMON emotion tiles: chance of single-emotion encounter
         if (cat == TileCategory.COMMON && emo != null) {
             if (rng.nextDouble() < 0.30) {
-                System.out.println("The air thickens with " + emo + "...");
+                out.println("The air thickens with " + emo + "...");
                 List<Monster> monsters = buildEmotionEncounter(emo, partySize);
                 return startBattle(monsters);
             }
@@ -62,7 +66,7 @@ public class EmotionEncounterManager {
         if (cat == TileCategory.SPECIAL) {
             int avgLevel = averagePartyLevel();
             if (avgLevel >= 3 && rng.nextDouble() < 0.60) {
-                System.out.println("A fracture in your soul churns violently...");
+                out.println("A fracture in your soul churns violently...");
                 List<Monster> monsters = buildMixedEncounter(partySize);
                 return startBattle(monsters);
             }
@@ -76,7 +80,7 @@ public class EmotionEncounterManager {
     private List<Monster> buildEmotionEncounter(EmotionType emo, int count) {
         List<Monster> result = new ArrayList<Monster>();
         for (int i = 0; i < count; i++) {
-            EmotionMonster m = EmotionMonsterFactory.randomForEmotion(emo);
+            EmotionMonster m = EmotionMonsterFactory.randomForEmotion(emo, rng);
             result.add(m);
         }
         return result;
@@ -84,12 +88,12 @@ public class EmotionEncounterManager {
 
     private List<Monster> buildMixedEncounter(int count) {
         // Start from factory's mixedEncounter pool and adapt to party size
-        List<EmotionMonster> pool = EmotionMonsterFactory.mixedEncounter();
+        List<EmotionMonster> pool = EmotionMonsterFactory.mixedEncounter(rng);
         List<Monster> result = new ArrayList<Monster>();
         if (pool.isEmpty()) {
             // fallback: just spawn random fear
             for (int i = 0; i < count; i++) {
-                result.add(EmotionMonsterFactory.randomForEmotion(EmotionType.FEAR));
+                result.add(EmotionMonsterFactory.randomForEmotion(EmotionType.FEAR, rng));
             }
             return result;
         }
@@ -101,17 +105,13 @@ public class EmotionEncounterManager {
     }
 
     private boolean startBattle(List<Monster> monsters) {
-        Battle b = new Battle(party, monsters, scanner);
+        // each battle gets its own stream split off the encounter stream
+        Battle b = new Battle(party, monsters, scanner, rng.split());
         return b.start();
     }
 
     private EmotionType emotionAt(Position p) {
-        if (emotionLayer == null) return null;
-        if (p.row < 0 || p.row >= emotionLayer.length ||
-                p.col < 0 || p.col >= emotionLayer[0].length) {
-            return null;
-        }
-        return emotionLayer[p.row][p.col];
+        return data.emotionAt(p.row, p.col);
     }
 
     private int averagePartyLevel() {
@@ -1,5 +1,7 @@
 package game.emotionwar.logic;
 
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
 import game.core.model.Hero;
 import game.emotionwar.model.EmotionHero;
 
@@ -9,23 +11,25 @@ import java.util.Scanner;
 
 public class EmotionPartyBuilder {
 
+    private final GameOutput out = GameOutputs.current();
+
     public List<Hero> buildParty(List<EmotionHero> allHeroes, Scanner scanner) {
         List<Hero> party = new ArrayList<Hero>();
 
-        System.out.println("========================================");
-        System.out.println("   Soul Realms: Choose Your Fragments   ");
-        System.out.println("========================================");
-        System.out.println("You may journey with up to 3 heroes.");
+        out.println("========================================");
+        out.println("   Soul Realms: Choose Your Fragments   ");
+        out.println("========================================");
+        out.println("You may journey with up to 3 heroes.");
         int maxHeroes = 3;
         int count = promptIntBetween(scanner,
                 "How many heroes will walk the Realms? (1-3): ",
                 1, maxHeroes);
 
-        System.out.println();
-        System.out.println("Available heroes:");
+        out.println();
+        out.println("Available heroes:");
         for (int i = 0; i < allHeroes.size(); i++) {
             EmotionHero h = allHeroes.get(i);
-            System.out.println("[" + i + "] " + h.getName()
+            out.println("[" + i + "] " + h.getName()
                     + " [" + h.getHeroClass() + "] "
                     + "Lvl " + h.getLevel() + " | " + h.getStats());
         }
@@ -36,36 +40,36 @@ public class EmotionPartyBuilder {
                     0, allHeroes.size() - 1);
             EmotionHero chosen = allHeroes.get(idx);
             if (party.contains(chosen)) {
-                System.out.println("That hero is already in your party. Choose someone else.");
+                out.println("That hero is already in your party. Choose someone else.");
                 continue;
             }
             party.add(chosen);
-            System.out.println(chosen.getName() + " joins your inner battle.");
+            out.println(chosen.getName() + " joins your inner battle.");
         }
 
-        System.out.println();
-        System.out.println("Your party is formed:");
+        out.println();
+        out.println("Your party is formed:");
         for (Hero h : party) {
-            System.out.println("  - " + h);
+            out.println("  - " + h);
         }
-        System.out.println("----------------------------------------");
+        out.println("----------------------------------------");
 
         return party;
     }
 
     private int promptIntBetween(Scanner scanner, String prompt, int min, int max) {
         while (true) {
-            System.out.print(prompt);
+            out.print(prompt);
             String line = scanner.nextLine().trim();
             try {
                 int value = Integer.parseInt(line);
                 if (value < min || value > max) {
-                    System.out.println("Please enter a number between " + min + " and " + max + ".");
+                    out.println("Please enter a number between " + min + " and " + max + ".");
                 } else {
                     return value;
                 }
             } catch (NumberFormatException e) {
-                System.out.println("Please enter a valid integer.");
+                out.println("Please enter a valid integer.");
             }
         }
     }
@@ -15,6 +15,22 @@ public class EmotionHero extends Hero {
         this.heroClass = heroClass;
     }
 
+    /**
+     * Fresh copy of this hero: own Stats and Inventory, same level, gold and
+     * equipped gear. Items themselves are shared (they are never mutated).
+     */
+    public EmotionHero copy() {
+        Stats s = stats;
+        EmotionHero h = new EmotionHero(name, heroClass, level,
+                new Stats(s.getMaxHp(), s.getMaxMp(), s.getStrength(), s.getDexterity(), s.getAgility()),
+                gold);
+        h.mainHand = mainHand;
+        h.offHand = offHand;
+        h.armor = armor;
+        h.inventory.addAll(inventory);
+        return h;
+    }
+
     public EmotionHeroType getHeroClass() {
         return heroClass;
     }
@@ -1,6 +1,7 @@
 package game.emotionwar.model;
 
 import game.core.model.Monster;
+import game.core.model.MonsterDefinition;
 import game.core.model.Stats;
 
 public class EmotionMonster extends Monster {
@@ -17,6 +18,12 @@ public class EmotionMonster extends Monster {
         this.emotionType = emotionType;
     }
 
+    /** A new monster sharing def with every other one spawned from it. */
+    public EmotionMonster(MonsterDefinition def, EmotionType emotionType) {
+        super(def);
+        this.emotionType = emotionType;
+    }
+
     public EmotionType getEmotionType() {
         return emotionType;
     }
@@ -0,0 +1,88 @@
+package game.emotionwar.sim;
+
+import game.emotionwar.model.EmotionMonster;
+import game.emotionwar.model.EmotionType;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated result of a BalanceSimulator sweep, per monster and per emotion.
+ * Win rate is always from the heroes' point of view; stalemates (battles
+ * nobody could finish) count as losses and are shown separately.
+ */
+public class BalanceReport {
+
+    private final List<EmotionMonster> monsters;
+    private final BalanceStats[] byMonster;
+    private final Map<EmotionType, BalanceStats> byEmotion;
+    private final long totalBattles;
+    private final long elapsedNanos;
+
+    public BalanceReport(List<EmotionMonster> monsters,
+                         BalanceStats[] byMonster,
+                         Map<EmotionType, BalanceStats> byEmotion,
+                         long totalBattles,
+                         long elapsedNanos) {
+        this.monsters = monsters;
+        this.byMonster = byMonster;
+        this.byEmotion = byEmotion;
+        this.totalBattles = totalBattles;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public BalanceStats statsFor(EmotionMonster monster) {
+        int idx = monsters.indexOf(monster);
+        return idx < 0 ? null : byMonster[idx];
+    }
+
+    public BalanceStats statsFor(EmotionType emotion) {
+        return byEmotion.get(emotion);
+    }
+
+    public long getTotalBattles() {
+        return totalBattles;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        out.println("========================================");
+        out.println(" Balance sweep: " + totalBattles + " battles in "
+                + String.format("%.2f", seconds) + "s ("
+                + String.format("%.0f", seconds > 0 ? totalBattles / seconds : 0.0) + " battles/s)");
+        out.println("========================================");
+
+        out.println("-- Per monster -----------------------------------------------------------------");
+        out.printf("  %-24s %-8s %3s  %7s  %6s  %5s %5s %5s  %6s%n",
+                "Monster", "Emotion", "Lvl", "HeroWin", "Rounds", "HP10", "HP50", "HP90", "Stale");
+        for (int i = 0; i < monsters.size(); i++) {
+            EmotionMonster m = monsters.get(i);
+            printRow(out, String.format("  %-24s %-8s %3d", m.getName(), m.getEmotionType(), m.getLevel()),
+                    byMonster[i]);
+        }
+
+        out.println("-- Per emotion -----------------------------------------------------------------");
+        for (EmotionType e : EmotionType.values()) {
+            BalanceStats s = byEmotion.get(e);
+            if (s == null || s.getBattles() == 0) continue;
+            printRow(out, String.format("  %-24s %-8s %3s", e, "", ""), s);
+        }
+        out.println("--------------------------------------------------------------------------------");
+    }
+
+    private void printRow(PrintStream out, String label, BalanceStats s) {
+        out.printf("%s  %6.1f%%  %6.2f  %4d%% %4d%% %4d%%  %5.1f%%%n",
+                label,
+                s.winRate() * 100.0,
+                s.meanRounds(),
+                s.hpPercentile(0.10),
+                s.hpPercentile(0.50),
+                s.hpPercentile(0.90),
+                s.stalemateRate() * 100.0);
+    }
+}
@@ -0,0 +1,179 @@
+package game.emotionwar.sim;
+
+import game.core.battle.AutoBattlePolicy;
+import game.core.battle.BattleEngine;
+import game.core.battle.BattleListener;
+import game.core.battle.BattlePolicy;
+import game.core.items.Armor;
+import game.core.items.Potion;
+import game.core.items.Spell;
+import game.core.items.Weapon;
+import game.core.model.Hero;
+import game.core.random.SeedSource;
+import game.emotionwar.factory.ContentRegistry;
+import game.emotionwar.factory.EmotionMonsterFactory;
+import game.emotionwar.model.EmotionHero;
+import game.emotionwar.model.EmotionMonster;
+import game.emotionwar.model.EmotionType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte Carlo balance sweep for Emotion War content.
+ *
+ * Every hero prototype fights every monster prototype one-on-one, N times per
+ * pairing, through the headless BattleEngine with AutoBattlePolicy. Work is
+ * split into fixed-size chunks of battles and run on a ForkJoinPool; each
+ * battle's RNG seed depends only on (seed, pairing, battle index), so a sweep
+ * is reproducible regardless of thread count or scheduling.
+ */
+public class BalanceSimulator {
+
+    /** Battles handled by one leaf task. */
+    private static final int CHUNK = 256;
+
+    private final List<EmotionHero> heroes;
+    private final List<EmotionMonster> monsters;
+    private final int battlesPerPairing;
+    private final long seed;
+    private final BattlePolicy policy = new AutoBattlePolicy();
+
+    public BalanceSimulator(List<EmotionHero> heroes,
+                            List<EmotionMonster> monsters,
+                            int battlesPerPairing,
+                            long seed) {
+        this.heroes = new ArrayList<EmotionHero>(heroes);
+        this.monsters = new ArrayList<EmotionMonster>(monsters);
+        this.battlesPerPairing = battlesPerPairing;
+        this.seed = seed;
+    }
+
+    /**
+     * Builds a simulator over everything in data/: all heroes (with the same
+     * starter gear EmotionWarGame hands out) against all emotion monsters.
+     */
+    public static BalanceSimulator fromDefaultData(int battlesPerPairing, long seed) {
+        List<EmotionMonster> monsters = new ArrayList<EmotionMonster>();
+        for (EmotionType e : EmotionType.values()) {
+            monsters.addAll(ContentRegistry.monsters(e));
+        }
+
+        List<Weapon> weapons = ContentRegistry.weapons();
+        List<Armor>  armors  = ContentRegistry.armors();
+        List<Potion> potions = ContentRegistry.potions();
+        List<Spell>  spells  = ContentRegistry.spells();
+
+        List<EmotionHero> heroes = ContentRegistry.heroes();
+        for (int i = 0; i < heroes.size(); i++) {
+            Hero h = heroes.get(i);
+            if (!weapons.isEmpty()) h.equipWeapon(weapons.get(0));
+            if (!armors.isEmpty())  h.equipArmor(armors.get(0));
+            if (!potions.isEmpty()) h.getInventory().add(potions.get(0));
+            if (!spells.isEmpty())  h.getInventory().add(spells.get(0));
+        }
+
+        return new BalanceSimulator(heroes, monsters, battlesPerPairing, seed);
+    }
+
+    public BalanceReport run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    public BalanceReport run(ForkJoinPool pool) {
+        int pairings = heroes.size() * monsters.size();
+        int chunksPerPairing = (battlesPerPairing + CHUNK - 1) / CHUNK;
+        int units = pairings * chunksPerPairing;
+
+        BalanceStats[] unitStats = new BalanceStats[units];
+
+        long start = System.nanoTime();
+        pool.invoke(new SweepTask(unitStats, chunksPerPairing, 0, units));
+        long elapsed = System.nanoTime() - start;
+
+        // merge chunks -> per monster -> per emotion (fixed order, so deterministic)
+        BalanceStats[] byMonster = new BalanceStats[monsters.size()];
+        for (int i = 0; i < byMonster.length; i++) byMonster[i] = new BalanceStats();
+
+        for (int u = 0; u < units; u++) {
+            int pairing = u / chunksPerPairing;
+            byMonster[pairing % monsters.size()].merge(unitStats[u]);
+        }
+
+        Map<EmotionType, BalanceStats> byEmotion =
+                new EnumMap<EmotionType, BalanceStats>(EmotionType.class);
+        for (int i = 0; i < monsters.size(); i++) {
+            EmotionType e = monsters.get(i).getEmotionType();
+            BalanceStats s = byEmotion.get(e);
+            if (s == null) {
+                s = new BalanceStats();
+                byEmotion.put(e, s);
+            }
+            s.merge(byMonster[i]);
+        }
+
+        return new BalanceReport(Collections.unmodifiableList(monsters), byMonster, byEmotion,
+                (long) pairings * battlesPerPairing, elapsed);
+    }
+
+    /** Runs battles [from, to) of one hero/monster pairing. */
+    private BalanceStats simulateChunk(int pairing, int from, int to) {
+        EmotionHero heroProto = heroes.get(pairing / monsters.size());
+        EmotionMonster monsterProto = monsters.get(pairing % monsters.size());
+
+        BalanceStats stats = new BalanceStats();
+        for (int b = from; b < to; b++) {
+            List<Hero> party = Collections.<Hero>singletonList(heroProto.copy());
+            List<EmotionMonster> foes =
+                    Collections.singletonList(EmotionMonsterFactory.cloneMonster(monsterProto));
+
+            SplittableRandom rng = new SplittableRandom(battleSeed(pairing, b));
+            BattleEngine engine = new BattleEngine(party, foes, policy, BattleListener.NONE, rng);
+            engine.setPayRewards(false);
+            stats.record(engine.run());
+        }
+        return stats;
+    }
+
+    private long battleSeed(int pairing, int battle) {
+        return SeedSource.mix(seed + 0x9E3779B97F4A7C15L * ((long) pairing * battlesPerPairing + battle + 1));
+    }
+
+    private class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BalanceStats[] out;
+        private final int chunksPerPairing;
+        private final int lo;
+        private final int hi;
+
+        SweepTask(BalanceStats[] out, int chunksPerPairing, int lo, int hi) {
+            this.out = out;
+            this.chunksPerPairing = chunksPerPairing;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= 1) {
+                for (int u = lo; u < hi; u++) {
+                    int pairing = u / chunksPerPairing;
+                    int from = (u % chunksPerPairing) * CHUNK;
+                    int to = Math.min(from + CHUNK, battlesPerPairing);
+                    out[u] = simulateChunk(pairing, from, to);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SweepTask(out, chunksPerPairing, lo, mid),
+                      new SweepTask(out, chunksPerPairing, mid, hi));
+        }
+    }
+}
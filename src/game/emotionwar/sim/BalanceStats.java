@@ -0,0 +1,76 @@
+package game.emotionwar.sim;
+
+import game.core.battle.BattleOutcome;
+
+/**
+ * Mergeable accumulator for a batch of simulated battles.
+ *
+ * HP remaining is kept as a 0–100% histogram so percentiles cost O(1)
+ * memory no matter how many battles are recorded.
+ */
+public class BalanceStats {
+
+    private long battles;
+    private long wins;
+    private long stalemates;
+    private long roundsTotal;
+    private final long[] hpHistogram = new long[101];
+
+    public void record(BattleOutcome o) {
+        battles++;
+        if (o.heroesWon()) wins++;
+        if (o.isStalemate()) stalemates++;
+        roundsTotal += o.getRounds();
+
+        int pct = (int) Math.round(o.getHpRemainingFraction() * 100.0);
+        if (pct < 0) pct = 0;
+        if (pct > 100) pct = 100;
+        hpHistogram[pct]++;
+    }
+
+    public void merge(BalanceStats other) {
+        battles += other.battles;
+        wins += other.wins;
+        stalemates += other.stalemates;
+        roundsTotal += other.roundsTotal;
+        for (int i = 0; i < hpHistogram.length; i++) {
+            hpHistogram[i] += other.hpHistogram[i];
+        }
+    }
+
+    public long getBattles() {
+        return battles;
+    }
+
+    /** Fraction of battles the heroes won. */
+    public double winRate() {
+        return battles == 0 ? 0.0 : (double) wins / battles;
+    }
+
+    /** Fraction of battles cut off at the round limit (counted as losses in winRate). */
+    public double stalemateRate() {
+        return battles == 0 ? 0.0 : (double) stalemates / battles;
+    }
+
+    public double meanRounds() {
+        return battles == 0 ? 0.0 : (double) roundsTotal / battles;
+    }
+
+    /**
+     * Party HP remaining (in %) at the given percentile.
+     *
+     * @param p percentile in [0, 1], e.g. 0.5 for the median
+     */
+    public int hpPercentile(double p) {
+        if (battles == 0) return 0;
+        long rank = (long) Math.ceil(p * battles);
+        if (rank < 1) rank = 1;
+
+        long seen = 0;
+        for (int i = 0; i < hpHistogram.length; i++) {
+            seen += hpHistogram[i];
+            if (seen >= rank) return i;
+        }
+        return 100;
+    }
+}
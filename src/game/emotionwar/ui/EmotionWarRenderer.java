@@ -1,18 +1,29 @@
 package game.emotionwar.ui;
 
+import game.core.io.GameOutput;
+import game.core.io.GameOutputs;
 import game.core.model.Hero;
 import game.core.world.Position;
 import game.core.world.TileCategory;
 import game.core.world.World;
 import game.emotionwar.model.EmotionHero;
 import game.emotionwar.model.EmotionType;
+import game.emotionwar.world.EmotionWorldData;
 
 import java.util.List;
 
 public class EmotionWarRenderer {
 
+    /** Tiles shown on each side of the party in an open world. */
+    public static final int VIEW_RADIUS = 7;
+
+    // bounded maps wider or taller than this are drawn as a window too
+    private static final int MAX_FULL_MAP = 40;
+
+    private final GameOutput out = GameOutputs.current();
+
     private final World world;
-    private final EmotionType[][] emotionLayer;
+    private final EmotionWorldData data;
     private final List<Hero> party;
 
     // ANSI colors
@@ -25,101 +36,110 @@ public class EmotionWarRenderer {
     private static final String CYAN    = "\u001B[36m";
     private static final String WHITE   = "\u001B[37m";
 
-    public EmotionWarRenderer(World world, EmotionType[][] emotionLayer, List<Hero> party) {
-        this.world = world;
-        this.emotionLayer = emotionLayer;
+    public EmotionWarRenderer(EmotionWorldData data, List<Hero> party) {
+        this.world = data.getWorld();
+        this.data = data;
         this.party = party;
     }
 
     public void render() {
         // crude clear
         for (int i = 0; i < 30; i++) {
-            System.out.println();
+            out.println();
         }
 
-        System.out.println("========================================");
-        System.out.println("       Soul Realms: Emotion War         ");
-        System.out.println("========================================");
+        out.println("========================================");
+        out.println("       Soul Realms: Emotion War         ");
+        out.println("========================================");
 
         printColoredMap();
 
-        System.out.println();
-        System.out.println("----- STATUS ---------------------------");
+        out.println();
+        out.println("----- STATUS ---------------------------");
         Hero h = party.isEmpty() ? null : party.get(0);
         if (h != null) {
             Position pos = world.getPartyPosition();
-            EmotionType emo = emotionAt(pos);
-            TileCategory cat = world.getTile(pos).getCategory();
+            EmotionType emo = data.emotionAt(pos.row, pos.col);
+            TileCategory cat = world.categoryAt(pos.row, pos.col);
 
-            System.out.println("Front Hero : " + h.getName());
+            out.println("Front Hero : " + h.getName());
             if (h instanceof EmotionHero) {
                 EmotionHero eh = (EmotionHero) h;
-                System.out.println("Class      : " + eh.getHeroClass());
+                out.println("Class      : " + eh.getHeroClass());
             } else {
-                System.out.println("Class      : Unknown");
+                out.println("Class      : Unknown");
             }
-            System.out.println("Level      : " + h.getLevel());
-            System.out.println("Stats      : " + h.getStats());
-            System.out.println("Gold       : " + h.getGold());
-            System.out.println("Position   : " + pos);
-            System.out.println("Tile       : " + cat);
-            System.out.println("Emotion    : " + (emo != null ? emo : "None"));
+            out.println("Level      : " + h.getLevel());
+            out.println("Stats      : " + h.getStats());
+            out.println("Gold       : " + h.getGold());
+            out.println("Position   : " + pos);
+            out.println("Tile       : " + cat);
+            out.println("Emotion    : " + (emo != null ? emo : "None"));
         } else {
-            System.out.println("No heroes in party.");
+            out.println("No heroes in party.");
         }
 
-        System.out.println();
-        System.out.println("----- LEGEND ---------------------------");
-        System.out.println(colorForEmotion(EmotionType.WRATH)  + "W" + RESET + " = Wrath");
-        System.out.println(colorForEmotion(EmotionType.DESIRE) + "D" + RESET + " = Desire");
-        System.out.println(colorForEmotion(EmotionType.FEAR)   + "F" + RESET + " = Fear");
-        System.out.println(colorForEmotion(EmotionType.SORROW) + "S" + RESET + " = Sorrow");
-        System.out.println(colorForEmotion(EmotionType.ANXIETY)+ "A" + RESET + " = Anxiety");
-        System.out.println(colorForEmotion(EmotionType.ENVY)   + "E" + RESET + " = Envy");
-        System.out.println(colorForEmotion(EmotionType.PRIDE)  + "P" + RESET + " = Pride");
-        System.out.println("# = Blocked");
-        System.out.println(YELLOW + "M" + RESET + " = Sanctuary Market");
-        System.out.println(WHITE + "@" + RESET + " = You");
-        System.out.println(". = Neutral / unaligned");
-        System.out.println("(Fracture tiles are hidden among normal tiles)");
-        System.out.println("----------------------------------------");
+        out.println();
+        out.println("----- LEGEND ---------------------------");
+        out.println(colorForEmotion(EmotionType.WRATH)  + "W" + RESET + " = Wrath");
+        out.println(colorForEmotion(EmotionType.DESIRE) + "D" + RESET + " = Desire");
+        out.println(colorForEmotion(EmotionType.FEAR)   + "F" + RESET + " = Fear");
+        out.println(colorForEmotion(EmotionType.SORROW) + "S" + RESET + " = Sorrow");
+        out.println(colorForEmotion(EmotionType.ANXIETY)+ "A" + RESET + " = Anxiety");
+        out.println(colorForEmotion(EmotionType.ENVY)   + "E" + RESET + " = Envy");
+        out.println(colorForEmotion(EmotionType.PRIDE)  + "P" + RESET + " = Pride");
+        out.println("# = Blocked");
+        out.println(YELLOW + "M" + RESET + " = Sanctuary Market");
+        out.println(WHITE + "@" + RESET + " = You");
+        out.println(". = Neutral / unaligned");
+        out.println("(Fracture tiles are hidden among normal tiles)");
+        out.println("----------------------------------------");
     }
 
+    // a small map is drawn whole; an open world or a large authored map as a
+    // window around the party, numbered by offset from it (chunks are
+    // generated, and mapped pages read, as the window reaches them)
     private void printColoredMap() {
-        int rows = world.getRows();
-        int cols = world.getCols();
         Position partyPos = world.getPartyPosition();
+        boolean open = !world.isBounded()
+                || world.getRows() > MAX_FULL_MAP || world.getCols() > MAX_FULL_MAP;
+        int r0 = open ? partyPos.row - VIEW_RADIUS : 0;
+        int c0 = open ? partyPos.col - VIEW_RADIUS : 0;
+        int rows = open ? 2 * VIEW_RADIUS + 1 : world.getRows();
+        int cols = open ? 2 * VIEW_RADIUS + 1 : world.getCols();
+        int labelRow = open ? partyPos.row : 0;
+        int labelCol = open ? partyPos.col : 0;
 
         // dynamic border based on number of columns
         String border = buildBorder(cols);
 
-        System.out.println();
-        System.out.println(border);
+        out.println();
+        if (open) out.println("   (numbers are steps from you)");
+        out.println(border);
 
         // Column indices (each index is 3 characters wide)
-        System.out.print("   "); // space for row index column
-        for (int c = 0; c < cols; c++) {
-            System.out.printf("%3d", c);
+        out.print("   "); // space for row index column
+        for (int c = c0; c < c0 + cols; c++) {
+            out.printf("%3d", c - labelCol);
         }
-        System.out.println();
+        out.println();
 
-        for (int r = 0; r < rows; r++) {
+        for (int r = r0; r < r0 + rows; r++) {
             // Row index (3 characters wide) + left border
-            System.out.printf("%3d|", r);
-            for (int c = 0; c < cols; c++) {
-                Position p = new Position(r, c);
-                if (p.row == partyPos.row && p.col == partyPos.col) {
-                    System.out.print(" " + WHITE + "@" + RESET + " ");
+            out.printf("%3d|", r - labelRow);
+            for (int c = c0; c < c0 + cols; c++) {
+                if (r == partyPos.row && c == partyPos.col) {
+                    out.print(" " + WHITE + "@" + RESET + " ");
                 } else {
-                    TileCategory cat = world.getTile(p).getCategory();
-                    EmotionType emo = emotionLayer != null ? emotionLayer[r][c] : null;
+                    TileCategory cat = world.categoryAt(r, c);
+                    EmotionType emo = data.emotionAt(r, c);
                     String symbol = symbolForTile(cat, emo);
-                    System.out.print(" " + symbol + " ");
+                    out.print(" " + symbol + " ");
                 }
             }
-            System.out.println("|");
+            out.println("|");
         }
-        System.out.println(border);
+        out.println(border);
     }
 
     private String buildBorder(int cols) {
@@ -173,13 +193,4 @@ public class EmotionWarRenderer {
             default:       return RESET;
         }
     }
-
-    private EmotionType emotionAt(Position p) {
-        if (emotionLayer == null) return null;
-        if (p.row < 0 || p.row >= emotionLayer.length ||
-                p.col < 0 || p.col >= emotionLayer[0].length) {
-            return null;
-        }
-        return emotionLayer[p.row][p.col];
-    }
 }
\ No newline at end of file
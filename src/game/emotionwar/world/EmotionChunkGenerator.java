@@ -0,0 +1,108 @@
+package game.emotionwar.world;
+
+import game.core.random.SeedSource;
+import game.core.world.ChunkedGrid;
+import game.core.world.Position;
+import game.core.world.TileCategory;
+import game.emotionwar.model.EmotionType;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Fills one chunk of the open Emotion War world, the way EmotionWorldBuilder
+ * lays out its fixed map: an emotion zone of each kind, scattered blocked and
+ * fracture tiles, and a Sanctuary market.
+ *
+ * Each chunk has its own random stream, derived from the world seed and the
+ * chunk's coordinates only, so a chunk is the same whenever and in whatever
+ * order it is generated. Zones stay inside their chunk.
+ *
+ * Overlay bytes hold the emotion: ordinal + 1, 0 for none (see emotionOf).
+ */
+public class EmotionChunkGenerator implements ChunkedGrid.Generator {
+
+    private static final EmotionType[] EMOTIONS = EmotionType.values();
+
+    private static final int ZONE = 3;             // zones are ZONE x ZONE
+    private static final double BLOCKED_SHARE = 0.10;
+    private static final double FRACTURE_SHARE = 0.03;
+
+    private static final byte COMMON  = (byte) TileCategory.COMMON.ordinal();
+    private static final byte BLOCKED = (byte) TileCategory.BLOCKED.ordinal();
+    private static final byte SPECIAL = (byte) TileCategory.SPECIAL.ordinal();
+    private static final byte MARKET  = (byte) TileCategory.MARKET.ordinal();
+
+    private final long worldSeed;
+    private final int size;
+
+    public EmotionChunkGenerator(long worldSeed, int chunkSize) {
+        if (chunkSize < ZONE + 1) throw new IllegalArgumentException("Chunks must be larger than a zone: " + chunkSize);
+        this.worldSeed = worldSeed;
+        this.size = chunkSize;
+    }
+
+    /** Overlay byte for an emotion (null: 0). */
+    public static byte codeOf(EmotionType emotion) {
+        return emotion == null ? 0 : (byte) (emotion.ordinal() + 1);
+    }
+
+    /** The emotion an overlay byte stands for, or null. */
+    public static EmotionType emotionOf(byte overlay) {
+        return overlay == 0 ? null : EMOTIONS[overlay - 1];
+    }
+
+    @Override
+    public void generate(int chunkRow, int chunkCol, byte[] cells, byte[] overlay) {
+        SplittableRandom rng = new SplittableRandom(
+                SeedSource.mix(worldSeed ^ SeedSource.mix(Position.pack(chunkRow, chunkCol))));
+
+        // 1) one zone per emotion, no overlaps
+        for (int e = 0; e < EMOTIONS.length; e++) {
+            for (int attempt = 0; attempt < 50; attempt++) {
+                int r = rng.nextInt(size - ZONE + 1);
+                int c = rng.nextInt(size - ZONE + 1);
+                if (zoneFree(overlay, r, c)) {
+                    fillZone(overlay, r, c, (byte) (e + 1));
+                    break;
+                }
+            }
+        }
+
+        // 2) plain ground, then blocked and fracture tiles
+        Arrays.fill(cells, COMMON);
+        int cellCount = size * size;
+        for (int i = 0; i < (int) (cellCount * BLOCKED_SHARE); i++) {
+            cells[rng.nextInt(cellCount)] = BLOCKED;
+        }
+        for (int i = 0; i < (int) (cellCount * FRACTURE_SHARE); i++) {
+            cells[rng.nextInt(cellCount)] = SPECIAL;
+        }
+
+        // 3) one market on a plain tile
+        for (int attempt = 0; attempt < cellCount; attempt++) {
+            int i = rng.nextInt(cellCount);
+            if (cells[i] == COMMON) {
+                cells[i] = MARKET;
+                break;
+            }
+        }
+    }
+
+    private boolean zoneFree(byte[] overlay, int r0, int c0) {
+        for (int r = r0; r < r0 + ZONE; r++) {
+            for (int c = c0; c < c0 + ZONE; c++) {
+                if (overlay[r * size + c] != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    private void fillZone(byte[] overlay, int r0, int c0, byte value) {
+        for (int r = r0; r < r0 + ZONE; r++) {
+            for (int c = c0; c < c0 + ZONE; c++) {
+                overlay[r * size + c] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package game.emotionwar.world;
+
+import game.core.random.SeedSource;
+import game.core.world.Position;
+import game.core.world.TileCategory;
+import game.core.world.World;
+import game.emotionwar.model.EmotionType;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates large bounded Emotion War maps (hundreds to thousands of tiles on
+ * a side), laid out like EmotionWorldBuilder's 10x10 map: 2x2 emotion zones,
+ * scattered blocked and fracture tiles, and Sanctuary markets.
+ *
+ * The map is cut into REGION x REGION squares, each generated on its own
+ * ForkJoinPool task from a seed derived from (seed, region) only, so the map
+ * is the same for a seed whatever the thread count or scheduling. Regions
+ * write disjoint cells of the shared arrays and nothing else.
+ *
+ * Zones are placed by Poisson-disk sampling (Bridson): zone corners are at
+ * least ZONE_SPACING apart, so they never overlap and no retry loop is needed;
+ * a background grid of cells ZONE_SPACING / sqrt(2) wide holds at most one
+ * corner each and makes the spacing check constant time.
+ *
+ * Every region gets one market. A final pass floods out from the start over
+ * open tiles (visited cells kept in a BitSet) and, for any market it did not
+ * reach, clears blocked tiles along an L-shaped path back to the start, so
+ * every market can be walked to.
+ */
+public class EmotionMapGenerator {
+
+    /** Cells on a side of one region (one task). */
+    public static final int REGION = 64;
+
+    private static final EmotionType[] EMOTIONS = EmotionType.values();
+
+    private static final int ZONE = 2;                  // zones are ZONE x ZONE
+    private static final double ZONE_SPACING = 4.0;     // min distance between zone corners
+    private static final int CANDIDATES = 30;           // Bridson's k
+    private static final double BLOCKED_SHARE = 0.10;
+    private static final double FRACTURE_SHARE = 0.03;
+
+    private static final byte COMMON  = (byte) TileCategory.COMMON.ordinal();
+    private static final byte BLOCKED = (byte) TileCategory.BLOCKED.ordinal();
+    private static final byte SPECIAL = (byte) TileCategory.SPECIAL.ordinal();
+    private static final byte MARKET  = (byte) TileCategory.MARKET.ordinal();
+
+    private static final long START_SALT = 0x5354415254L;   // "START"
+
+    private final long seed;
+    private final int rows;
+    private final int cols;
+    private final int regionRows;
+    private final int regionCols;
+
+    // filled by generate()
+    private byte[] cells;
+    private byte[] zones;
+    private int[] markets;      // cell index of each region's market, -1 if it has none
+
+    /** @throws IllegalArgumentException if the map is empty or has more than Integer.MAX_VALUE cells */
+    public EmotionMapGenerator(long seed, int rows, int cols) {
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bad map size " + rows + "x" + cols);
+        }
+        this.seed = seed;
+        this.rows = rows;
+        this.cols = cols;
+        this.regionRows = (rows + REGION - 1) / REGION;
+        this.regionCols = (cols + REGION - 1) / REGION;
+    }
+
+    public EmotionWorldData generate() {
+        return generate(ForkJoinPool.commonPool());
+    }
+
+    public EmotionWorldData generate(ForkJoinPool pool) {
+        cells = new byte[rows * cols];
+        zones = new byte[rows * cols];
+        markets = new int[regionRows * regionCols];
+
+        pool.invoke(new RegionTask(0, markets.length));
+
+        int start = pickStart();
+        connectMarkets(start);
+
+        World world = new World(rows, cols, cells, new Position(start / cols, start % cols));
+        EmotionWorldData data = new EmotionWorldData(world, zones);
+        cells = null;
+        zones = null;
+        markets = null;
+        return data;
+    }
+
+    // ---------- One region ----------
+
+    private void generateRegion(int region) {
+        int r0 = (region / regionCols) * REGION;
+        int c0 = (region % regionCols) * REGION;
+        int h = Math.min(REGION, rows - r0);
+        int w = Math.min(REGION, cols - c0);
+        SplittableRandom rng = new SplittableRandom(
+                SeedSource.mix(seed ^ SeedSource.mix(Position.pack(region / regionCols, region % regionCols))));
+
+        // 1) emotion zones, every kind in turn from a random first one
+        BitSet inZone = new BitSet(h * w);
+        int[] corners = sampleCorners(rng, h - ZONE + 1, w - ZONE + 1);
+        int emotion = rng.nextInt(EMOTIONS.length);
+        for (int i = 0; i < corners.length; i++) {
+            byte code = EmotionChunkGenerator.codeOf(EMOTIONS[emotion]);
+            emotion = (emotion + 1) % EMOTIONS.length;
+            int zr = corners[i] / w;
+            int zc = corners[i] % w;
+            for (int r = zr; r < zr + ZONE; r++) {
+                for (int c = zc; c < zc + ZONE; c++) {
+                    inZone.set(r * w + c);
+                    zones[(r0 + r) * cols + c0 + c] = code;
+                }
+            }
+        }
+
+        // 2) plain ground, then blocked and fracture tiles
+        for (int r = 0; r < h; r++) {
+            int from = (r0 + r) * cols + c0;
+            Arrays.fill(cells, from, from + w, COMMON);
+        }
+        int area = h * w;
+        for (int i = 0; i < (int) (area * BLOCKED_SHARE); i++) {
+            int k = rng.nextInt(area);
+            cells[(r0 + k / w) * cols + c0 + k % w] = BLOCKED;
+        }
+        for (int i = 0; i < (int) (area * FRACTURE_SHARE); i++) {
+            int k = rng.nextInt(area);
+            cells[(r0 + k / w) * cols + c0 + k % w] = SPECIAL;
+        }
+
+        // 3) one market on a plain tile outside the zones
+        markets[region] = -1;
+        for (int attempt = 0; attempt < area; attempt++) {
+            int k = rng.nextInt(area);
+            int cell = (r0 + k / w) * cols + c0 + k % w;
+            if (cells[cell] == COMMON && !inZone.get(k)) {
+                cells[cell] = MARKET;
+                markets[region] = cell;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Poisson-disk zone corners for a region whose corners can lie in h x w
+     * (the region less ZONE - 1 on each far edge), returned as in-region cell
+     * indices r * regionWidth + c.
+     */
+    private int[] sampleCorners(SplittableRandom rng, int h, int w) {
+        if (h <= 0 || w <= 0) return new int[0];
+        int regionWidth = w + ZONE - 1;
+
+        double cell = ZONE_SPACING / Math.sqrt(2);
+        int gh = (int) Math.ceil(h / cell);
+        int gw = (int) Math.ceil(w / cell);
+        int[] grid = new int[gh * gw];          // sample index + 1, 0 for none
+        int[] sr = new int[gh * gw];
+        int[] sc = new int[gh * gw];
+        int[] active = new int[gh * gw];
+        int samples = 0;
+        int activeCount = 0;
+
+        sr[0] = rng.nextInt(h);
+        sc[0] = rng.nextInt(w);
+        grid[(int) (sr[0] / cell) * gw + (int) (sc[0] / cell)] = 1;
+        active[activeCount++] = 0;
+        samples = 1;
+
+        double minSq = ZONE_SPACING * ZONE_SPACING;
+        while (activeCount > 0) {
+            int a = rng.nextInt(activeCount);
+            int s = active[a];
+            boolean found = false;
+
+            for (int k = 0; k < CANDIDATES && !found; k++) {
+                double angle = rng.nextDouble() * 2 * Math.PI;
+                double dist = ZONE_SPACING * (1 + rng.nextDouble());
+                int r = (int) Math.round(sr[s] + dist * Math.sin(angle));
+                int c = (int) Math.round(sc[s] + dist * Math.cos(angle));
+                if (r < 0 || r >= h || c < 0 || c >= w) continue;
+
+                int gr = (int) (r / cell);
+                int gc = (int) (c / cell);
+                boolean clear = true;
+                for (int nr = Math.max(0, gr - 2); nr <= Math.min(gh - 1, gr + 2) && clear; nr++) {
+                    for (int nc = Math.max(0, gc - 2); nc <= Math.min(gw - 1, gc + 2); nc++) {
+                        int other = grid[nr * gw + nc] - 1;
+                        if (other < 0) continue;
+                        int dr = sr[other] - r;
+                        int dc = sc[other] - c;
+                        if (dr * dr + dc * dc < minSq) {
+                            clear = false;
+                            break;
+                        }
+                    }
+                }
+                if (!clear) continue;
+
+                sr[samples] = r;
+                sc[samples] = c;
+                grid[gr * gw + gc] = samples + 1;
+                active[activeCount++] = samples;
+                samples++;
+                found = true;
+            }
+
+            if (!found) active[a] = active[--activeCount];
+        }
+
+        int[] corners = new int[samples];
+        for (int i = 0; i < samples; i++) {
+            corners[i] = sr[i] * regionWidth + sc[i];
+        }
+        return corners;
+    }
+
+    // ---------- Start and connectivity ----------
+
+    private int pickStart() {
+        SplittableRandom rng = new SplittableRandom(SeedSource.mix(seed ^ START_SALT));
+        while (true) {
+            int cell = rng.nextInt(cells.length);
+            if (cells[cell] != BLOCKED) return cell;
+        }
+    }
+
+    private void connectMarkets(int start) {
+        BitSet reached = new BitSet(cells.length);
+        IntQueue queue = new IntQueue();
+        reach(start, reached, queue);
+        flood(reached, queue);
+
+        for (int m : markets) {
+            if (m < 0 || reached.get(m)) continue;
+
+            // walk toward the start, along the row first, clearing the way
+            int r = m / cols;
+            int c = m % cols;
+            int sr = start / cols;
+            int sc = start % cols;
+            int cell = m;
+            while (!reached.get(cell)) {
+                if (cells[cell] == BLOCKED) cells[cell] = COMMON;
+                reach(cell, reached, queue);
+                if (c != sc) c += c < sc ? 1 : -1;
+                else r += r < sr ? 1 : -1;
+                cell = r * cols + c;
+            }
+            flood(reached, queue);
+        }
+    }
+
+    private void reach(int cell, BitSet reached, IntQueue queue) {
+        reached.set(cell);
+        queue.add(cell);
+    }
+
+    // breadth-first, so the queue only holds the frontier
+    private void flood(BitSet reached, IntQueue queue) {
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int r = cell / cols;
+            int c = cell % cols;
+            if (r > 0) visit(cell - cols, reached, queue);
+            if (r < rows - 1) visit(cell + cols, reached, queue);
+            if (c > 0) visit(cell - 1, reached, queue);
+            if (c < cols - 1) visit(cell + 1, reached, queue);
+        }
+    }
+
+    private void visit(int cell, BitSet reached, IntQueue queue) {
+        if (cells[cell] != BLOCKED && !reached.get(cell)) reach(cell, reached, queue);
+    }
+
+    /** Growable ring buffer of ints. */
+    private static final class IntQueue {
+        private int[] items = new int[1024];
+        private int head;
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int v) {
+            if (size == items.length) {
+                int[] bigger = new int[items.length * 2];
+                for (int i = 0; i < size; i++) {
+                    bigger[i] = items[(head + i) % items.length];
+                }
+                items = bigger;
+                head = 0;
+            }
+            items[(head + size) % items.length] = v;
+            size++;
+        }
+
+        int poll() {
+            int v = items[head];
+            head = (head + 1) % items.length;
+            size--;
+            return v;
+        }
+    }
+
+    // ---------- Regions in parallel ----------
+
+    private class RegionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+
+        RegionTask(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= 1) {
+                for (int region = lo; region < hi; region++) {
+                    generateRegion(region);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new RegionTask(lo, mid), new RegionTask(mid, hi));
+        }
+    }
+}
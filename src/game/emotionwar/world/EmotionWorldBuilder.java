@@ -1,11 +1,15 @@
 package game.emotionwar.world;
 
+import game.core.world.ChunkedGrid;
+import game.core.world.MapFile;
+import game.core.world.MapFileWriter;
 import game.core.world.Position;
 import game.core.world.Tile;
 import game.core.world.TileCategory;
 import game.core.world.World;
 import game.emotionwar.model.EmotionType;
 
+import java.io.IOException;
 import java.util.*;
 
 public class EmotionWorldBuilder {
@@ -13,7 +17,14 @@ public class EmotionWorldBuilder {
     private static final int ROWS = 10;
     private static final int COLS = 10;
 
+    // open world: 16x16 chunks
+    private static final int CHUNK_SHIFT = 4;
+
     public static EmotionWorldData buildDefaultWorld() {
+        return buildDefaultWorld(new SplittableRandom());
+    }
+
+    public static EmotionWorldData buildDefaultWorld(SplittableRandom rng) {
 
         Tile[][] tiles = new Tile[ROWS][COLS];
         for (int r = 0; r < ROWS; r++) {
@@ -35,8 +46,7 @@ public class EmotionWorldBuilder {
                 EmotionType.PRIDE
         );
 
-        Random rng = new Random();
-        Set<String> usedCells = new HashSet<>();
+        BitSet usedCells = new BitSet(ROWS * COLS);
 
         for (EmotionType emo : all) {
             boolean placed = false;
@@ -48,21 +58,17 @@ public class EmotionWorldBuilder {
                 int c = rng.nextInt(COLS - 1);
 
                 // Check overlap by checking the 4 cells
-                String a = r + "," + c;
-                String b = r + "," + (c + 1);
-                String d = (r + 1) + "," + c;
-                String e = (r + 1) + "," + (c + 1);
+                int a = r * COLS + c;
+                int d = (r + 1) * COLS + c;
 
-                if (usedCells.contains(a) || usedCells.contains(b)
-                        || usedCells.contains(d) || usedCells.contains(e)) {
+                if (usedCells.get(a) || usedCells.get(a + 1)
+                        || usedCells.get(d) || usedCells.get(d + 1)) {
                     continue; // try again
                 }
 
                 // Mark as used
-                usedCells.add(a);
-                usedCells.add(b);
-                usedCells.add(d);
-                usedCells.add(e);
+                usedCells.set(a, a + 2);
+                usedCells.set(d, d + 2);
 
                 // Place emotion
                 emotions[r][c] = emo;
@@ -115,4 +121,56 @@ public class EmotionWorldBuilder {
         World world = new World(tiles, start);
         return new EmotionWorldData(world, emotions);
     }
+
+    /**
+     * A large bounded map, rows x cols, generated region by region in
+     * parallel (see EmotionMapGenerator). The same rng state gives the same
+     * map on any number of threads.
+     */
+    public static EmotionWorldData buildLargeWorld(SplittableRandom rng, int rows, int cols) {
+        return new EmotionMapGenerator(rng.nextLong(), rows, cols).generate();
+    }
+
+    /**
+     * A map authored as a file (see app.ConvertMaps). Tiles and emotions stay
+     * in the file's mapping; nothing is copied onto the heap.
+     *
+     * @throws IOException if the file is unreadable or not a valid map
+     */
+    public static EmotionWorldData loadMap(String file) throws IOException {
+        return new EmotionWorldData(MapFile.open(file));
+    }
+
+    /** Writes a bounded map (tiles, start and emotions) to a map file. */
+    public static void writeMap(final EmotionWorldData data, String file) throws IOException {
+        MapFileWriter.write(file, data.getWorld(), new MapFileWriter.Layer() {
+            @Override
+            public byte at(int row, int col) {
+                return EmotionChunkGenerator.codeOf(data.emotionAt(row, col));
+            }
+        }, MapFileWriter.NONE);
+    }
+
+    /**
+     * An unbounded world, generated chunk by chunk around wherever the party
+     * goes (see EmotionChunkGenerator). At most enough chunks to cover a
+     * (2 * viewRadius + 1) square view, plus a ring around it, are kept in
+     * memory.
+     */
+    public static EmotionWorldData buildOpenWorld(SplittableRandom rng, int viewRadius) {
+        int chunkSize = 1 << CHUNK_SHIFT;
+        int span = (2 * viewRadius + chunkSize - 1) / chunkSize + 2;    // chunks across the view, plus a ring
+        ChunkedGrid chunks = new ChunkedGrid(CHUNK_SHIFT, span * span,
+                new EmotionChunkGenerator(rng.nextLong(), chunkSize));
+
+        // start on the first open tile of the middle row of chunk (0, 0)
+        int row = chunkSize / 2;
+        int col = 0;
+        while (chunks.get(row, col) == (byte) TileCategory.BLOCKED.ordinal()) {
+            col++;
+        }
+
+        World world = new World(chunks, new Position(row, col));
+        return new EmotionWorldData(world, chunks);
+    }
 }
\ No newline at end of file
@@ -1,23 +1,152 @@
 package game.emotionwar.world;
 
+import game.core.world.ChunkedGrid;
+import game.core.world.MapFile;
 import game.core.world.World;
 import game.emotionwar.model.EmotionType;
 
+/**
+ * An Emotion War map: the World plus which emotion holds each tile.
+ *
+ * Where the emotions live depends on the kind of map: an EmotionType[][] for
+ * a fixed map, the overlay bytes of the ChunkedGrid for an open world, the
+ * zone plane for a map loaded from a file, and a byte array for a large
+ * generated map. Each is wrapped in a ZoneLayer, so emotionAt answers the
+ * same way for all of them (null off the map or outside every zone). Overlay
+ * and zone bytes use the same code: ordinal + 1, 0 for none (see
+ * EmotionChunkGenerator.emotionOf).
+ */
 public class EmotionWorldData {
 
+    /** Where a map keeps its emotions. */
+    private interface ZoneLayer {
+        EmotionType emotionAt(int row, int col);
+    }
+
     private final World world;
-    private final EmotionType[][] emotionLayer;
+    private final ZoneLayer zones;
+    private final EmotionType[][] emotionLayer;     // fixed map only, for getEmotionLayer
+    private final ChunkedGrid chunks;               // open world only, for getChunks
 
     public EmotionWorldData(World world, EmotionType[][] emotionLayer) {
         this.world = world;
+        this.zones = new GridZones(emotionLayer);
         this.emotionLayer = emotionLayer;
+        this.chunks = null;
+    }
+
+    /** An open world; its emotions come from the overlay written by EmotionChunkGenerator. */
+    public EmotionWorldData(World world, ChunkedGrid chunks) {
+        this.world = world;
+        this.zones = new OverlayZones(chunks);
+        this.emotionLayer = null;
+        this.chunks = chunks;
+    }
+
+    /** A map read from a file; tiles and emotions are read from its mapping. */
+    public EmotionWorldData(MapFile map) {
+        this.world = map.toWorld();
+        this.zones = new FileZones(map);
+        this.emotionLayer = null;
+        this.chunks = null;
+    }
+
+    /** A bounded map with one zone byte per tile, row-major (see EmotionMapGenerator). */
+    public EmotionWorldData(World world, byte[] zoneCodes) {
+        if ((long) world.getRows() * world.getCols() != zoneCodes.length) {
+            throw new IllegalArgumentException("Expected " + world.getRows() + "x" + world.getCols()
+                    + " zone codes, got " + zoneCodes.length);
+        }
+        this.world = world;
+        this.zones = new CodeZones(zoneCodes, world.getRows(), world.getCols());
+        this.emotionLayer = null;
+        this.chunks = null;
     }
 
     public World getWorld() {
         return world;
     }
 
+    /** The emotion grid of a generated fixed map; null otherwise (use emotionAt). */
     public EmotionType[][] getEmotionLayer() {
         return emotionLayer;
     }
+
+    /** The chunk layer of an open world; null for a fixed map. */
+    public ChunkedGrid getChunks() {
+        return chunks;
+    }
+
+    public EmotionType emotionAt(int row, int col) {
+        return zones.emotionAt(row, col);
+    }
+
+    // ---------- Zone layers ----------
+
+    private static final class GridZones implements ZoneLayer {
+        private final EmotionType[][] grid;     // may be null: no zones at all
+
+        GridZones(EmotionType[][] grid) {
+            this.grid = grid;
+        }
+
+        @Override
+        public EmotionType emotionAt(int row, int col) {
+            if (grid == null) return null;
+            if (row < 0 || row >= grid.length ||
+                    col < 0 || col >= grid[0].length) {
+                return null;
+            }
+            return grid[row][col];
+        }
+    }
+
+    private static final class OverlayZones implements ZoneLayer {
+        private final ChunkedGrid chunks;
+
+        OverlayZones(ChunkedGrid chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public EmotionType emotionAt(int row, int col) {
+            return EmotionChunkGenerator.emotionOf(chunks.overlay(row, col));
+        }
+    }
+
+    private static final class FileZones implements ZoneLayer {
+        private final MapFile map;
+
+        FileZones(MapFile map) {
+            this.map = map;
+        }
+
+        @Override
+        public EmotionType emotionAt(int row, int col) {
+            byte code = map.zone(row, col);
+            if (code < 0 || code > EmotionType.values().length) {
+                throw new IllegalStateException(map.file() + ": unknown emotion zone " + code
+                        + " at (" + row + "," + col + ")");
+            }
+            return EmotionChunkGenerator.emotionOf(code);
+        }
+    }
+
+    private static final class CodeZones implements ZoneLayer {
+        private final byte[] codes;
+        private final int rows;
+        private final int cols;
+
+        CodeZones(byte[] codes, int rows, int cols) {
+            this.codes = codes;
+            this.rows = rows;
+            this.cols = cols;
+        }
+
+        @Override
+        public EmotionType emotionAt(int row, int col) {
+            if (row < 0 || row >= rows || col < 0 || col >= cols) return null;
+            return EmotionChunkGenerator.emotionOf(codes[row * cols + col]);
+        }
+    }
 }